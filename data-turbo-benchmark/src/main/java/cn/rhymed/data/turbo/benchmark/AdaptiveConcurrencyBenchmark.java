@@ -0,0 +1,55 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import cn.rhymed.data.turbo.BatchDeleteHelper;
+import cn.rhymed.data.turbo.config.BatchDeleteConfig;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+/**
+ * 自适应并发数对比：数据库同一时刻最多处理 capacity 个事务（见 {@link ContentionTrigger}），
+ * 分别使用固定线程数和自适应并发（上限 maxThreads）删除全部数据，输出耗时。
+ * 自适应模式应当在 capacity 附近收敛，耗时接近最佳固定线程数。
+ * 参数通过系统属性传入：rows、capacity、rowMicros、fetchSize、maxThreads
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class AdaptiveConcurrencyBenchmark {
+
+    private static final long ROWS = Long.getLong("rows", 50_000L);
+    private static final int CAPACITY = Integer.getInteger("capacity", 3);
+    private static final long ROW_MICROS = Long.getLong("rowMicros", 60L);
+    private static final int FETCH_SIZE = Integer.getInteger("fetchSize", 500);
+    private static final int MAX_THREADS = Integer.getInteger("maxThreads", 16);
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkDatabase database = new BenchmarkDatabase("adaptive", MAX_THREADS + 2);
+        ContentionTrigger.configure(CAPACITY, ROW_MICROS * 1000);
+        System.out.printf("rows=%d, capacity=%d, rowMicros=%d, fetchSize=%d, maxThreads=%d%n",
+                ROWS, CAPACITY, ROW_MICROS, FETCH_SIZE, MAX_THREADS);
+
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            System.out.printf("fixed    threads=%-3d %d ms%n", threads, run(database, threads, false));
+        }
+        System.out.printf("adaptive max=%-3d     %d ms%n", MAX_THREADS, run(database, MAX_THREADS, true));
+    }
+
+    private static long run(BenchmarkDatabase database, int threads, boolean adaptive) throws Exception {
+        database.reset(ROWS);
+        database.execute("CREATE TRIGGER bench_contention BEFORE DELETE ON bench_record FOR EACH ROW CALL '"
+                + ContentionTrigger.class.getName() + "'");
+        SqlSessionFactory sqlSessionFactory = database.getSqlSessionFactory();
+        long startTime = System.nanoTime();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+            BenchmarkMapper mapper = sqlSession.getMapper(BenchmarkMapper.class);
+            BatchDeleteHelper.execute(BatchDeleteConfig.builder()
+                    .primaryId("id")
+                    .fetchSize(FETCH_SIZE)
+                    .batchSize(FETCH_SIZE * 2)
+                    .maxThreadCount(threads)
+                    .adaptive(adaptive)
+                    .build(), () -> mapper.deleteByStatus("old"));
+        }
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+}
@@ -0,0 +1,97 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import cn.rhymed.data.turbo.interceptor.BatchInterceptor;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 性能测试使用的 H2 数据库（内存或文件模式），注册批量删除/更新拦截器
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BenchmarkDatabase {
+
+    private final DataSource dataSource;
+    private final LatencyDataSource latencyDataSource;
+    private final SqlSessionFactory sqlSessionFactory;
+
+    public BenchmarkDatabase(String name, int maxConnections) {
+        this(name, maxConnections, false);
+    }
+
+    /**
+     * @param file 是否使用文件模式，文件位于 target/bench-db 目录，每次提交都会写盘
+     */
+    public BenchmarkDatabase(String name, int maxConnections, boolean file) {
+        this(name, maxConnections, file, null);
+    }
+
+    /**
+     * @param latency 批量操作使用的连接注入的延迟和锁竞争，为 null 或未启用时不注入；重建测试数据不受影响
+     */
+    public BenchmarkDatabase(String name, int maxConnections, boolean file, LatencyDataSource.Settings latency) {
+        PooledDataSource pooledDataSource = new PooledDataSource("org.h2.Driver",
+                file ? "jdbc:h2:file:./target/bench-db/" + name : "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        pooledDataSource.setPoolMaximumActiveConnections(maxConnections);
+        pooledDataSource.setPoolMaximumIdleConnections(maxConnections);
+        this.dataSource = pooledDataSource;
+        this.latencyDataSource = latency != null && latency.isEnabled()
+                ? new LatencyDataSource(pooledDataSource, latency) : null;
+
+        Configuration configuration = new Configuration(new Environment(name, new JdbcTransactionFactory(),
+                latencyDataSource != null ? latencyDataSource : dataSource));
+        configuration.addMapper(BenchmarkMapper.class);
+        this.sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        configuration.addInterceptor(new BatchInterceptor(sqlSessionFactory));
+    }
+
+    public SqlSessionFactory getSqlSessionFactory() {
+        return sqlSessionFactory;
+    }
+
+    /**
+     * 注入延迟的数据源，未启用时为 null
+     */
+    public LatencyDataSource getLatencyDataSource() {
+        return latencyDataSource;
+    }
+
+    /**
+     * 重建测试表并写入 rows 条数据，主键为 1..rows，status 全部为 old
+     */
+    public void reset(long rows) throws SQLException {
+        reset(rows, 1.0);
+    }
+
+    /**
+     * 重建测试表并写入 rows 条数据，主键为 1..rows，其中约 selectivity 比例的行 status 为 old（均匀分布），其余为 new
+     */
+    public void reset(long rows, double selectivity) throws SQLException {
+        long oldPerMille = Math.round(selectivity * 1000);
+        execute("DROP TABLE IF EXISTS bench_record",
+                "CREATE TABLE bench_record(id BIGINT PRIMARY KEY, status VARCHAR(16), payload VARCHAR(64))",
+                "INSERT INTO bench_record SELECT x, CASE WHEN MOD(x, 1000) < " + oldPerMille
+                        + " THEN 'old' ELSE 'new' END, 'payload-' || x FROM SYSTEM_RANGE(1, " + rows + ")");
+    }
+
+    public void execute(String... sqls) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 性能测试使用的 Mapper
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface BenchmarkMapper {
+
+    @Delete("DELETE FROM bench_record WHERE status = #{status}")
+    int deleteByStatus(@Param("status") String status);
+
+    @Delete("DELETE FROM bench_record WHERE status = #{status} AND id BETWEEN #{fromId} AND #{toId}")
+    int deleteByStatusAndRange(@Param("status") String status, @Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Update("UPDATE bench_record SET status = #{newStatus} WHERE status = #{status}")
+    int updateStatus(@Param("status") String status, @Param("newStatus") String newStatus);
+
+    @Select("SELECT count(*) FROM bench_record")
+    long count();
+
+    @Select("SELECT count(*) FROM bench_record WHERE status = #{status}")
+    long countByStatus(@Param("status") String status);
+}
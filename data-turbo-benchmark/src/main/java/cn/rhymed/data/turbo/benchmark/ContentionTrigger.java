@@ -0,0 +1,36 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 模拟数据库处理能力上限的触发器：同一时刻最多 capacity 个事务能处理行，每行耗时 rowNanos，
+ * 超出的事务排队等待。并发数超过 capacity 后吞吐不再增加，单页耗时随并发数线性上升
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class ContentionTrigger implements Trigger {
+
+    static volatile Semaphore capacity = new Semaphore(Integer.MAX_VALUE);
+    static volatile long rowNanos;
+
+    static void configure(int concurrency, long nanosPerRow) {
+        capacity = new Semaphore(concurrency, true);
+        rowNanos = nanosPerRow;
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) {
+        Semaphore semaphore = capacity;
+        semaphore.acquireUninterruptibly();
+        try {
+            LockSupport.parkNanos(rowNanos);
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 模拟热点区间的触发器：删除主键不大于 hotMaxId 的行时每行额外等待 hotRowNanos，
+ * 相当于该区间存在锁竞争或数据不在缓存中
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class HotRangeTrigger implements Trigger {
+
+    static volatile long hotMaxId;
+    static volatile long hotRowNanos;
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) {
+        long id = ((Number) oldRow[0]).longValue();
+        if (id <= hotMaxId) {
+            LockSupport.parkNanos(hotRowNanos);
+        }
+    }
+}
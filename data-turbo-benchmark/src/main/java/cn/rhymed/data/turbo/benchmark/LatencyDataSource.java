@@ -0,0 +1,440 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * 注入网络和存储延迟的 DataSource 包装：嵌入式数据库的响应只有微秒级，无法体现网络数据库的往返延迟、
+ * 提交刷盘开销和行锁等待，包装后可以在本机对比批处理、并发数和提交频率等策略的效果。
+ * <ul>
+ *     <li>每次往返（execute*、executeBatch、commit、rollback）等待 roundTripMicros</li>
+ *     <li>executeBatch 中每条语句额外等待 batchStatementMicros（服务端逐条执行）</li>
+ *     <li>每次 commit 额外等待 commitMicros（redo log 刷盘）</li>
+ *     <li>行锁竞争：共有 hotRows 个热点行，每条 DML 语句以 contentionRatio 的概率锁定其中随机一行，
+ *     锁持有到事务提交或回滚，其他连接等待超过 lockWaitTimeoutMillis 时抛出锁等待超时异常。
+ *     backgroundLockHoldMillis 大于 0 时另有一个后台线程模拟在线写入，每隔 backgroundLockIntervalMillis 随机锁定一行并持有</li>
+ * </ul>
+ * 等待通过 LockSupport.parkNanos 实现，精度约为几十微秒
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class LatencyDataSource implements DataSource {
+
+    private final DataSource target;
+    private final Settings settings;
+    private final Semaphore[] hotRows;
+    private final Thread backgroundLocker;
+
+    private final LongAdder lockWaitCount = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
+    private final LongAdder lockTimeoutCount = new LongAdder();
+
+    public LatencyDataSource(DataSource target, Settings settings) {
+        this.target = target;
+        this.settings = settings;
+        this.hotRows = new Semaphore[settings.hotRows];
+        for (int i = 0; i < hotRows.length; i++) {
+            hotRows[i] = new Semaphore(1, true);
+        }
+        if (hotRows.length > 0 && settings.backgroundLockHoldMillis > 0) {
+            backgroundLocker = new Thread(this::runBackgroundLocker, "latency-background-locker");
+            backgroundLocker.setDaemon(true);
+            backgroundLocker.start();
+        } else {
+            backgroundLocker = null;
+        }
+    }
+
+    public long getLockWaitCount() {
+        return lockWaitCount.sum();
+    }
+
+    public long getLockWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lockWaitNanos.sum());
+    }
+
+    public long getLockTimeoutCount() {
+        return lockTimeoutCount.sum();
+    }
+
+    public void resetStatistics() {
+        lockWaitCount.reset();
+        lockWaitNanos.reset();
+        lockTimeoutCount.reset();
+    }
+
+    /**
+     * 停止后台锁定线程
+     */
+    public void close() {
+        if (backgroundLocker != null) {
+            backgroundLocker.interrupt();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(target.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(target.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        ConnectionHandler handler = new ConnectionHandler(connection);
+        handler.proxy = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+        return handler.proxy;
+    }
+
+    private void runBackgroundLocker() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(settings.backgroundLockIntervalMillis);
+                Semaphore row = hotRows[random.nextInt(hotRows.length)];
+                row.acquire();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(settings.backgroundLockHoldMillis);
+                } finally {
+                    row.release();
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void delay(long micros) {
+        if (micros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+    }
+
+    private static boolean isDml(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String head = sql.trim();
+        head = head.substring(0, Math.min(head.length(), 6)).toLowerCase(Locale.ROOT);
+        return head.startsWith("insert") || head.startsWith("update") || head.startsWith("delete")
+                || head.startsWith("merge");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * 连接代理：提交时注入延迟，事务结束时释放持有的热点行锁
+     */
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final Set<Integer> heldRows = new HashSet<>();
+        private Connection proxy;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "commit":
+                    delay(settings.roundTripMicros + settings.commitMicros);
+                    try {
+                        return LatencyDataSource.invoke(target, method, args);
+                    } finally {
+                        releaseRows();
+                    }
+                case "rollback":
+                    delay(settings.roundTripMicros);
+                    try {
+                        return LatencyDataSource.invoke(target, method, args);
+                    } finally {
+                        // 回滚到保存点时不释放行锁
+                        if (args == null || args.length == 0) {
+                            releaseRows();
+                        }
+                    }
+                case "close":
+                    // 未提交的事务随连接归还回滚
+                    releaseRows();
+                    return LatencyDataSource.invoke(target, method, args);
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    Statement statement = (Statement) LatencyDataSource.invoke(target, method, args);
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    StatementHandler handler = new StatementHandler(this, statement, sql);
+                    return Proxy.newProxyInstance(LatencyDataSource.class.getClassLoader(),
+                            new Class<?>[]{method.getReturnType()}, handler);
+                default:
+                    return LatencyDataSource.invoke(target, method, args);
+            }
+        }
+
+        /**
+         * DML 语句以 contentionRatio 的概率锁定一个热点行，已持有时不再等待
+         */
+        private void lockRows(int statements) throws SQLException {
+            if (hotRows.length == 0) {
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < statements; i++) {
+                if (random.nextDouble() >= settings.contentionRatio) {
+                    continue;
+                }
+                int index = random.nextInt(hotRows.length);
+                if (heldRows.contains(index)) {
+                    continue;
+                }
+                Semaphore row = hotRows[index];
+                if (!row.tryAcquire()) {
+                    lockWaitCount.increment();
+                    long startTime = System.nanoTime();
+                    boolean acquired;
+                    try {
+                        acquired = row.tryAcquire(settings.lockWaitTimeoutMillis, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for row lock", e);
+                    } finally {
+                        lockWaitNanos.add(System.nanoTime() - startTime);
+                    }
+                    if (!acquired) {
+                        lockTimeoutCount.increment();
+                        throw new SQLException("Lock wait timeout exceeded; try restarting transaction", "HY000", 1205);
+                    }
+                }
+                heldRows.add(index);
+            }
+        }
+
+        private Settings settings() {
+            return settings;
+        }
+
+        private void releaseRows() {
+            for (Integer index : heldRows) {
+                hotRows[index].release();
+            }
+            heldRows.clear();
+        }
+
+        private void afterStatement() throws SQLException {
+            if (!heldRows.isEmpty() && target.getAutoCommit()) {
+                releaseRows();
+            }
+        }
+    }
+
+    /**
+     * Statement 代理：执行时注入往返延迟，DML 语句参与热点行竞争
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final ConnectionHandler connection;
+        private final Statement target;
+        private final String preparedSql;
+        private int batchCount;
+        private boolean batchDml;
+
+        private StatementHandler(ConnectionHandler connection, Statement target, String preparedSql) {
+            this.connection = connection;
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "getConnection":
+                    return connection.proxy;
+                case "addBatch":
+                    batchCount++;
+                    batchDml |= isDml(args != null && args.length > 0 ? (String) args[0] : preparedSql);
+                    return LatencyDataSource.invoke(target, method, args);
+                case "clearBatch":
+                    batchCount = 0;
+                    batchDml = false;
+                    return LatencyDataSource.invoke(target, method, args);
+                case "executeBatch":
+                case "executeLargeBatch":
+                    Settings settings = connection.settings();
+                    delay(settings.roundTripMicros + batchCount * settings.batchStatementMicros);
+                    if (batchDml) {
+                        connection.lockRows(batchCount);
+                    }
+                    batchCount = 0;
+                    batchDml = false;
+                    return execute(method, args);
+                default:
+                    if (name.startsWith("execute")) {
+                        delay(connection.settings().roundTripMicros);
+                        String sql = args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : preparedSql;
+                        if (isDml(sql)) {
+                            connection.lockRows(1);
+                        }
+                        return execute(method, args);
+                    }
+                    return LatencyDataSource.invoke(target, method, args);
+            }
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            Object result = LatencyDataSource.invoke(target, method, args);
+            connection.afterStatement();
+            return result;
+        }
+    }
+
+    /**
+     * 延迟和锁竞争参数，默认全部为 0 表示不注入
+     */
+    public static class Settings {
+        private long roundTripMicros;
+        private long batchStatementMicros;
+        private long commitMicros;
+        private int hotRows;
+        private double contentionRatio;
+        private long lockWaitTimeoutMillis = 5000;
+        private long backgroundLockHoldMillis;
+        private long backgroundLockIntervalMillis = 100;
+
+        /**
+         * 从系统属性读取：roundTripMicros、batchStatementMicros、commitMicros、hotRows、contentionRatio、
+         * lockWaitTimeoutMillis、backgroundLockHoldMillis、backgroundLockIntervalMillis
+         */
+        public static Settings fromSystemProperties() {
+            Settings settings = new Settings();
+            settings.roundTripMicros = Long.getLong("roundTripMicros", 0L);
+            settings.batchStatementMicros = Long.getLong("batchStatementMicros", 0L);
+            settings.commitMicros = Long.getLong("commitMicros", 0L);
+            settings.hotRows = Integer.getInteger("hotRows", 0);
+            settings.contentionRatio = Double.parseDouble(System.getProperty("contentionRatio", "0"));
+            settings.lockWaitTimeoutMillis = Long.getLong("lockWaitTimeoutMillis", settings.lockWaitTimeoutMillis);
+            settings.backgroundLockHoldMillis = Long.getLong("backgroundLockHoldMillis", 0L);
+            settings.backgroundLockIntervalMillis =
+                    Long.getLong("backgroundLockIntervalMillis", settings.backgroundLockIntervalMillis);
+            return settings;
+        }
+
+        public Settings roundTripMicros(long roundTripMicros) {
+            this.roundTripMicros = roundTripMicros;
+            return this;
+        }
+
+        public Settings batchStatementMicros(long batchStatementMicros) {
+            this.batchStatementMicros = batchStatementMicros;
+            return this;
+        }
+
+        public Settings commitMicros(long commitMicros) {
+            this.commitMicros = commitMicros;
+            return this;
+        }
+
+        public Settings contention(int hotRows, double contentionRatio) {
+            this.hotRows = hotRows;
+            this.contentionRatio = contentionRatio;
+            return this;
+        }
+
+        public Settings lockWaitTimeoutMillis(long lockWaitTimeoutMillis) {
+            this.lockWaitTimeoutMillis = lockWaitTimeoutMillis;
+            return this;
+        }
+
+        public Settings backgroundLock(long holdMillis, long intervalMillis) {
+            this.backgroundLockHoldMillis = holdMillis;
+            this.backgroundLockIntervalMillis = intervalMillis;
+            return this;
+        }
+
+        /**
+         * 是否需要注入延迟或锁竞争
+         */
+        public boolean isEnabled() {
+            return roundTripMicros > 0 || batchStatementMicros > 0 || commitMicros > 0
+                    || (hotRows > 0 && (contentionRatio > 0 || backgroundLockHoldMillis > 0));
+        }
+
+        public boolean hasContention() {
+            return hotRows > 0 && (contentionRatio > 0 || backgroundLockHoldMillis > 0);
+        }
+
+        @Override
+        public String toString() {
+            return "roundTripMicros=" + roundTripMicros + ", batchStatementMicros=" + batchStatementMicros
+                    + ", commitMicros=" + commitMicros + ", hotRows=" + hotRows + ", contentionRatio=" + contentionRatio
+                    + ", lockWaitTimeoutMillis=" + lockWaitTimeoutMillis
+                    + ", backgroundLockHoldMillis=" + backgroundLockHoldMillis
+                    + ", backgroundLockIntervalMillis=" + backgroundLockIntervalMillis;
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,113 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import cn.rhymed.data.turbo.BatchDeleteHelper;
+import cn.rhymed.data.turbo.config.BatchDeleteConfig;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 数据倾斜场景下的调度对比：主键最前面的 hotRatio 区间每行删除都较慢。
+ * <ul>
+ *     <li>static：按线程数预先把主键切成连续区间，每个线程单线程执行自己的区间（即原来的静态切分方式）</li>
+ *     <li>dynamic：一次批量删除，各线程从共享的分页来源动态领取分页</li>
+ * </ul>
+ * 静态切分时任务耗时取决于分到热点区间的那个线程，动态领取时其他线程会分担剩余分页。
+ * 参数通过系统属性传入：rows、threads、fetchSize、hotRatio、hotRowMicros、runs
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class SkewBenchmark {
+
+    private static final long ROWS = Long.getLong("rows", 100_000L);
+    private static final int THREADS = Integer.getInteger("threads", 4);
+    private static final int FETCH_SIZE = Integer.getInteger("fetchSize", 1000);
+    private static final double HOT_RATIO = Double.parseDouble(System.getProperty("hotRatio", "0.1"));
+    private static final long HOT_ROW_MICROS = Long.getLong("hotRowMicros", 50L);
+    private static final int RUNS = Integer.getInteger("runs", 3);
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkDatabase database = new BenchmarkDatabase("skew", THREADS * 2 + 2);
+        HotRangeTrigger.hotMaxId = (long) (ROWS * HOT_RATIO);
+        HotRangeTrigger.hotRowNanos = HOT_ROW_MICROS * 1000;
+
+        System.out.printf("rows=%d, threads=%d, fetchSize=%d, hotRange=[1, %d], hotRowMicros=%d%n",
+                ROWS, THREADS, FETCH_SIZE, HotRangeTrigger.hotMaxId, HOT_ROW_MICROS);
+
+        long[] staticMillis = new long[RUNS];
+        long[] dynamicMillis = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            reset(database);
+            staticMillis[run] = runStatic(database.getSqlSessionFactory());
+            reset(database);
+            dynamicMillis[run] = runDynamic(database.getSqlSessionFactory());
+            System.out.printf("run #%d: static=%d ms, dynamic=%d ms%n", run + 1, staticMillis[run], dynamicMillis[run]);
+        }
+        report("static", staticMillis);
+        report("dynamic", dynamicMillis);
+    }
+
+    private static void reset(BenchmarkDatabase database) throws Exception {
+        database.reset(ROWS);
+        database.execute("CREATE TRIGGER bench_hot_range BEFORE DELETE ON bench_record FOR EACH ROW CALL '"
+                + HotRangeTrigger.class.getName() + "'");
+    }
+
+    /**
+     * 预先按线程切分连续主键区间，每个区间单线程执行
+     */
+    private static long runStatic(SqlSessionFactory sqlSessionFactory) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        long rangeSize = (ROWS + THREADS - 1) / THREADS;
+        long startTime = System.nanoTime();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                long fromId = i * rangeSize + 1;
+                long toId = Math.min(fromId + rangeSize - 1, ROWS);
+                futures.add(CompletableFuture.runAsync(() -> delete(sqlSessionFactory, 1,
+                        mapper -> mapper.deleteByStatusAndRange("old", fromId, toId)), executorService));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+        } finally {
+            executorService.shutdown();
+        }
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    private static long runDynamic(SqlSessionFactory sqlSessionFactory) {
+        long startTime = System.nanoTime();
+        delete(sqlSessionFactory, THREADS, mapper -> mapper.deleteByStatus("old"));
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    private static void delete(SqlSessionFactory sqlSessionFactory, int threadCount, DeleteAction action) {
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+            BenchmarkMapper mapper = sqlSession.getMapper(BenchmarkMapper.class);
+            BatchDeleteHelper.execute(BatchDeleteConfig.builder()
+                    .primaryId("id")
+                    .fetchSize(FETCH_SIZE)
+                    .batchSize(FETCH_SIZE * 5)
+                    .maxThreadCount(threadCount)
+                    .build(), () -> action.delete(mapper));
+        }
+    }
+
+    private static void report(String name, long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-8s min=%d ms, median=%d ms, max=%d ms%n",
+                name, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+    }
+
+    private interface DeleteAction {
+        void delete(BenchmarkMapper mapper);
+    }
+}
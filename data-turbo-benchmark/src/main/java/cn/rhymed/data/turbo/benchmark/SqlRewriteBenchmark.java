@@ -0,0 +1,182 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import cn.rhymed.data.turbo.RowNumberSqlParser;
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.mapping.PageSqlSource;
+import cn.rhymed.data.turbo.utils.BoundSqlUtils;
+import cn.rhymed.data.turbo.utils.MappedStatementUtils;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 改写和分页热路径的 JMH 基准，覆盖常见的语句形态（单表、别名、foreach 展开的 IN 列表、子查询、多表 JOIN）。
+ * 先在根目录执行 mvn install，再在本目录执行：
+ * <pre>
+ * mvn -q package -Pjmh
+ * java -jar target/benchmarks.jar SqlRewriteBenchmark -prof gc
+ * </pre>
+ * -prof gc 输出的 gc.alloc.rate.norm 为每次调用分配的字节数，优化分页路径前后对比该值
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlRewriteBenchmark {
+
+    /**
+     * 语句形态
+     */
+    public enum Shape {
+        SIMPLE("id", "DELETE FROM bench_record WHERE status = ?"),
+        ALIAS("r.id", "UPDATE bench_record r SET r.status = ? WHERE r.status = ? AND r.created_at < ?"),
+        FOREACH_IN("id", "DELETE FROM bench_record WHERE status = ? AND tenant_id IN (" + placeholders(100) + ")"),
+        SUBQUERY("id", "DELETE FROM order_item WHERE deleted = ? AND order_id IN "
+                + "(SELECT o.id FROM orders o WHERE o.status = ? AND o.created_at < ?)"),
+        JOIN("oi.id", "UPDATE order_item oi INNER JOIN orders o ON o.id = oi.order_id "
+                + "LEFT JOIN customer c ON c.id = o.customer_id SET oi.archived = ? "
+                + "WHERE o.status = ? AND o.created_at < ? AND c.region = ?");
+
+        private final String primaryId;
+        private final String sql;
+
+        Shape(String primaryId, String sql) {
+            this.primaryId = primaryId;
+            this.sql = sql;
+        }
+
+        private static String placeholders(int count) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                builder.append(i == 0 ? "?" : ", ?");
+            }
+            return builder.toString();
+        }
+    }
+
+    @Param
+    private Shape shape;
+
+    private String sql;
+    private PageConfig pageConfig;
+    private PageResult pageResult;
+    private MappedStatement ms;
+    private Map<String, Object> parameter;
+    private BoundSql originalBoundSql;
+    private PageSqlSource pageSqlSource;
+
+    @Setup
+    public void setup() {
+        sql = shape.sql;
+        pageConfig = PageConfig.builder().primaryId(shape.primaryId).pageSize(1000).build();
+        pageResult = new PageResult();
+        pageResult.setPageNum(0);
+        pageResult.setStartKey(1_000_001L);
+        pageResult.setEndKey(1_001_000L);
+        pageResult.setPageSize(1000);
+
+        // 每个 ? 对应一个参数，与 MyBatis 解析 #{} 后的 BoundSql 相同
+        Configuration configuration = new Configuration();
+        int parameterCount = BoundSqlUtils.countParameters(sql);
+        List<ParameterMapping> parameterMappings = new ArrayList<>(parameterCount);
+        parameter = new HashMap<>();
+        for (int i = 0; i < parameterCount; i++) {
+            parameterMappings.add(new ParameterMapping.Builder(configuration, "p" + i, Object.class).build());
+            parameter.put("p" + i, "v" + i);
+        }
+        SqlCommandType commandType = sql.startsWith("DELETE") ? SqlCommandType.DELETE : SqlCommandType.UPDATE;
+        ms = new MappedStatement.Builder(configuration, "bench." + shape.name(),
+                new StaticSqlSource(configuration, sql, parameterMappings), commandType).build();
+
+        SqlTemplate pageTemplate = RowNumberSqlParser.getRowNumberPageTemplate(sql, pageConfig);
+        originalBoundSql = ms.getBoundSql(parameter);
+        pageSqlSource = new PageSqlSource(configuration, pageTemplate, originalBoundSql);
+        pageSqlSource.setPageResult(pageResult);
+    }
+
+    /**
+     * 规划查询：改写为 ROW_NUMBER 查询（每次重新解析）
+     */
+    @Benchmark
+    public String rowNumberSql() {
+        return RowNumberSqlParser.getRowNumberSql(sql, pageConfig);
+    }
+
+    /**
+     * 分页范围以字面量拼接的分页 SQL（每页重新解析）
+     */
+    @Benchmark
+    public String rowNumberPageSql() {
+        return RowNumberSqlParser.getRowNumberPageSql(sql, pageConfig, pageResult);
+    }
+
+    /**
+     * 分页范围以参数绑定的分页 SQL 模板（每条语句解析一次）
+     */
+    @Benchmark
+    public SqlTemplate rowNumberPageTemplate() {
+        return RowNumberSqlParser.getRowNumberPageTemplate(sql, pageConfig);
+    }
+
+    /**
+     * 命中缓存时获取分页 SQL 模板
+     */
+    @Benchmark
+    public SqlTemplate cachedPageTemplate() {
+        return SqlTemplateCache.getInstance().getPageSqlTemplate(ms.getId(), sql, pageConfig);
+    }
+
+    @Benchmark
+    public MappedStatement copyFromMappedStatement() {
+        return MappedStatementUtils.copyFromMappedStatement(ms, ms.getId() + "_batch_delete_1", pageSqlSource);
+    }
+
+    @Benchmark
+    public int countParameters() {
+        return BoundSqlUtils.countParameters(sql);
+    }
+
+    /**
+     * 工作线程启动时读取原 BoundSql 的额外参数
+     */
+    @Benchmark
+    public Map<String, Object> additionalParameters() {
+        return BoundSqlUtils.getAdditionalParameters(originalBoundSql);
+    }
+
+    /**
+     * 工作线程每页执行时获取 BoundSql，同一个参数对象的各页复用 BoundSql，只替换分页范围参数
+     */
+    @Benchmark
+    public BoundSql pageBoundSql() {
+        return pageSqlSource.getBoundSql(parameter);
+    }
+}
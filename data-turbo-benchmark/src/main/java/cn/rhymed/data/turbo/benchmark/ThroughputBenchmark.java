@@ -0,0 +1,217 @@
+package cn.rhymed.data.turbo.benchmark;
+
+import cn.rhymed.data.turbo.BatchDeleteHelper;
+import cn.rhymed.data.turbo.BatchUpdateHelper;
+import cn.rhymed.data.turbo.config.BatchDeleteConfig;
+import cn.rhymed.data.turbo.config.BatchUpdateConfig;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.metrics.BatchMetrics;
+import cn.rhymed.data.turbo.metrics.BatchMetricsListener;
+import cn.rhymed.data.turbo.metrics.LatencyHistogram;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 端到端吞吐量测试：在 H2 中写入 rows 条数据，通过真实的 MyBatis Mapper 调用 BatchDeleteHelper / BatchUpdateHelper，
+ * 遍历 fetchSize、batchSize、maxThreadCount 和条件选择度的组合，每个组合输出：
+ * <ul>
+ *     <li>rows/s：实际影响的行数 / 总耗时</li>
+ *     <li>plan%：分页规划耗时占总耗时的比例</li>
+ *     <li>p99 page：单页执行耗时的 p99，BATCH 模式按每次刷新批次的耗时平均到每页</li>
+ * </ul>
+ * 参数通过系统属性传入，多个取值用逗号分隔：rows、operations（delete,update）、fetchSizes、batchSizes、threads、
+ * selectivities（0~1，符合条件的行的比例）、planningStrategy、file（true 时使用文件模式）、runs、csv（结果另存为 CSV 文件）。
+ * 注入网络延迟、提交刷盘和行锁竞争的参数见 {@link LatencyDataSource.Settings#fromSystemProperties()}
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class ThroughputBenchmark {
+
+    private static final long ROWS = Long.getLong("rows", 1_000_000L);
+    private static final String[] OPERATIONS = System.getProperty("operations", "delete,update").split(",");
+    private static final int[] FETCH_SIZES = ints(System.getProperty("fetchSizes", "1000,5000"));
+    private static final int[] BATCH_SIZES = ints(System.getProperty("batchSizes", "10000,50000"));
+    private static final int[] THREADS = ints(System.getProperty("threads", "1,4,8"));
+    private static final double[] SELECTIVITIES = doubles(System.getProperty("selectivities", "0.1,1.0"));
+    private static final PlanningStrategy PLANNING_STRATEGY =
+            PlanningStrategy.valueOf(System.getProperty("planningStrategy", PlanningStrategy.ROW_NUMBER.name()));
+    private static final boolean FILE = Boolean.getBoolean("file");
+    private static final int RUNS = Integer.getInteger("runs", 1);
+    private static final String CSV = System.getProperty("csv");
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = 1;
+        for (int threads : THREADS) {
+            maxThreads = Math.max(maxThreads, threads);
+        }
+        LatencyDataSource.Settings latency = LatencyDataSource.Settings.fromSystemProperties();
+        BenchmarkDatabase database = new BenchmarkDatabase("throughput", maxThreads * 2 + 2, FILE, latency);
+        LatencyDataSource latencyDataSource = database.getLatencyDataSource();
+        SqlSessionFactory sqlSessionFactory = database.getSqlSessionFactory();
+        MetricsCollector collector = new MetricsCollector();
+        BatchMetrics.register(sqlSessionFactory, Collections.singletonList(collector));
+
+        System.out.printf("rows=%d, planningStrategy=%s, mode=%s, runs=%d%n",
+                ROWS, PLANNING_STRATEGY, FILE ? "file" : "mem", RUNS);
+        if (latencyDataSource != null) {
+            System.out.println("latency: " + latency);
+        }
+        String header = String.format("%-7s %6s %7s %7s %11s %10s %9s %12s %6s %12s",
+                "op", "fetch", "batch", "threads", "selectivity", "rows", "ms", "rows/s", "plan%", "p99 page ms");
+        System.out.println(header);
+        try (PrintWriter csv = CSV != null ? new PrintWriter(new FileWriter(CSV)) : null) {
+            if (csv != null) {
+                csv.println("operation,fetchSize,batchSize,threads,selectivity,run,rows,millis,rowsPerSecond,"
+                        + "planShare,p99PageMillis");
+            }
+            for (String operation : OPERATIONS) {
+                for (double selectivity : SELECTIVITIES) {
+                    for (int fetchSize : FETCH_SIZES) {
+                        for (int batchSize : BATCH_SIZES) {
+                            for (int threads : THREADS) {
+                                for (int run = 1; run <= RUNS; run++) {
+                                    database.reset(ROWS, selectivity);
+                                    database.execute("CREATE INDEX bench_record_status ON bench_record(status)");
+                                    collector.reset();
+                                    if (latencyDataSource != null) {
+                                        latencyDataSource.resetStatistics();
+                                    }
+                                    Result result;
+                                    try {
+                                        result = run(sqlSessionFactory, operation.trim(), fetchSize, batchSize, threads);
+                                    } catch (RuntimeException e) {
+                                        // 注入锁竞争时可能出现锁等待超时，记录后继续下一个组合
+                                        System.out.printf("%-7s %6d %7d %7d %11.2f failed: %s%n", operation.trim(),
+                                                fetchSize, batchSize, threads, selectivity, rootMessage(e));
+                                        continue;
+                                    }
+                                    double rowsPerSecond = result.millis > 0 ? result.rows * 1000.0 / result.millis : 0;
+                                    double planShare = result.millis > 0
+                                            ? collector.planNanos.get() / 1_000_000.0 / result.millis : 0;
+                                    double p99 = collector.pageLatency.getPercentileMillis(0.99);
+                                    System.out.printf("%-7s %6d %7d %7d %11.2f %10d %9d %12.0f %5.1f%% %12.2f%n",
+                                            operation.trim(), fetchSize, batchSize, threads, selectivity,
+                                            result.rows, result.millis, rowsPerSecond, planShare * 100, p99);
+                                    if (latency.hasContention()) {
+                                        System.out.printf("        lock waits=%d, lock wait=%d ms, lock timeouts=%d%n",
+                                                latencyDataSource.getLockWaitCount(),
+                                                latencyDataSource.getLockWaitMillis(),
+                                                latencyDataSource.getLockTimeoutCount());
+                                    }
+                                    if (csv != null) {
+                                        csv.printf("%s,%d,%d,%d,%s,%d,%d,%d,%.0f,%.4f,%.3f%n",
+                                                operation.trim(), fetchSize, batchSize, threads, selectivity, run,
+                                                result.rows, result.millis, rowsPerSecond, planShare, p99);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Result run(SqlSessionFactory sqlSessionFactory, String operation,
+                              int fetchSize, int batchSize, int threads) {
+        long startTime = System.nanoTime();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+            BenchmarkMapper mapper = sqlSession.getMapper(BenchmarkMapper.class);
+            long before = mapper.countByStatus("old");
+            if ("delete".equals(operation)) {
+                BatchDeleteHelper.execute(BatchDeleteConfig.builder()
+                        .primaryId("id")
+                        .fetchSize(fetchSize)
+                        .batchSize(batchSize)
+                        .maxThreadCount(threads)
+                        .planningStrategy(PLANNING_STRATEGY)
+                        .build(), () -> mapper.deleteByStatus("old"));
+            } else if ("update".equals(operation)) {
+                BatchUpdateHelper.execute(BatchUpdateConfig.builder()
+                        .primaryId("id")
+                        .fetchSize(fetchSize)
+                        .batchSize(batchSize)
+                        .maxThreadCount(threads)
+                        .planningStrategy(PLANNING_STRATEGY)
+                        .build(), () -> mapper.updateStatus("old", "archived"));
+            } else {
+                throw new IllegalArgumentException("Unsupported operation: " + operation);
+            }
+            long millis = (System.nanoTime() - startTime) / 1_000_000;
+            // 计数查询在计时之外，影响行数 = 执行前后符合条件的行数之差
+            return new Result(before - mapper.countByStatus("old"), millis);
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private static int[] ints(String values) {
+        String[] parts = values.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+
+    private static double[] doubles(String values) {
+        String[] parts = values.split(",");
+        double[] result = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Double.parseDouble(parts[i].trim());
+        }
+        return result;
+    }
+
+    private static class Result {
+        private final long rows;
+        private final long millis;
+
+        private Result(long rows, long millis) {
+            this.rows = rows;
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * 收集每次运行的规划耗时和单页执行耗时
+     */
+    private static class MetricsCollector implements BatchMetricsListener {
+        private final AtomicLong planNanos = new AtomicLong();
+        private volatile LatencyHistogram pageLatency = new LatencyHistogram();
+
+        private void reset() {
+            planNanos.set(0);
+            pageLatency = new LatencyHistogram();
+        }
+
+        @Override
+        public void onPlanned(MappedStatement ms, String operation, PlanningStrategy planningStrategy, int pageCount,
+                              long nanos) {
+            planNanos.addAndGet(nanos);
+        }
+
+        @Override
+        public void onExecute(MappedStatement ms, String operation, int threadIndex, int pages, int rows, long nanos) {
+            // BATCH 模式一次刷新包含多页，平均到每页
+            long pageNanos = nanos / Math.max(pages, 1);
+            LatencyHistogram histogram = pageLatency;
+            for (int i = 0; i < pages; i++) {
+                histogram.record(pageNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package cn.rhymed.data.turbo;
+
+import cn.rhymed.data.turbo.config.BatchArchiveConfig;
+import cn.rhymed.data.turbo.config.DataTurboProperties;
+import cn.rhymed.data.turbo.context.BatchArchiveContext;
+import cn.rhymed.data.turbo.job.BatchJob;
+import cn.rhymed.data.turbo.utils.StrUtil;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 批量归档帮助类：delete 中执行的 DELETE 语句按分页范围先写入归档表再删除，
+ * 只指定归档表时其他参数使用批量归档的默认配置
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchArchiveHelper {
+
+    private static final BatchHelperSupport<BatchArchiveConfig> SUPPORT = new BatchHelperSupport<>(
+            BatchArchiveContext.CONTEXT, DataTurboProperties::getBatchArchive, BatchArchiveConfig::new);
+
+    /**
+     * 设置配置属性（由自动配置类调用）
+     */
+    public static void setProperties(DataTurboProperties dataTurboProperties) {
+        SUPPORT.setProperties(dataTurboProperties);
+    }
+
+    public static void execute(String archiveTable, Delete delete) {
+        execute(getDefaultConfig(archiveTable), delete);
+    }
+
+    public static void execute(BatchArchiveConfig batchArchiveConfig, Delete delete) {
+        checkConfig(batchArchiveConfig);
+        SUPPORT.execute(batchArchiveConfig, delete::doDelete);
+    }
+
+    public static BatchJob executeAsync(String archiveTable, Delete delete) {
+        return executeAsync(getDefaultConfig(archiveTable), delete);
+    }
+
+    public static BatchJob executeAsync(BatchArchiveConfig batchArchiveConfig, Delete delete) {
+        return executeAsync(batchArchiveConfig, delete, BatchJob.getDefaultExecutor());
+    }
+
+    /**
+     * 在 executor 的线程上异步执行批量归档，立即返回可查询进度的 BatchJob。
+     * delete 在异步线程上执行，不会加入调用方的事务，完成后 future 的结果为实际归档的行数
+     */
+    public static BatchJob executeAsync(BatchArchiveConfig batchArchiveConfig, Delete delete, Executor executor) {
+        checkConfig(batchArchiveConfig);
+        return SUPPORT.executeAsync(batchArchiveConfig, delete::doDelete, executor);
+    }
+
+    private static void checkConfig(BatchArchiveConfig batchArchiveConfig) {
+        if (batchArchiveConfig == null || StrUtil.isBlank(batchArchiveConfig.getArchiveTable())) {
+            throw new IllegalArgumentException("批量归档必须指定归档表");
+        }
+    }
+
+    /**
+     * 获取默认配置（从配置文件的批量归档配置或使用内置默认值）
+     */
+    private static BatchArchiveConfig getDefaultConfig(String archiveTable) {
+        BatchArchiveConfig config = SUPPORT.getDefaultConfig();
+        config.setArchiveTable(archiveTable);
+        return config;
+    }
+}
@@ -0,0 +1,52 @@
+package cn.rhymed.data.turbo;
+
+import cn.rhymed.data.turbo.config.BatchCopyConfig;
+import cn.rhymed.data.turbo.config.DataTurboProperties;
+import cn.rhymed.data.turbo.context.BatchCopyContext;
+import cn.rhymed.data.turbo.job.BatchJob;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 批量复制帮助类：copy 中执行的 INSERT ... SELECT 语句按源表主键范围切分，由多个工作线程并发执行并分批提交，
+ * 用于在数据库内从旧表回填新表，避免单条 INSERT ... SELECT 长时间持有锁和大量 undo
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchCopyHelper {
+
+    private static final BatchHelperSupport<BatchCopyConfig> SUPPORT = new BatchHelperSupport<>(
+            BatchCopyContext.CONTEXT, DataTurboProperties::getBatchCopy, BatchCopyConfig::new);
+
+    /**
+     * 设置配置属性（由自动配置类调用）
+     */
+    public static void setProperties(DataTurboProperties dataTurboProperties) {
+        SUPPORT.setProperties(dataTurboProperties);
+    }
+
+    public static void execute(Copy copy) {
+        execute(null, copy);
+    }
+
+    public static void execute(BatchCopyConfig batchCopyConfig, Copy copy) {
+        SUPPORT.execute(batchCopyConfig, copy::doCopy);
+    }
+
+    public static BatchJob executeAsync(Copy copy) {
+        return executeAsync(null, copy);
+    }
+
+    public static BatchJob executeAsync(BatchCopyConfig batchCopyConfig, Copy copy) {
+        return executeAsync(batchCopyConfig, copy, BatchJob.getDefaultExecutor());
+    }
+
+    /**
+     * 在 executor 的线程上异步执行批量复制，立即返回可查询进度的 BatchJob。
+     * copy 在异步线程上执行，不会加入调用方的事务，完成后 future 的结果为实际写入的行数
+     */
+    public static BatchJob executeAsync(BatchCopyConfig batchCopyConfig, Copy copy, Executor executor) {
+        return SUPPORT.executeAsync(batchCopyConfig, copy::doCopy, executor);
+    }
+}
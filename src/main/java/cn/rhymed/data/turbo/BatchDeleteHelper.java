@@ -3,6 +3,9 @@ package cn.rhymed.data.turbo;
 import cn.rhymed.data.turbo.config.BatchDeleteConfig;
 import cn.rhymed.data.turbo.config.DataTurboProperties;
 import cn.rhymed.data.turbo.context.BatchDeleteContext;
+import cn.rhymed.data.turbo.job.BatchJob;
+
+import java.util.concurrent.Executor;
 
 /**
  * 批量删除帮助类
@@ -12,13 +15,14 @@ import cn.rhymed.data.turbo.context.BatchDeleteContext;
  **/
 public class BatchDeleteHelper {
 
-    private static DataTurboProperties properties;
+    private static final BatchHelperSupport<BatchDeleteConfig> SUPPORT = new BatchHelperSupport<>(
+            BatchDeleteContext.CONTEXT, DataTurboProperties::getBatchDelete, BatchDeleteConfig::new);
 
     /**
      * 设置配置属性（由自动配置类调用）
      */
     public static void setProperties(DataTurboProperties dataTurboProperties) {
-        properties = dataTurboProperties;
+        SUPPORT.setProperties(dataTurboProperties);
     }
 
     public static void execute(Delete delete) {
@@ -26,38 +30,22 @@ public class BatchDeleteHelper {
     }
 
     public static void execute(BatchDeleteConfig batchDeleteConfig, Delete delete) {
-        startBatchDelete(batchDeleteConfig);
-        delete.doDelete();
+        SUPPORT.execute(batchDeleteConfig, delete::doDelete);
+    }
+
+    public static BatchJob executeAsync(Delete delete) {
+        return executeAsync(null, delete);
     }
 
-    private static void startBatchDelete(BatchDeleteConfig batchDeleteConfig) {
-        if (batchDeleteConfig == null) {
-            // 使用配置文件中的默认值
-            batchDeleteConfig = getDefaultConfig();
-        }
-        BatchDeleteContext.setConfig(batchDeleteConfig);
+    public static BatchJob executeAsync(BatchDeleteConfig batchDeleteConfig, Delete delete) {
+        return executeAsync(batchDeleteConfig, delete, BatchJob.getDefaultExecutor());
     }
 
     /**
-     * 获取默认配置（从配置文件或使用内置默认值）
+     * 在 executor 的线程上异步执行批量删除，立即返回可查询进度的 BatchJob。
+     * delete 在异步线程上执行，不会加入调用方的事务，完成后 future 的结果为实际删除的行数
      */
-    private static BatchDeleteConfig getDefaultConfig() {
-        if (properties != null) {
-            DataTurboProperties.BatchDelete bd = properties.getBatchDelete();
-            return BatchDeleteConfig.builder()
-                    .primaryId(bd.getPrimaryId())
-                    .fetchSize(bd.getFetchSize())
-                    .batchSize(bd.getBatchSize())
-                    .maxThreadCount(bd.getMaxThreadCount())
-                    .build();
-        }
-
-        // 如果没有配置（非 Spring Boot 环境），使用内置默认值
-        return BatchDeleteConfig.builder()
-                .primaryId(null)  // null 表示自动推断
-                .fetchSize(5000)
-                .batchSize(50000)
-                .maxThreadCount(3)
-                .build();
+    public static BatchJob executeAsync(BatchDeleteConfig batchDeleteConfig, Delete delete, Executor executor) {
+        return SUPPORT.executeAsync(batchDeleteConfig, delete::doDelete, executor);
     }
 }
@@ -0,0 +1,103 @@
+package cn.rhymed.data.turbo;
+
+import cn.rhymed.data.turbo.config.BatchConfig;
+import cn.rhymed.data.turbo.config.DataTurboProperties;
+import cn.rhymed.data.turbo.context.BatchContext;
+import cn.rhymed.data.turbo.job.BatchJob;
+import cn.rhymed.data.turbo.job.BatchProgress;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 批量操作帮助类的公共实现：按配置文件生成默认配置，在操作的上下文中同步或异步执行
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class BatchHelperSupport<C extends BatchConfig> {
+
+    private final BatchContext<C> context;
+
+    private final Function<DataTurboProperties, ? extends DataTurboProperties.BatchDefaults> section;
+
+    private final Supplier<C> configFactory;
+
+    private volatile DataTurboProperties properties;
+
+    BatchHelperSupport(BatchContext<C> context,
+                       Function<DataTurboProperties, ? extends DataTurboProperties.BatchDefaults> section,
+                       Supplier<C> configFactory) {
+        this.context = context;
+        this.section = section;
+        this.configFactory = configFactory;
+    }
+
+    void setProperties(DataTurboProperties dataTurboProperties) {
+        properties = dataTurboProperties;
+    }
+
+    /**
+     * 获取默认配置（从配置文件或使用内置默认值）
+     */
+    C getDefaultConfig() {
+        DataTurboProperties current = properties;
+        // 如果没有配置（非 Spring Boot 环境），使用内置默认值，primaryId 为 null 表示自动推断
+        DataTurboProperties.BatchDefaults defaults = current != null
+                ? section.apply(current) : new DataTurboProperties.BatchDefaults();
+        C config = configFactory.get();
+        config.setPrimaryId(defaults.getPrimaryId());
+        config.setFetchSize(defaults.getFetchSize());
+        config.setBatchSize(defaults.getBatchSize());
+        config.setMaxThreadCount(defaults.getMaxThreadCount());
+        config.setPlanningStrategy(defaults.getPlanningStrategy());
+        config.setPipelined(defaults.isPipelined());
+        config.setAdaptive(defaults.isAdaptive());
+        config.setTargetStatementMillis(defaults.getTargetStatementMillis());
+        config.setExpandedKeyComparison(defaults.isExpandedKeyComparison());
+        return config;
+    }
+
+    /**
+     * 设置配置后执行 action，config 为 null 时使用默认配置。
+     * action 中没有执行到被拦截的语句时配置不会被取走，执行结束后清空
+     */
+    void execute(C config, Runnable action) {
+        context.setConfig(config != null ? config : getDefaultConfig());
+        try {
+            action.run();
+        } finally {
+            context.clearConfig();
+        }
+    }
+
+    /**
+     * 在 executor 的线程上异步执行 action，立即返回可查询进度的 BatchJob。
+     * action 在异步线程上执行，不会加入调用方的事务，完成后 future 的结果为实际影响的行数
+     */
+    BatchJob executeAsync(C config, Runnable action, Executor executor) {
+        BatchProgress progress = new BatchProgress();
+        C jobConfig = config != null ? config : getDefaultConfig();
+        CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> {
+            context.setProgress(progress);
+            try {
+                execute(jobConfig, action);
+            } catch (RuntimeException e) {
+                if (!progress.isDone()) {
+                    progress.fail();
+                }
+                throw e;
+            } finally {
+                context.clearProgress();
+            }
+            if (!progress.isDone()) {
+                // action 中没有执行到被拦截的语句
+                progress.finish(0);
+            }
+            return (int) progress.getRowsAffected();
+        }, executor);
+        return new BatchJob(future, progress);
+    }
+}
@@ -3,6 +3,9 @@ package cn.rhymed.data.turbo;
 import cn.rhymed.data.turbo.config.BatchUpdateConfig;
 import cn.rhymed.data.turbo.config.DataTurboProperties;
 import cn.rhymed.data.turbo.context.BatchUpdateContext;
+import cn.rhymed.data.turbo.job.BatchJob;
+
+import java.util.concurrent.Executor;
 
 /**
  * 批量更新帮助类
@@ -12,13 +15,14 @@ import cn.rhymed.data.turbo.context.BatchUpdateContext;
  **/
 public class BatchUpdateHelper {
 
-    private static DataTurboProperties properties;
+    private static final BatchHelperSupport<BatchUpdateConfig> SUPPORT = new BatchHelperSupport<>(
+            BatchUpdateContext.CONTEXT, DataTurboProperties::getBatchUpdate, BatchUpdateConfig::new);
 
     /**
      * 设置配置属性（由自动配置类调用）
      */
     public static void setProperties(DataTurboProperties dataTurboProperties) {
-        properties = dataTurboProperties;
+        SUPPORT.setProperties(dataTurboProperties);
     }
 
     public static void execute(Update update) {
@@ -26,38 +30,22 @@ public class BatchUpdateHelper {
     }
 
     public static void execute(BatchUpdateConfig batchUpdateConfig, Update update) {
-        startBatchUpdate(batchUpdateConfig);
-        update.doUpdate();
+        SUPPORT.execute(batchUpdateConfig, update::doUpdate);
+    }
+
+    public static BatchJob executeAsync(Update update) {
+        return executeAsync(null, update);
     }
 
-    private static void startBatchUpdate(BatchUpdateConfig batchUpdateConfig) {
-        if (batchUpdateConfig == null) {
-            // 使用配置文件中的默认值
-            batchUpdateConfig = getDefaultConfig();
-        }
-        BatchUpdateContext.setConfig(batchUpdateConfig);
+    public static BatchJob executeAsync(BatchUpdateConfig batchUpdateConfig, Update update) {
+        return executeAsync(batchUpdateConfig, update, BatchJob.getDefaultExecutor());
     }
 
     /**
-     * 获取默认配置（从配置文件或使用内置默认值）
+     * 在 executor 的线程上异步执行批量更新，立即返回可查询进度的 BatchJob。
+     * update 在异步线程上执行，不会加入调用方的事务，完成后 future 的结果为实际更新的行数
      */
-    private static BatchUpdateConfig getDefaultConfig() {
-        if (properties != null && properties.getBatchUpdate() != null) {
-            DataTurboProperties.BatchUpdate bu = properties.getBatchUpdate();
-            return BatchUpdateConfig.builder()
-                    .primaryId(bu.getPrimaryId())
-                    .fetchSize(bu.getFetchSize())
-                    .batchSize(bu.getBatchSize())
-                    .maxThreadCount(bu.getMaxThreadCount())
-                    .build();
-        }
-
-        // 如果没有配置（非 Spring Boot 环境），使用内置默认值
-        return BatchUpdateConfig.builder()
-                .primaryId(null)  // null 表示自动推断
-                .fetchSize(5000)
-                .batchSize(50000)
-                .maxThreadCount(3)
-                .build();
+    public static BatchJob executeAsync(BatchUpdateConfig batchUpdateConfig, Update update, Executor executor) {
+        return SUPPORT.executeAsync(batchUpdateConfig, update::doUpdate, executor);
     }
 }
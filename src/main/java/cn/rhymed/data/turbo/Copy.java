@@ -0,0 +1,14 @@
+package cn.rhymed.data.turbo;
+
+/**
+ * 批量复制函数式接口
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@FunctionalInterface
+public interface Copy {
+
+    void doCopy();
+
+}
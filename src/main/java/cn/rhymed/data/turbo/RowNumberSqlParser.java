@@ -1,29 +1,58 @@
 package cn.rhymed.data.turbo;
 
 import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.dialect.Dialect;
+import cn.rhymed.data.turbo.dialect.Dialects;
 import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.utils.IdentifierUtils;
+import cn.rhymed.data.turbo.utils.KeyUtils;
 import cn.rhymed.data.turbo.utils.StrUtil;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.AnalyticExpression;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.DoubleValue;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.Function;
+import net.sf.jsqlparser.expression.JdbcParameter;
 import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.NullValue;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.StringValue;
 import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
 import net.sf.jsqlparser.expression.operators.relational.Between;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
+import net.sf.jsqlparser.expression.operators.relational.NotEqualsTo;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.insert.Insert;
 import net.sf.jsqlparser.statement.select.*;
 import net.sf.jsqlparser.statement.update.Update;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
- * SQL解析器，处理ROW_NUMBER分页等复杂SQL
+ * SQL解析器，处理ROW_NUMBER分页等复杂SQL。
+ * 支持 DELETE、UPDATE 和 INSERT ... SELECT，INSERT ... SELECT 的分页规划和分页范围都作用在 SELECT 的源表上
  *
  * @author rhymed.liu[rhymed.liu@anker-in.com]
  * @since 2025-12-10 11:45
@@ -31,13 +60,582 @@ import java.util.List;
 @Slf4j
 public class RowNumberSqlParser {
 
+    /**
+     * 新增参数的占位标记，改写时先以列名形式渲染，生成模板时再替换为 ?
+     */
+    private static final String START_KEY_MARKER = "__DT_START_KEY__";
+    private static final String END_KEY_MARKER = "__DT_END_KEY__";
+    private static final String LAST_KEY_MARKER = "__DT_LAST_KEY__";
+    /**
+     * 复合主键各列的占位标记前缀，完整标记为前缀 + 列序号 + __
+     */
+    private static final String START_KEY_COMPONENT_MARKER = "__DT_START_KEY_";
+    private static final String END_KEY_COMPONENT_MARKER = "__DT_END_KEY_";
+    /**
+     * ROW_NUMBER 规划 SQL 中页号列的别名
+     */
+    private static final String PAGE_NUM = "page_num";
+    /**
+     * 判断更新后的行是否不再满足条件时，无法确定的表达式或参数的值
+     */
+    private static final Object UNKNOWN_VALUE = new Object();
+    /**
+     * INSERT ... SELECT 中不能按主键范围切分的聚合函数
+     */
+    private static final Set<String> AGGREGATE_FUNCTIONS = new HashSet<>(Arrays.asList(
+            "count", "sum", "avg", "min", "max", "group_concat", "string_agg", "listagg", "array_agg",
+            "json_arrayagg", "json_objectagg", "bit_and", "bit_or", "bit_xor", "bool_and", "bool_or", "every",
+            "stddev", "stddev_pop", "stddev_samp", "variance", "var_pop", "var_samp", "median"));
+    /**
+     * 归档表名只允许标识符、schema 分隔符和引号，直接拼接到 SQL 中
+     */
+    private static final Pattern ARCHIVE_TABLE_PATTERN = Pattern.compile("[\\w.$\"`\\[\\]]+");
+
+    /**
+     * 复合主键逐页探测的查询类型
+     */
+    public enum TupleProbe {
+        /**
+         * 第一页的开始主键：ORDER BY 主键 LIMIT 1
+         */
+        FIRST,
+        /**
+         * 从当前页开始主键往后第 pageSize 个和第 pageSize + 1 个主键，即当前页的结束主键和下一页的开始主键
+         */
+        NEXT,
+        /**
+         * 不足一页时的结束主键：ORDER BY 主键 DESC LIMIT 1
+         */
+        LAST
+    }
+
     public static String getRowNumberSql(String sql, PageConfig config) {
         Select select = getStatement(sql);
         sqlToRowNumber(select, config);
         return select.toString();
     }
 
+    /**
+     * 生成分页范围以字面量形式出现的分页 SQL，整数主键渲染为数字，其他类型的主键渲染为字符串
+     */
     public static String getRowNumberPageSql(String sql, PageConfig config, PageResult pageResult) {
+        return addPageCondition(sql, config,
+                toLiteral(pageResult.getStartKey()), toLiteral(pageResult.getEndKey()));
+    }
+
+    private static Expression toLiteral(Object key) {
+        Long longKey = KeyUtils.toLong(key);
+        if (longKey != null) {
+            return new LongValue(longKey);
+        }
+        StringValue value = new StringValue("");
+        value.setValue(String.valueOf(key).replace("'", "''"));
+        return value;
+    }
+
+    /**
+     * 生成查询分页信息的 ROW_NUMBER SQL 模板
+     */
+    public static SqlTemplate getRowNumberTemplate(String sql, PageConfig config) {
+        Select select = getStatement(indexParameters(sql));
+        sqlToRowNumber(select, config);
+        return toTemplate(select.toString());
+    }
+
+    /**
+     * 生成分页 SQL 模板，分页范围以 BETWEEN ? AND ? 的形式出现，
+     * 同一个任务的所有分页共用同一条 SQL，便于 BATCH 执行器复用 PreparedStatement
+     */
+    public static SqlTemplate getRowNumberPageTemplate(String sql, PageConfig config) {
+        if (config.isCompositeKey()) {
+            return toTemplate(addTuplePageCondition(indexParameters(sql), config));
+        }
+        return toTemplate(addPageCondition(indexParameters(sql), config,
+                new Column(START_KEY_MARKER), new Column(END_KEY_MARKER)));
+    }
+
+    /**
+     * 生成逐页探测分页边界的 SQL 模板（通过主键索引定位，不需要窗口函数和全量排序）
+     * <pre>
+     * SELECT min(id) AS start_key, max(id) AS end_key, count(*) AS page_size
+     * FROM (SELECT id FROM ... WHERE ... AND id &gt; ? ORDER BY id LIMIT pageSize) t
+     * </pre>
+     *
+     * @param firstPage 是否为第一页，第一页没有 id &gt; ? 条件
+     */
+    public static SqlTemplate getKeysetTemplate(String sql, PageConfig config, boolean firstPage) {
+        Select select = getStatement(indexParameters(sql));
+        sqlToKeyset(select, config, firstPage);
+        return toTemplate(select.toString());
+    }
+
+    /**
+     * 生成查询主键范围和行数的 SQL 模板，行数用于判断主键是否过于稀疏
+     * <pre>
+     * SELECT min(id) AS start_key, max(id) AS end_key, count(*) AS page_size FROM ... WHERE ...
+     * </pre>
+     */
+    public static SqlTemplate getMinMaxTemplate(String sql, PageConfig config) {
+        Select select = getStatement(indexParameters(sql));
+        sqlToMinMax(select, config);
+        return toTemplate(select.toString());
+    }
+
+    /**
+     * 生成复合主键逐页探测分页边界的 SQL 模板，按主键各列顺序走复合索引的范围扫描
+     * <pre>
+     * SELECT a AS k0, b AS k1 FROM ... WHERE ... AND (a, b) &gt;= (?, ?) ORDER BY a, b LIMIT 2 OFFSET pageSize - 1
+     * </pre>
+     */
+    public static SqlTemplate getTupleProbeTemplate(String sql, PageConfig config, TupleProbe probe) {
+        Select select = getStatement(indexParameters(sql));
+        sqlToTupleProbe(select, config, probe);
+        return toTemplate(select.toString());
+    }
+
+    /**
+     * 生成循环执行的 DELETE/UPDATE SQL 模板，每次最多影响 limit 行，重复执行直到影响行数小于 limit
+     * <pre>
+     * DELETE FROM ... WHERE ... [AND id BETWEEN ? AND ?] [ORDER BY id] LIMIT limit
+     * </pre>
+     *
+     * @param ranged 是否按主键范围限定，多个线程各自循环不同的主键范围时使用
+     * @param limit  每次执行最多影响的行数
+     */
+    public static SqlTemplate getLimitLoopTemplate(String sql, PageConfig config, boolean ranged, long limit) {
+        Statement stmt = parse(indexParameters(sql));
+        Limit rowLimit = new Limit();
+        rowLimit.setRowCount(new LongValue(limit));
+        boolean orderBy = getDialect(config).supportsOrderByInDml();
+        if (stmt instanceof Delete) {
+            Delete delete = (Delete) stmt;
+            if (ranged) {
+                addPageConditionToDelete(delete, config, new Column(START_KEY_MARKER), new Column(END_KEY_MARKER));
+            }
+            if (orderBy) {
+                delete.setOrderByElements(orderByColumns(getLoopKeyColumns(delete.getTable(), config), true));
+            }
+            delete.setLimit(rowLimit);
+        } else if (stmt instanceof Update) {
+            Update update = (Update) stmt;
+            if (ranged) {
+                addPageConditionToUpdate(update, config, new Column(START_KEY_MARKER), new Column(END_KEY_MARKER));
+            }
+            if (orderBy) {
+                update.setOrderByElements(orderByColumns(getLoopKeyColumns(update.getTable(), config), true));
+            }
+            update.setLimit(rowLimit);
+        } else {
+            throw new RuntimeException("Unsupported SQL statement type for limit loop: " + stmt.getClass().getName());
+        }
+        return toTemplate(stmt.toString());
+    }
+
+    /**
+     * 不绑定参数值判断处理过的行是否不会再次满足条件，参数视为未知值
+     *
+     * @see #excludesUpdatedRows(String, List)
+     */
+    public static boolean excludesUpdatedRows(String sql) {
+        return excludesUpdatedRows(sql, Collections.emptyList());
+    }
+
+    /**
+     * 处理过的行是否不会再次满足条件：DELETE 总是满足；
+     * UPDATE 只有能证明更新后的行不再满足 WHERE 条件时才满足，即某个 SET 列被设为常量或参数，
+     * 且 WHERE 的某个 AND 条件对该值不成立，例如：
+     * <ul>
+     *     <li>SET status = 'archived' WHERE status = 'inactive'</li>
+     *     <li>SET status = 'archived' WHERE status &lt;&gt; 'archived'</li>
+     *     <li>SET status = 'archived' WHERE status IN ('inactive', 'expired') 或 status IS NULL</li>
+     *     <li>SET deleted_at = NULL WHERE deleted_at IS NOT NULL</li>
+     * </ul>
+     * 参数按 parameters 中对应位置的值比较，只比较字符串和数字，SET 的值为表达式或其他类型的参数时无法证明，返回 false。
+     * LIMIT_LOOP 依赖此条件结束循环，CTID 依赖此条件避免更新后移动到后续数据块的行被重复更新
+     *
+     * @param parameters 按 ? 出现顺序绑定的参数值
+     */
+    public static boolean excludesUpdatedRows(String sql, List<Object> parameters) {
+        Statement stmt = parse(sql);
+        if (stmt instanceof Delete) {
+            return true;
+        }
+        if (!(stmt instanceof Update)) {
+            return false;
+        }
+        Update update = (Update) stmt;
+        if (update.getWhere() == null) {
+            return false;
+        }
+        List<Expression> conditions = new ArrayList<>();
+        collectConjuncts(update.getWhere(), conditions);
+        List<Column> columns = update.getColumns();
+        List<Expression> values = update.getExpressions();
+        for (int i = 0; i < columns.size() && i < values.size(); i++) {
+            Object value = valueOf(values.get(i), parameters);
+            if (value == UNKNOWN_VALUE) {
+                continue;
+            }
+            for (Expression condition : conditions) {
+                if (excludes(condition, columns.get(i).getColumnName(), value, parameters)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 拆分顶层的 AND 条件，OR 条件作为整体
+     */
+    private static void collectConjuncts(Expression expression, List<Expression> conditions) {
+        if (expression instanceof Parenthesis) {
+            collectConjuncts(((Parenthesis) expression).getExpression(), conditions);
+        } else if (expression instanceof AndExpression) {
+            collectConjuncts(((AndExpression) expression).getLeftExpression(), conditions);
+            collectConjuncts(((AndExpression) expression).getRightExpression(), conditions);
+        } else {
+            conditions.add(expression);
+        }
+    }
+
+    /**
+     * 列被设为 value 后，条件 condition 是否一定不成立（为 false 或 NULL）
+     */
+    private static boolean excludes(Expression condition, String column, Object value, List<Object> parameters) {
+        if (condition instanceof IsNullExpression) {
+            IsNullExpression isNull = (IsNullExpression) condition;
+            // 设为 NULL 后 IS NOT NULL 不成立，设为非 NULL 值后 IS NULL 不成立
+            return isColumn(isNull.getLeftExpression(), column) && isNull.isNot() == (value == null);
+        }
+        if (value == null) {
+            // 与 NULL 的比较结果为 NULL
+            if (condition instanceof ComparisonOperator) {
+                BinaryExpression comparison = (BinaryExpression) condition;
+                return isColumn(comparison.getLeftExpression(), column) || isColumn(comparison.getRightExpression(), column);
+            }
+            return condition instanceof InExpression && isColumn(((InExpression) condition).getLeftExpression(), column);
+        }
+        if (condition instanceof EqualsTo || condition instanceof NotEqualsTo) {
+            BinaryExpression comparison = (BinaryExpression) condition;
+            Object other;
+            if (isColumn(comparison.getLeftExpression(), column)) {
+                other = valueOf(comparison.getRightExpression(), parameters);
+            } else if (isColumn(comparison.getRightExpression(), column)) {
+                other = valueOf(comparison.getLeftExpression(), parameters);
+            } else {
+                return false;
+            }
+            return condition instanceof EqualsTo ? valuesDiffer(value, other) : valuesEqual(value, other);
+        }
+        if (condition instanceof InExpression) {
+            InExpression in = (InExpression) condition;
+            if (in.isNot() || !isColumn(in.getLeftExpression(), column)
+                    || !(in.getRightItemsList() instanceof ExpressionList)) {
+                return false;
+            }
+            for (Expression item : ((ExpressionList) in.getRightItemsList()).getExpressions()) {
+                if (!valuesDiffer(value, valueOf(item, parameters))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isColumn(Expression expression, String column) {
+        return expression instanceof Column
+                && unquote(((Column) expression).getColumnName()).equalsIgnoreCase(unquote(column));
+    }
+
+    private static String unquote(String identifier) {
+        if (identifier.length() > 1 && (identifier.charAt(0) == '"' || identifier.charAt(0) == '`'
+                || identifier.charAt(0) == '[')) {
+            return identifier.substring(1, identifier.length() - 1);
+        }
+        return identifier;
+    }
+
+    /**
+     * 常量或参数的值：字符串为 String，数字为 BigDecimal，NULL 为 null，其他表达式和其他类型的参数为 {@link #UNKNOWN_VALUE}
+     */
+    private static Object valueOf(Expression expression, List<Object> parameters) {
+        if (expression instanceof NullValue) {
+            return null;
+        }
+        if (expression instanceof StringValue) {
+            return ((StringValue) expression).getValue();
+        }
+        if (expression instanceof LongValue || expression instanceof DoubleValue) {
+            return toNumber(expression.toString());
+        }
+        if (expression instanceof JdbcParameter) {
+            Integer index = ((JdbcParameter) expression).getIndex();
+            if (index == null || index < 1 || index > parameters.size()) {
+                return UNKNOWN_VALUE;
+            }
+            Object parameter = parameters.get(index - 1);
+            if (parameter == null || parameter instanceof String) {
+                return parameter;
+            }
+            return parameter instanceof Number ? toNumber(parameter.toString()) : UNKNOWN_VALUE;
+        }
+        return UNKNOWN_VALUE;
+    }
+
+    private static Object toNumber(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return UNKNOWN_VALUE;
+        }
+    }
+
+    /**
+     * 两个值是否一定相等：同为数字且数值相等，或同为字符串且完全相同
+     */
+    private static boolean valuesEqual(Object left, Object right) {
+        if (left instanceof BigDecimal && right instanceof BigDecimal) {
+            return ((BigDecimal) left).compareTo((BigDecimal) right) == 0;
+        }
+        return left instanceof String && left.equals(right);
+    }
+
+    /**
+     * 两个值是否一定不相等：同为数字且数值不等，或同为字符串且忽略大小写和尾部空格后仍不同（兼容不区分大小写的排序规则）。
+     * 类型不同或值未知时无法确定，返回 false
+     */
+    private static boolean valuesDiffer(Object left, Object right) {
+        if (left instanceof BigDecimal && right instanceof BigDecimal) {
+            return ((BigDecimal) left).compareTo((BigDecimal) right) != 0;
+        }
+        return left instanceof String && right instanceof String
+                && !normalize((String) left).equals(normalize((String) right));
+    }
+
+    private static String normalize(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return value.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 生成按 ctid 范围分页的 SQL 模板（PostgreSQL），范围包含开始、不包含结束
+     * <pre>
+     * DELETE FROM ... WHERE ... AND ctid &gt;= CAST(? AS tid) AND ctid &lt; CAST(? AS tid)
+     * </pre>
+     */
+    public static SqlTemplate getCtidPageTemplate(String sql) {
+        Statement stmt = parse(indexParameters(sql));
+        if (stmt instanceof Delete) {
+            Delete delete = (Delete) stmt;
+            delete.setWhere(addCtidCondition(delete.getWhere(), delete.getTable()));
+        } else if (stmt instanceof Update) {
+            Update update = (Update) stmt;
+            update.setWhere(addCtidCondition(update.getWhere(), update.getTable()));
+        } else {
+            throw new RuntimeException("Unsupported SQL statement type for ctid: " + stmt.getClass().getName());
+        }
+        return toTemplate(stmt.toString());
+    }
+
+    /**
+     * 生成归档分页 SQL 模板，将 DELETE 分页范围内的行写入归档表，分页范围与 {@link #getRowNumberPageTemplate} 相同
+     * <pre>
+     * INSERT INTO archive_table SELECT * FROM ... WHERE ... AND id BETWEEN ? AND ?
+     * </pre>
+     * 表有别名或多表删除时只写入被删除表的列（SELECT t.*）
+     */
+    public static SqlTemplate getArchivePageTemplate(String sql, PageConfig config, String archiveTable) {
+        if (StrUtil.isBlank(archiveTable) || !ARCHIVE_TABLE_PATTERN.matcher(archiveTable).matches()) {
+            throw new IllegalArgumentException("Invalid archive table: " + archiveTable);
+        }
+        String pageSql = config.isCompositeKey()
+                ? addTuplePageCondition(indexParameters(sql), config)
+                : addPageCondition(indexParameters(sql), config,
+                new Column(START_KEY_MARKER), new Column(END_KEY_MARKER));
+        Statement stmt = parse(pageSql);
+        if (!(stmt instanceof Delete)) {
+            throw new RuntimeException("Unsupported SQL statement type for archive: " + stmt.getClass().getName());
+        }
+        Delete delete = (Delete) stmt;
+        // DELETE t FROM table t JOIN ... 的形式，被删除的表在 tables 中
+        Table target = delete.getTables() != null && !delete.getTables().isEmpty()
+                ? delete.getTables().get(0) : delete.getTable();
+        boolean joined = delete.getJoins() != null && !delete.getJoins().isEmpty();
+        Select select = convertDeleteToSelect(delete);
+        if (joined || target != delete.getTable() || target.getAlias() != null) {
+            String name = target.getAlias() != null ? target.getAlias().getName() : target.getFullyQualifiedName();
+            ((PlainSelect) select.getSelectBody())
+                    .setSelectItems(Collections.singletonList(new AllTableColumns(new Table(name))));
+        }
+        return toTemplate("INSERT INTO " + archiveTable + " " + select);
+    }
+
+    /**
+     * 生成查询表数据块数的 SQL 模板（PostgreSQL），统计信息过期时以表文件的实际大小为准
+     * <pre>
+     * SELECT relpages AS k0, reltuples AS k1, pg_relation_size(oid) / block_size AS k2 FROM pg_class WHERE oid = 't'::regclass
+     * </pre>
+     */
+    public static SqlTemplate getCtidRangeTemplate(String sql) {
+        Statement stmt = parse(sql);
+        Table table;
+        if (stmt instanceof Delete) {
+            table = ((Delete) stmt).getTable();
+        } else if (stmt instanceof Update) {
+            table = ((Update) stmt).getTable();
+        } else {
+            throw new RuntimeException("Unsupported SQL statement type for ctid: " + stmt.getClass().getName());
+        }
+        String tableName = table.getFullyQualifiedName().replace("'", "''");
+        return new SqlTemplate("SELECT c.relpages AS k0, c.reltuples AS k1,"
+                + " pg_relation_size(c.oid) / current_setting('block_size')::int AS k2"
+                + " FROM pg_class c WHERE c.oid = CAST('" + tableName + "' AS regclass)", new int[0]);
+    }
+
+    private static Expression addCtidCondition(Expression where, Table table) {
+        String alias = table.getAlias() != null ? table.getAlias().getName() : null;
+        String ctid = StrUtil.isBlank(alias) ? "ctid" : alias + ".ctid";
+        Expression condition = new Column(ctid + " >= CAST(" + START_KEY_MARKER + " AS tid) AND "
+                + ctid + " < CAST(" + END_KEY_MARKER + " AS tid)");
+        return where == null ? condition : new AndExpression(where, condition);
+    }
+
+    private static Statement parse(String sql) {
+        try {
+            return CCJSqlParserUtil.parse(sql);
+        } catch (Throwable throwable) {
+            log.error("Failed to parse sql: {}", sql, throwable);
+            throw new RuntimeException("Failed to parse sql", throwable);
+        }
+    }
+
+    /**
+     * 循环执行时排序使用的主键列，没有指定主键时与分页条件一致使用 id 或 别名.id
+     */
+    private static List<String> getLoopKeyColumns(Table table, PageConfig config) {
+        if (!StrUtil.isBlank(config.getPrimaryId())) {
+            return getKeyColumns(config);
+        }
+        String alias = table.getAlias() != null ? table.getAlias().getName() : null;
+        return Collections.singletonList(StrUtil.isBlank(alias) ? "id" : alias + ".id");
+    }
+
+    /**
+     * 给 SQL 中的每个 ? 加上序号（?1, ?2 ...），改写后仍能知道每个参数对应原始 SQL 中的第几个参数
+     */
+    private static String indexParameters(String sql) {
+        StringBuilder builder = new StringBuilder(sql.length() + 16);
+        int parameterIndex = 0;
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                int end = skipQuoted(sql, i);
+                builder.append(sql, i, end);
+                i = end;
+                continue;
+            }
+            builder.append(c);
+            if (c == '?') {
+                builder.append(++parameterIndex);
+            }
+            i++;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 将改写后的 SQL 转换为模板：?n 还原为 ?，占位标记替换为 ? 并记录为新增参数
+     */
+    private static SqlTemplate toTemplate(String rewrittenSql) {
+        StringBuilder builder = new StringBuilder(rewrittenSql.length());
+        List<Integer> parameterIndexes = new ArrayList<>();
+        int length = rewrittenSql.length();
+        int i = 0;
+        while (i < length) {
+            char c = rewrittenSql.charAt(i);
+            if (c == '\'') {
+                int end = skipQuoted(rewrittenSql, i);
+                builder.append(rewrittenSql, i, end);
+                i = end;
+            } else if (c == '?') {
+                int end = i + 1;
+                while (end < length && Character.isDigit(rewrittenSql.charAt(end))) {
+                    end++;
+                }
+                if (end == i + 1) {
+                    throw new IllegalStateException("Unindexed parameter in sql: " + rewrittenSql);
+                }
+                parameterIndexes.add(Integer.parseInt(rewrittenSql.substring(i + 1, end)) - 1);
+                builder.append('?');
+                i = end;
+            } else if (rewrittenSql.startsWith(START_KEY_MARKER, i)) {
+                parameterIndexes.add(SqlTemplate.START_KEY);
+                builder.append('?');
+                i += START_KEY_MARKER.length();
+            } else if (rewrittenSql.startsWith(END_KEY_MARKER, i)) {
+                parameterIndexes.add(SqlTemplate.END_KEY);
+                builder.append('?');
+                i += END_KEY_MARKER.length();
+            } else if (rewrittenSql.startsWith(LAST_KEY_MARKER, i)) {
+                parameterIndexes.add(SqlTemplate.LAST_KEY);
+                builder.append('?');
+                i += LAST_KEY_MARKER.length();
+            } else if (isComponentMarker(rewrittenSql, i, START_KEY_COMPONENT_MARKER)) {
+                int end = rewrittenSql.indexOf("__", i + START_KEY_COMPONENT_MARKER.length());
+                parameterIndexes.add(SqlTemplate.startKey(
+                        Integer.parseInt(rewrittenSql.substring(i + START_KEY_COMPONENT_MARKER.length(), end))));
+                builder.append('?');
+                i = end + 2;
+            } else if (isComponentMarker(rewrittenSql, i, END_KEY_COMPONENT_MARKER)) {
+                int end = rewrittenSql.indexOf("__", i + END_KEY_COMPONENT_MARKER.length());
+                parameterIndexes.add(SqlTemplate.endKey(
+                        Integer.parseInt(rewrittenSql.substring(i + END_KEY_COMPONENT_MARKER.length(), end))));
+                builder.append('?');
+                i = end + 2;
+            } else {
+                builder.append(c);
+                i++;
+            }
+        }
+
+        int[] indexes = new int[parameterIndexes.size()];
+        for (int j = 0; j < indexes.length; j++) {
+            indexes[j] = parameterIndexes.get(j);
+        }
+        return new SqlTemplate(builder.toString(), indexes);
+    }
+
+    private static boolean isComponentMarker(String sql, int start, String marker) {
+        int digit = start + marker.length();
+        return sql.startsWith(marker, start) && digit < sql.length() && Character.isDigit(sql.charAt(digit));
+    }
+
+    /**
+     * 跳过单引号字符串常量，返回其结束位置（不包含）
+     */
+    private static int skipQuoted(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    private static String addPageCondition(String sql, PageConfig config, Expression start, Expression end) {
         Statement stmt;
         try {
             stmt = CCJSqlParserUtil.parse(sql);
@@ -49,28 +647,153 @@ public class RowNumberSqlParser {
         // 如果是 DELETE 语句，直接在 DELETE 上添加分页条件
         if (stmt instanceof Delete) {
             Delete delete = (Delete) stmt;
-            addPageConditionToDelete(delete, config, pageResult);
+            addPageConditionToDelete(delete, config, start, end);
             return delete.toString();
         } else if (stmt instanceof Update) {
             // 如果是 UPDATE 语句，直接在 UPDATE 上添加分页条件
             Update update = (Update) stmt;
-            addPageConditionToUpdate(update, config, pageResult);
+            addPageConditionToUpdate(update, config, start, end);
             return update.toString();
+        } else if (stmt instanceof Insert) {
+            // 如果是 INSERT ... SELECT 语句，在源表查询上添加分页条件
+            Insert insert = (Insert) stmt;
+            addPageConditionToInsert(insert, config, start, end);
+            return insert.toString();
         } else if (stmt instanceof Select) {
             // 如果是 SELECT 语句，使用原来的逻辑
             Select select = (Select) stmt;
-            sqlToRowNumberPage(select, config, pageResult);
+            sqlToRowNumberPage(select, config, start, end);
             return select.toString();
         } else {
             throw new RuntimeException("Unsupported SQL statement type: " + stmt.getClass().getName());
         }
     }
 
+    /**
+     * 添加复合主键的分页条件 (a, b) &gt;= (?, ?) AND (a, b) &lt;= (?, ?)
+     */
+    private static String addTuplePageCondition(String sql, PageConfig config) {
+        Statement stmt;
+        try {
+            stmt = CCJSqlParserUtil.parse(sql);
+        } catch (Throwable throwable) {
+            log.error("Failed to parse sql: {}", sql, throwable);
+            throw new RuntimeException("Failed to parse sql", throwable);
+        }
+
+        List<String> columns = getKeyColumns(config);
+        Expression condition = new Parenthesis(new Column(
+                tupleCompare(columns, START_KEY_COMPONENT_MARKER, ">", isExpandedKeyComparison(config)) + " AND "
+                        + tupleCompare(columns, END_KEY_COMPONENT_MARKER, "<", isExpandedKeyComparison(config))));
+        if (stmt instanceof Delete) {
+            Delete delete = (Delete) stmt;
+            delete.setWhere(delete.getWhere() == null ? condition : new AndExpression(delete.getWhere(), condition));
+            return delete.toString();
+        } else if (stmt instanceof Update) {
+            Update update = (Update) stmt;
+            update.setWhere(update.getWhere() == null ? condition : new AndExpression(update.getWhere(), condition));
+            return update.toString();
+        } else if (stmt instanceof Insert) {
+            PlainSelect selectBody = getInsertSelect((Insert) stmt);
+            selectBody.setWhere(selectBody.getWhere() == null
+                    ? condition : new AndExpression(selectBody.getWhere(), condition));
+            return stmt.toString();
+        } else if (stmt instanceof Select) {
+            PlainSelect selectBody = (PlainSelect) ((Select) stmt).getSelectBody();
+            selectBody.setWhere(selectBody.getWhere() == null
+                    ? condition : new AndExpression(selectBody.getWhere(), condition));
+            selectBody.setOrderByElements(orderByColumns(columns, true));
+            return stmt.toString();
+        } else {
+            throw new RuntimeException("Unsupported SQL statement type: " + stmt.getClass().getName());
+        }
+    }
+
+    /**
+     * 复合主键的比较条件（包含边界），operator 为 &gt; 或 &lt;
+     * <ul>
+     *     <li>行值比较：(a, b) &gt;= (?, ?)</li>
+     *     <li>展开形式：a &gt;= ? AND (a &gt; ? OR a = ? AND b &gt;= ?)，第一列的条件单独列出以便使用索引范围扫描</li>
+     * </ul>
+     */
+    private static String tupleCompare(List<String> columns, String markerPrefix, String operator, boolean expanded) {
+        if (!expanded) {
+            StringBuilder left = new StringBuilder("(");
+            StringBuilder right = new StringBuilder("(");
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    left.append(", ");
+                    right.append(", ");
+                }
+                left.append(columns.get(i));
+                right.append(markerPrefix).append(i).append("__");
+            }
+            return left + ") " + operator + "= " + right + ")";
+        }
+        StringBuilder condition = new StringBuilder();
+        condition.append(columns.get(0)).append(' ').append(operator).append("= ").append(markerPrefix).append("0__");
+        StringBuilder expandedCondition = new StringBuilder();
+        int last = columns.size() - 1;
+        for (int i = 0; i < last; i++) {
+            String marker = markerPrefix + i + "__";
+            expandedCondition.append('(').append(columns.get(i)).append(' ').append(operator).append(' ').append(marker)
+                    .append(" OR ").append(columns.get(i)).append(" = ").append(marker).append(" AND ");
+        }
+        expandedCondition.append(columns.get(last)).append(' ').append(operator).append("= ")
+                .append(markerPrefix).append(last).append("__");
+        for (int i = 0; i < last; i++) {
+            expandedCondition.append(')');
+        }
+        return condition.append(" AND ").append(expandedCondition).toString();
+    }
+
+    private static Dialect getDialect(PageConfig config) {
+        return config.getDialect() != null ? config.getDialect() : Dialects.STANDARD;
+    }
+
+    /**
+     * 数据库不支持行值比较时，复合主键的分页条件总是使用展开形式
+     */
+    private static boolean isExpandedKeyComparison(PageConfig config) {
+        return config.isExpandedKeyComparison() || !getDialect(config).supportsRowValueComparison();
+    }
+
+    /**
+     * 复合主键的各列，按逗号分隔，列名按方言的引号引用
+     */
+    public static List<String> getKeyColumns(PageConfig config) {
+        Dialect dialect = getDialect(config);
+        List<String> columns = IdentifierUtils.split(config.getPrimaryId());
+        for (int i = 0; i < columns.size(); i++) {
+            columns.set(i, IdentifierUtils.quote(columns.get(i), dialect));
+        }
+        return columns;
+    }
+
+    /**
+     * 单列主键按方言的引号引用后的列名，没有指定主键时返回 null
+     */
+    private static String getKeyColumn(PageConfig config) {
+        String primaryId = config.getPrimaryId();
+        return StrUtil.isBlank(primaryId) ? null : IdentifierUtils.quote(primaryId.trim(), getDialect(config));
+    }
+
+    private static List<OrderByElement> orderByColumns(List<String> columns, boolean asc) {
+        List<OrderByElement> orderByElements = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            OrderByElement orderBy = new OrderByElement();
+            orderBy.setExpression(new Column(column));
+            orderBy.setAsc(asc);
+            orderByElements.add(orderBy);
+        }
+        return orderByElements;
+    }
+
     /**
      * 在 DELETE 语句上添加分页条件（BETWEEN ... AND ...）
      */
-    private static void addPageConditionToDelete(Delete delete, PageConfig config, PageResult pageResult) {
-        String name = config.getPrimaryId();
+    private static void addPageConditionToDelete(Delete delete, PageConfig config, Expression start, Expression end) {
+        String name = getKeyColumn(config);
         // 如果没指定主键ID，尝试从表名获取
         if (StrUtil.isBlank(name)) {
             Table table = delete.getTable();
@@ -81,8 +804,8 @@ public class RowNumberSqlParser {
         // 构建 BETWEEN 条件
         Between between = new Between();
         between.setLeftExpression(new Column(name));
-        between.setBetweenExpressionStart(new LongValue(pageResult.getStartKey()));
-        between.setBetweenExpressionEnd(new LongValue(pageResult.getEndKey()));
+        between.setBetweenExpressionStart(start);
+        between.setBetweenExpressionEnd(end);
 
         // 将 BETWEEN 条件添加到 WHERE 子句
         if (delete.getWhere() == null) {
@@ -97,8 +820,8 @@ public class RowNumberSqlParser {
     /**
      * 在 UPDATE 语句上添加分页条件（BETWEEN ... AND ...）
      */
-    private static void addPageConditionToUpdate(Update update, PageConfig config, PageResult pageResult) {
-        String name = config.getPrimaryId();
+    private static void addPageConditionToUpdate(Update update, PageConfig config, Expression start, Expression end) {
+        String name = getKeyColumn(config);
         // 如果没指定主键ID，尝试从表名获取
         if (StrUtil.isBlank(name)) {
             Table table = update.getTable();
@@ -109,8 +832,8 @@ public class RowNumberSqlParser {
         // 构建 BETWEEN 条件
         Between between = new Between();
         between.setLeftExpression(new Column(name));
-        between.setBetweenExpressionStart(new LongValue(pageResult.getStartKey()));
-        between.setBetweenExpressionEnd(new LongValue(pageResult.getEndKey()));
+        between.setBetweenExpressionStart(start);
+        between.setBetweenExpressionEnd(end);
 
         // 将 BETWEEN 条件添加到 WHERE 子句
         if (update.getWhere() == null) {
@@ -122,6 +845,86 @@ public class RowNumberSqlParser {
         }
     }
 
+    /**
+     * 在 INSERT ... SELECT 语句的源表查询上添加分页条件（BETWEEN ... AND ...）
+     */
+    private static void addPageConditionToInsert(Insert insert, PageConfig config, Expression start, Expression end) {
+        PlainSelect selectBody = getInsertSelect(insert);
+        String name = config.getPrimaryId();
+        // 如果没指定主键ID，尝试从源表别名获取
+        if (StrUtil.isBlank(name)) {
+            String alias = getTableAlias(insert.getSelect());
+            name = StrUtil.isBlank(alias) ? "id" : alias + ".id";
+        }
+
+        // 构建 BETWEEN 条件
+        Between between = new Between();
+        between.setLeftExpression(new Column(name));
+        between.setBetweenExpressionStart(start);
+        between.setBetweenExpressionEnd(end);
+
+        // 将 BETWEEN 条件添加到 WHERE 子句
+        if (selectBody.getWhere() == null) {
+            selectBody.setWhere(between);
+        } else {
+            selectBody.setWhere(new AndExpression(selectBody.getWhere(), between));
+        }
+    }
+
+    /**
+     * INSERT ... SELECT 语句的源表查询。按源表主键范围切分后各分页的结果合起来必须等于原查询的结果，
+     * 因此只支持单个查询，不支持 DISTINCT、GROUP BY、HAVING、LIMIT / TOP / FETCH / OFFSET、UNION，
+     * 以及 SELECT 中的聚合函数和窗口函数
+     */
+    private static PlainSelect getInsertSelect(Insert insert) {
+        Select select = insert.getSelect();
+        if (select == null || !(select.getSelectBody() instanceof PlainSelect)) {
+            throw new RuntimeException("Unsupported INSERT statement, only INSERT ... SELECT from a single query "
+                    + "can be split by key ranges: " + insert);
+        }
+        PlainSelect selectBody = (PlainSelect) select.getSelectBody();
+        if (selectBody.getDistinct() != null || selectBody.getGroupBy() != null || selectBody.getHaving() != null
+                || selectBody.getLimit() != null || selectBody.getTop() != null || selectBody.getFetch() != null
+                || selectBody.getOffset() != null) {
+            throw new RuntimeException("Unsupported INSERT ... SELECT, DISTINCT / GROUP BY / HAVING / LIMIT / TOP / "
+                    + "FETCH / OFFSET can not be split by key ranges: " + insert);
+        }
+        if (hasAggregateOrAnalytic(selectBody.getSelectItems())) {
+            throw new RuntimeException("Unsupported INSERT ... SELECT, aggregate and window functions "
+                    + "can not be split by key ranges: " + insert);
+        }
+        return selectBody;
+    }
+
+    /**
+     * SELECT 中是否有聚合函数或窗口函数，这两种函数的结果依赖所有行，按主键范围切分后各分页的结果不同。
+     * 子查询中的函数按行计算，不影响切分
+     */
+    private static boolean hasAggregateOrAnalytic(List<SelectItem> selectItems) {
+        boolean[] found = {false};
+        ExpressionVisitorAdapter visitor = new ExpressionVisitorAdapter() {
+            @Override
+            public void visit(Function function) {
+                // count(*)、count(DISTINCT ...) 以及常见的聚合函数名
+                if (function.isAllColumns() || function.isDistinct()
+                        || function.getName() != null && AGGREGATE_FUNCTIONS.contains(function.getName().toLowerCase(Locale.ROOT))) {
+                    found[0] = true;
+                }
+                super.visit(function);
+            }
+
+            @Override
+            public void visit(AnalyticExpression expr) {
+                found[0] = true;
+            }
+        };
+        for (SelectItem item : selectItems) {
+            if (item instanceof SelectExpressionItem) {
+                ((SelectExpressionItem) item).getExpression().accept(visitor);
+            }
+        }
+        return found[0];
+    }
 
     public static Select getStatement(String sql) {
         Statement stmt;
@@ -140,6 +943,11 @@ public class RowNumberSqlParser {
         } else if (stmt instanceof Update) {
             // 如果是 UPDATE 语句，转换为 SELECT 语句
             select = convertUpdateToSelect((Update) stmt);
+        } else if (stmt instanceof Insert) {
+            // 如果是 INSERT ... SELECT 语句，按源表查询规划分页
+            Insert insert = (Insert) stmt;
+            getInsertSelect(insert);
+            select = insert.getSelect();
         } else if (stmt instanceof Select) {
             select = (Select) stmt;
         } else {
@@ -238,8 +1046,8 @@ public class RowNumberSqlParser {
         return null;
     }
 
-    private static void sqlToRowNumberPage(Select select, PageConfig config, PageResult pageResult) {
-        String name = config.getPrimaryId();
+    private static void sqlToRowNumberPage(Select select, PageConfig config, Expression start, Expression end) {
+        String name = getKeyColumn(config);
         // 如果没指定主键ID 则使用表的第一个别名id
         if (StrUtil.isBlank(name)) {
             String alias = getTableAlias(select);
@@ -249,8 +1057,8 @@ public class RowNumberSqlParser {
 
         Between between = new Between();
         between.setLeftExpression(new Column(name));
-        between.setBetweenExpressionStart(new LongValue(pageResult.getStartKey()));
-        between.setBetweenExpressionEnd(new LongValue(pageResult.getEndKey()));
+        between.setBetweenExpressionStart(start);
+        between.setBetweenExpressionEnd(end);
         if (selectBody.getWhere() == null) {
             selectBody.setWhere(between);
         } else {
@@ -266,7 +1074,7 @@ public class RowNumberSqlParser {
     }
 
     private static void sqlToRowNumber(Select select, PageConfig config) {
-        String name = config.getPrimaryId();
+        String name = getKeyColumn(config);
         // 如果没指定主键ID 则使用表的第一个别名id
         if (StrUtil.isBlank(name)) {
             String alias = getTableAlias(select);
@@ -280,40 +1088,139 @@ public class RowNumberSqlParser {
         }
 
 
+        Dialect dialect = getDialect(config);
         SelectBody selectBody = select.getSelectBody();
         List<SelectItem> subCountItem = new ArrayList<>();
         subCountItem.add(new SelectExpressionItem(new Column(name + " AS id")));
-        subCountItem.add(new SelectExpressionItem(new Column("row_number() OVER ( ORDER BY " + name + " ) AS row_num ")));
+        subCountItem.add(new SelectExpressionItem(new Column("row_number() OVER (ORDER BY " + name + ") AS row_num")));
         ((PlainSelect) selectBody).setSelectItems(subCountItem);
         PlainSelect plainSelect = new PlainSelect();
         SubSelect subSelect = new SubSelect();
         subSelect.setSelectBody(selectBody);
-        subSelect.setAlias(new Alias("t"));
+        subSelect.setAlias(dialect.tableAlias("t"));
         plainSelect.setFromItem(subSelect);
 
         // 设置查询条件
+        Column pageNum = new Column("floor((row_num - 1) / " + pageSize + ")");
+        SelectExpressionItem pageNumItem = new SelectExpressionItem(pageNum);
+        pageNumItem.setAlias(new Alias(PAGE_NUM));
         List<SelectItem> pageCountItem = new ArrayList<>();
-        pageCountItem.add(new SelectExpressionItem(new Column("floor(( row_num - 1 ) / " + pageSize + " )  AS page_num")));
-        pageCountItem.add(new SelectExpressionItem(new Column("min( id ) AS start_key")));
-        pageCountItem.add(new SelectExpressionItem(new Column("max( id ) AS end_key")));
+        pageCountItem.add(pageNumItem);
+        pageCountItem.add(new SelectExpressionItem(new Column("min(id) AS start_key")));
+        pageCountItem.add(new SelectExpressionItem(new Column("max(id) AS end_key")));
         pageCountItem.add(new SelectExpressionItem(new Column("count(*) AS page_size")));
         plainSelect.setSelectItems(pageCountItem);
 
-        // 设置分组条件
-        Column groupByColumn = new Column("page_num");
+        // 设置分组条件（Oracle、SQL Server 的 GROUP BY 不能引用列别名，由方言决定按别名还是表达式分组）
         GroupByElement groupBy = new GroupByElement();
-        groupBy.addGroupByExpressions(groupByColumn);
+        groupBy.addGroupByExpressions(dialect.pageNumGroupBy(PAGE_NUM, pageNum));
         plainSelect.setGroupByElement(groupBy);
 
-        // 设置排序
+        // 设置排序（按分组后的页号排序，不能直接使用分组外的 id 列）
         OrderByElement orderBy = new OrderByElement();
-        orderBy.setExpression(new Column("id"));
+        orderBy.setExpression(new Column(PAGE_NUM));
         orderBy.setAsc(true);
         plainSelect.setOrderByElements(Collections.singletonList(orderBy));
 
         select.setSelectBody(plainSelect);
     }
 
+    private static void sqlToKeyset(Select select, PageConfig config, boolean firstPage) {
+        String name = getKeyColumn(config);
+        // 如果没指定主键ID 则使用表的第一个别名id
+        if (StrUtil.isBlank(name)) {
+            String alias = getTableAlias(select);
+            name = StrUtil.isBlank(alias) ? "id" : alias + ".id";
+        }
+
+        // 如果分页大小设置不合理则强制为1000
+        int pageSize = config.getPageSize();
+        if (pageSize <= 1) {
+            pageSize = 1000;
+        }
+
+        // 内层按主键顺序取出上一页之后的 pageSize 个主键
+        PlainSelect selectBody = (PlainSelect) select.getSelectBody();
+        selectBody.setSelectItems(Collections.singletonList(new SelectExpressionItem(new Column(name + " AS id"))));
+        if (!firstPage) {
+            GreaterThan greaterThan = new GreaterThan();
+            greaterThan.setLeftExpression(new Column(name));
+            greaterThan.setRightExpression(new Column(LAST_KEY_MARKER));
+            if (selectBody.getWhere() == null) {
+                selectBody.setWhere(greaterThan);
+            } else {
+                selectBody.setWhere(new AndExpression(selectBody.getWhere(), greaterThan));
+            }
+        }
+        OrderByElement orderBy = new OrderByElement();
+        orderBy.setExpression(new Column(name));
+        orderBy.setAsc(true);
+        selectBody.setOrderByElements(Collections.singletonList(orderBy));
+        getDialect(config).limit(selectBody, pageSize, 0);
+
+        // 外层汇总出当前页的范围
+        PlainSelect plainSelect = new PlainSelect();
+        SubSelect subSelect = new SubSelect();
+        subSelect.setSelectBody(selectBody);
+        subSelect.setAlias(getDialect(config).tableAlias("t"));
+        plainSelect.setFromItem(subSelect);
+
+        List<SelectItem> pageItem = new ArrayList<>();
+        pageItem.add(new SelectExpressionItem(new Column("min(id) AS start_key")));
+        pageItem.add(new SelectExpressionItem(new Column("max(id) AS end_key")));
+        pageItem.add(new SelectExpressionItem(new Column("count(*) AS page_size")));
+        plainSelect.setSelectItems(pageItem);
+
+        select.setSelectBody(plainSelect);
+    }
+
+    private static void sqlToTupleProbe(Select select, PageConfig config, TupleProbe probe) {
+        List<String> columns = getKeyColumns(config);
+
+        // 如果分页大小设置不合理则强制为1000
+        int pageSize = config.getPageSize();
+        if (pageSize <= 1) {
+            pageSize = 1000;
+        }
+
+        PlainSelect selectBody = (PlainSelect) select.getSelectBody();
+        List<SelectItem> keyItems = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            keyItems.add(new SelectExpressionItem(new Column(columns.get(i) + " AS k" + i)));
+        }
+        selectBody.setSelectItems(keyItems);
+        if (probe != TupleProbe.FIRST) {
+            Expression condition = new Parenthesis(new Column(
+                    tupleCompare(columns, START_KEY_COMPONENT_MARKER, ">", isExpandedKeyComparison(config))));
+            selectBody.setWhere(selectBody.getWhere() == null
+                    ? condition : new AndExpression(selectBody.getWhere(), condition));
+        }
+        selectBody.setOrderByElements(orderByColumns(columns, probe != TupleProbe.LAST));
+        if (probe == TupleProbe.NEXT) {
+            getDialect(config).limit(selectBody, 2, pageSize - 1);
+        } else {
+            getDialect(config).limit(selectBody, 1, 0);
+        }
+    }
+
+    private static void sqlToMinMax(Select select, PageConfig config) {
+        String name = getKeyColumn(config);
+        // 如果没指定主键ID 则使用表的第一个别名id
+        if (StrUtil.isBlank(name)) {
+            String alias = getTableAlias(select);
+            name = StrUtil.isBlank(alias) ? "id" : alias + ".id";
+        }
+
+        PlainSelect selectBody = (PlainSelect) select.getSelectBody();
+        List<SelectItem> rangeItem = new ArrayList<>();
+        rangeItem.add(new SelectExpressionItem(new Column("min(" + name + ") AS start_key")));
+        rangeItem.add(new SelectExpressionItem(new Column("max(" + name + ") AS end_key")));
+        rangeItem.add(new SelectExpressionItem(new Column("count(*) AS page_size")));
+        selectBody.setSelectItems(rangeItem);
+        // 聚合查询不需要排序
+        selectBody.setOrderByElements(null);
+    }
+
     private static void processSelectBody(SelectBody selectBody) {
         if (selectBody instanceof PlainSelect) {
             processPlainSelect((PlainSelect) selectBody);
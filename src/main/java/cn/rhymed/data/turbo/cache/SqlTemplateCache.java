@@ -0,0 +1,225 @@
+package cn.rhymed.data.turbo.cache;
+
+import cn.rhymed.data.turbo.RowNumberSqlParser;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SQL 模板缓存，按 MappedStatement ID + 原始 SQL 缓存解析改写后的分页规划 SQL 和分页 SQL 模板，
+ * 同一条语句重复执行时不再重复调用 JSqlParser 解析。
+ * 容量超限时按 LRU 淘汰，超过存活时间的条目在访问时失效
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class SqlTemplateCache {
+
+    private static final String ROW_NUMBER_SQL = "ROW_NUMBER_SQL";
+    private static final String KEYSET_FIRST_SQL = "KEYSET_FIRST_SQL";
+    private static final String KEYSET_NEXT_SQL = "KEYSET_NEXT_SQL";
+    private static final String MIN_MAX_SQL = "MIN_MAX_SQL";
+    private static final String TUPLE_PROBE_SQL = "TUPLE_PROBE_SQL_";
+    private static final String PAGE_SQL_TEMPLATE = "PAGE_SQL_TEMPLATE";
+    private static final String LIMIT_LOOP_SQL = "LIMIT_LOOP_SQL_";
+    private static final String CTID_RANGE_SQL = "CTID_RANGE_SQL";
+    private static final String CTID_PAGE_SQL_TEMPLATE = "CTID_PAGE_SQL_TEMPLATE";
+    private static final String ARCHIVE_PAGE_SQL_TEMPLATE = "ARCHIVE_PAGE_SQL_TEMPLATE_";
+
+    private static volatile SqlTemplateCache instance = new SqlTemplateCache(256, TimeUnit.HOURS.toMillis(1));
+
+    private final int maxSize;
+    private final long expireMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public SqlTemplateCache(int maxSize, long expireMillis) {
+        this.maxSize = Math.max(maxSize, 1);
+        this.expireMillis = expireMillis;
+        // accessOrder = true，即按访问顺序排序实现 LRU
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * 获取全局共享的缓存
+     */
+    public static SqlTemplateCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * 重新配置全局共享的缓存（由自动配置类调用）
+     *
+     * @param maxSize       最大缓存条目数
+     * @param expireSeconds 缓存存活时间（秒），小于等于 0 表示不过期
+     */
+    public static void configure(int maxSize, long expireSeconds) {
+        instance = new SqlTemplateCache(maxSize, expireSeconds > 0 ? TimeUnit.SECONDS.toMillis(expireSeconds) : 0);
+    }
+
+    /**
+     * 获取查询分页信息的 ROW_NUMBER SQL 模板
+     */
+    public SqlTemplate getRowNumberTemplate(String msId, String sql, PageConfig config) {
+        return get(key(ROW_NUMBER_SQL, msId, sql, config), () -> RowNumberSqlParser.getRowNumberTemplate(sql, config));
+    }
+
+    /**
+     * 获取逐页探测分页边界的 SQL 模板
+     */
+    public SqlTemplate getKeysetTemplate(String msId, String sql, PageConfig config, boolean firstPage) {
+        return get(key(firstPage ? KEYSET_FIRST_SQL : KEYSET_NEXT_SQL, msId, sql, config),
+                () -> RowNumberSqlParser.getKeysetTemplate(sql, config, firstPage));
+    }
+
+    /**
+     * 获取查询主键范围的 SQL 模板
+     */
+    public SqlTemplate getMinMaxTemplate(String msId, String sql, PageConfig config) {
+        return get(key(MIN_MAX_SQL, msId, sql, config), () -> RowNumberSqlParser.getMinMaxTemplate(sql, config));
+    }
+
+    /**
+     * 获取复合主键逐页探测分页边界的 SQL 模板
+     */
+    public SqlTemplate getTupleProbeTemplate(String msId, String sql, PageConfig config,
+                                             RowNumberSqlParser.TupleProbe probe) {
+        return get(key(TUPLE_PROBE_SQL + probe, msId, sql, config),
+                () -> RowNumberSqlParser.getTupleProbeTemplate(sql, config, probe));
+    }
+
+    /**
+     * 获取分页 SQL 模板
+     */
+    public SqlTemplate getPageSqlTemplate(String msId, String sql, PageConfig config) {
+        return get(key(PAGE_SQL_TEMPLATE, msId, sql, config), () -> RowNumberSqlParser.getRowNumberPageTemplate(sql, config));
+    }
+
+    /**
+     * 获取循环执行 LIMIT 的 SQL 模板
+     */
+    public SqlTemplate getLimitLoopTemplate(String msId, String sql, PageConfig config, boolean ranged, long limit) {
+        return get(key(LIMIT_LOOP_SQL + ranged + '_' + limit, msId, sql, config),
+                () -> RowNumberSqlParser.getLimitLoopTemplate(sql, config, ranged, limit));
+    }
+
+    /**
+     * 获取查询表数据块数的 SQL 模板
+     */
+    public SqlTemplate getCtidRangeTemplate(String msId, String sql, PageConfig config) {
+        return get(key(CTID_RANGE_SQL, msId, sql, config), () -> RowNumberSqlParser.getCtidRangeTemplate(sql));
+    }
+
+    /**
+     * 获取按 ctid 范围分页的 SQL 模板
+     */
+    public SqlTemplate getCtidPageTemplate(String msId, String sql, PageConfig config) {
+        return get(key(CTID_PAGE_SQL_TEMPLATE, msId, sql, config), () -> RowNumberSqlParser.getCtidPageTemplate(sql));
+    }
+
+    /**
+     * 获取写入归档表的分页 SQL 模板
+     */
+    public SqlTemplate getArchivePageTemplate(String msId, String sql, PageConfig config, String archiveTable) {
+        return get(key(ARCHIVE_PAGE_SQL_TEMPLATE + archiveTable, msId, sql, config),
+                () -> RowNumberSqlParser.getArchivePageTemplate(sql, config, archiveTable));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (expireMillis <= 0 || now - entry.createTime < expireMillis) {
+                    hitCount.increment();
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                evictionCount.increment();
+            }
+        }
+
+        // 解析放在锁外进行，并发未命中时可能重复解析，但结果一致
+        missCount.increment();
+        T value = loader.get();
+        synchronized (entries) {
+            entries.put(key, new Entry(value, now));
+            evictIfNecessary(now);
+        }
+        return value;
+    }
+
+    private void evictIfNecessary(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && entries.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+            evictionCount.increment();
+        }
+        if (expireMillis > 0) {
+            iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().getValue().createTime >= expireMillis) {
+                    iterator.remove();
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    private static String key(String type, String msId, String sql, PageConfig config) {
+        // PageConfig 的所有字段都会影响改写结果，直接使用其 toString 作为键的一部分
+        return type + '|' + msId + '|' + config + '|' + sql;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "SqlTemplateCache(size=" + size() + ", maxSize=" + maxSize
+                + ", hitCount=" + getHitCount() + ", missCount=" + getMissCount()
+                + ", evictionCount=" + getEvictionCount() + ")";
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long createTime;
+
+        private Entry(Object value, long createTime) {
+            this.value = value;
+            this.createTime = createTime;
+        }
+    }
+}
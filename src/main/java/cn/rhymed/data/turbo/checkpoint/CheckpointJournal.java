@@ -0,0 +1,515 @@
+package cn.rhymed.data.turbo.checkpoint;
+
+import cn.rhymed.data.turbo.domain.CompositeKey;
+import cn.rhymed.data.turbo.domain.PageResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 本地断点日志：记录一次批量操作的分页规划和已提交的分页，进程中断后使用相同的断点 ID 重新执行时
+ * 直接从日志恢复分页规划，只执行未完成的分页。
+ * <p>
+ * 文件格式：头部（魔数、版本、分页数、规划对应的语句、参数指纹）+ 分页规划 + 已完成分页位图（每页 1 bit）。
+ * 规划只在创建时写入一次，写入临时文件后原子重命名，位图在内存中更新后把变化的字节按位置写回文件，
+ * 每次事务提交后刷盘，百万个分页的位图只有 125 KB。
+ * 事务提交后、位图刷盘前进程中断时，该事务的分页会在恢复后再次执行。
+ * <p>
+ * 分页规划中的主键按类型标记逐个编码，读取时只会还原支持的主键类型，不使用 Java 反序列化
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class CheckpointJournal implements Closeable {
+
+    private static final int MAGIC = 0x44544A4C;
+    private static final int VERSION = 2;
+    private static final String SUFFIX = ".journal";
+
+    /**
+     * 主键值的类型标记
+     */
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_INTEGER = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_BIG_INTEGER = 3;
+    private static final byte TAG_BIG_DECIMAL = 4;
+    private static final byte TAG_STRING = 5;
+    private static final byte TAG_UUID = 6;
+    private static final byte TAG_BYTES = 7;
+    private static final byte TAG_TIMESTAMP = 8;
+    private static final byte TAG_LOCAL_DATE_TIME = 9;
+    private static final byte TAG_COMPOSITE = 10;
+    /**
+     * 只用于参数指纹：其他类型的参数按类名和字符串形式参与计算
+     */
+    private static final byte TAG_OTHER = 127;
+
+    private static volatile Path directory = defaultDirectory();
+
+    private final Path file;
+    private final List<PageResult> pages;
+    private final FileChannel channel;
+    private final long bitmapOffset;
+    private final byte[] bitmap;
+    private int completedCount;
+    private boolean closed;
+
+    private CheckpointJournal(Path file, List<PageResult> pages, long bitmapOffset, byte[] bitmap) throws IOException {
+        this.file = file;
+        this.pages = pages;
+        this.channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        this.bitmapOffset = bitmapOffset;
+        this.bitmap = bitmap;
+        for (int i = 0; i < pages.size(); i++) {
+            if (isCompleted(i)) {
+                completedCount++;
+            }
+        }
+    }
+
+    /**
+     * 设置断点日志目录（由自动配置类调用），为空时使用默认目录
+     */
+    public static void configure(String journalDirectory) {
+        directory = journalDirectory == null || journalDirectory.trim().isEmpty()
+                ? defaultDirectory() : Paths.get(journalDirectory.trim());
+    }
+
+    public static Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 计算参数指纹：绑定的参数值、主键和分页大小任一不同时，上次的分页规划不能沿用
+     *
+     * @param primaryId       主键
+     * @param fetchSize       分页大小
+     * @param parameterValues 语句中各个 ? 绑定的参数值
+     */
+    public static byte[] fingerprint(String primaryId, int fetchSize, List<Object> parameterValues) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeValue(out, primaryId);
+            out.writeInt(fetchSize);
+            out.writeInt(parameterValues.size());
+            for (Object value : parameterValues) {
+                writeParameter(out, value);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compute checkpoint fingerprint", e);
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 打开已有的断点日志
+     *
+     * @param checkpointId 断点 ID
+     * @param sql          规划对应的语句，与日志中记录的不一致时丢弃日志
+     * @param fingerprint  参数指纹，与日志中记录的不一致时丢弃日志
+     * @return 没有断点日志或日志属于其他语句、其他参数时返回 null
+     */
+    public static CheckpointJournal open(String checkpointId, String sql, byte[] fingerprint) throws IOException {
+        Path file = getFile(checkpointId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream fileIn = new BufferedInputStream(Files.newInputStream(file));
+             DataInputStream in = new DataInputStream(fileIn)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("断点日志 {} 格式不正确或版本不同，已丢弃", file);
+                Files.delete(file);
+                return null;
+            }
+            int pageCount = in.readInt();
+            byte[] sqlBytes = readBytes(in);
+            String journalSql = new String(sqlBytes, StandardCharsets.UTF_8);
+            if (!journalSql.equals(sql)) {
+                log.warn("断点日志 {} 属于其他语句或规划策略，已丢弃。日志中的语句: {}", file, journalSql);
+                Files.delete(file);
+                return null;
+            }
+            byte[] journalFingerprint = readBytes(in);
+            if (!MessageDigest.isEqual(journalFingerprint, fingerprint)) {
+                log.warn("断点日志 {} 的参数、主键或分页大小与本次执行不同，不能从断点恢复，已丢弃并重新规划", file);
+                Files.delete(file);
+                return null;
+            }
+            byte[] plan = readBytes(in);
+            List<PageResult> pages = readPlan(plan, pageCount);
+            byte[] bitmap = new byte[bitmapSize(pageCount)];
+            in.readFully(bitmap);
+            long bitmapOffset = 4 * 6L + sqlBytes.length + journalFingerprint.length + plan.length;
+            return new CheckpointJournal(file, pages, bitmapOffset, bitmap);
+        }
+    }
+
+    /**
+     * 创建断点日志，分页按规划顺序重新编号，pageNum 即为分页在位图中的位置
+     *
+     * @param checkpointId 断点 ID
+     * @param sql          规划对应的语句
+     * @param fingerprint  参数指纹，见 {@link #fingerprint}
+     * @param pages        分页规划
+     * @throws IllegalArgumentException 主键类型不支持写入断点日志
+     */
+    public static CheckpointJournal create(String checkpointId, String sql, byte[] fingerprint,
+                                           List<PageResult> pages) throws IOException {
+        for (int i = 0; i < pages.size(); i++) {
+            pages.get(i).setPageNum(i);
+        }
+        byte[] sqlBytes = sql.getBytes(StandardCharsets.UTF_8);
+        byte[] plan = writePlan(pages);
+        byte[] bitmap = new byte[bitmapSize(pages.size())];
+
+        Path file = getFile(checkpointId);
+        createDirectories(file.getParent());
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        createOwnerOnlyFile(tempFile);
+        try (OutputStream fileOut = Files.newOutputStream(tempFile);
+             DataOutputStream out = new DataOutputStream(fileOut)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(pages.size());
+            out.writeInt(sqlBytes.length);
+            out.write(sqlBytes);
+            out.writeInt(fingerprint.length);
+            out.write(fingerprint);
+            out.writeInt(plan.length);
+            out.write(plan);
+            // 位图初始全部为 0
+            out.write(bitmap);
+        }
+        try (FileChannel tempChannel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            tempChannel.force(true);
+        }
+        // 规划完整写入后才出现正式文件，中断在写入过程中时下次执行重新规划
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new CheckpointJournal(file, pages, 4 * 6L + sqlBytes.length + fingerprint.length + plan.length, bitmap);
+    }
+
+    /**
+     * 断点 ID 对应的日志文件，ID 中文件名不允许的字符替换为 _
+     */
+    public static Path getFile(String checkpointId) {
+        return directory.resolve(checkpointId.replaceAll("[^A-Za-z0-9._-]", "_") + SUFFIX);
+    }
+
+    /**
+     * 未完成的分页，按规划顺序排列
+     */
+    public synchronized List<PageResult> getPendingPages() {
+        List<PageResult> pendingPages = new ArrayList<>(pages.size() - completedCount);
+        for (int i = 0; i < pages.size(); i++) {
+            if (!isCompleted(i)) {
+                pendingPages.add(pages.get(i));
+            }
+        }
+        return pendingPages;
+    }
+
+    /**
+     * 记录已提交的分页（合并执行的分页包含其后连续的 mergedPages - 1 个分页）并刷盘
+     */
+    public synchronized void complete(List<PageResult> committedPages) {
+        if (closed || committedPages.isEmpty()) {
+            return;
+        }
+        int firstChanged = Integer.MAX_VALUE;
+        int lastChanged = -1;
+        for (PageResult pageResult : committedPages) {
+            if (pageResult.getPageNum() == null) {
+                continue;
+            }
+            int count = pageResult.getMergedPages() != null ? pageResult.getMergedPages() : 1;
+            for (int i = pageResult.getPageNum(); i < pageResult.getPageNum() + count && i < pages.size(); i++) {
+                if (!isCompleted(i)) {
+                    bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+                    completedCount++;
+                    firstChanged = Math.min(firstChanged, i >>> 3);
+                    lastChanged = Math.max(lastChanged, i >>> 3);
+                }
+            }
+        }
+        if (lastChanged < 0) {
+            return;
+        }
+        try {
+            ByteBuffer changed = ByteBuffer.wrap(bitmap, firstChanged, lastChanged - firstChanged + 1);
+            long position = bitmapOffset + firstChanged;
+            while (changed.hasRemaining()) {
+                position += channel.write(changed, position);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // 未刷盘的分页在恢复后会再次执行
+            log.warn("写入断点日志 {} 失败", file, e);
+        }
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public synchronized int getCompletedCount() {
+        return completedCount;
+    }
+
+    public Path getPath() {
+        return file;
+    }
+
+    /**
+     * 任务全部完成后关闭并删除断点日志
+     */
+    public void finish() {
+        close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除断点日志 {} 失败", file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("关闭断点日志 {} 失败", file, e);
+        }
+    }
+
+    private boolean isCompleted(int index) {
+        return (bitmap[index >>> 3] & 1 << (index & 7)) != 0;
+    }
+
+    private static int bitmapSize(int pageCount) {
+        return (pageCount + 7) / 8;
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * 分页规划按 startKey、endKey、pageSize 依次编码，pageSize 为 null 时写入 -1
+     */
+    private static byte[] writePlan(List<PageResult> pages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (PageResult pageResult : pages) {
+                writeValue(out, pageResult.getStartKey());
+                writeValue(out, pageResult.getEndKey());
+                out.writeInt(pageResult.getPageSize() != null ? pageResult.getPageSize() : -1);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<PageResult> readPlan(byte[] plan, int pageCount) throws IOException {
+        List<PageResult> pages = new ArrayList<>(pageCount);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(plan))) {
+            for (int i = 0; i < pageCount; i++) {
+                PageResult pageResult = new PageResult();
+                pageResult.setPageNum(i);
+                pageResult.setStartKey(readValue(in));
+                pageResult.setEndKey(readValue(in));
+                int pageSize = in.readInt();
+                pageResult.setPageSize(pageSize >= 0 ? pageSize : null);
+                pages.add(pageResult);
+            }
+        }
+        return Collections.unmodifiableList(pages);
+    }
+
+    /**
+     * 按类型标记编码主键值，支持 JDBC 返回的整数、定点数、字符串、UUID、二进制、时间和复合主键
+     *
+     * @throws IllegalArgumentException 不支持的主键类型
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof BigInteger) {
+            out.writeByte(TAG_BIG_INTEGER);
+            writeBytes(out, ((BigInteger) value).toByteArray());
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            out.writeByte(TAG_BIG_DECIMAL);
+            writeBytes(out, decimal.unscaledValue().toByteArray());
+            out.writeInt(decimal.scale());
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof UUID) {
+            UUID uuid = (UUID) value;
+            out.writeByte(TAG_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof byte[]) {
+            out.writeByte(TAG_BYTES);
+            writeBytes(out, (byte[]) value);
+        } else if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            out.writeByte(TAG_TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte(TAG_LOCAL_DATE_TIME);
+            writeBytes(out, value.toString().getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof CompositeKey) {
+            CompositeKey key = (CompositeKey) value;
+            out.writeByte(TAG_COMPOSITE);
+            out.writeInt(key.size());
+            for (int i = 0; i < key.size(); i++) {
+                writeValue(out, key.get(i));
+            }
+        } else {
+            throw new IllegalArgumentException("断点日志不支持的主键类型: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_INTEGER:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_BIG_INTEGER:
+                return new BigInteger(readBytes(in));
+            case TAG_BIG_DECIMAL:
+                BigInteger unscaled = new BigInteger(readBytes(in));
+                return new BigDecimal(unscaled, in.readInt());
+            case TAG_STRING:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case TAG_UUID:
+                return new UUID(in.readLong(), in.readLong());
+            case TAG_BYTES:
+                return readBytes(in);
+            case TAG_TIMESTAMP:
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case TAG_LOCAL_DATE_TIME:
+                return LocalDateTime.parse(new String(readBytes(in), StandardCharsets.UTF_8));
+            case TAG_COMPOSITE:
+                Object[] values = new Object[in.readInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = readValue(in);
+                }
+                return new CompositeKey(values);
+            default:
+                throw new IOException("Unknown checkpoint value tag: " + tag);
+        }
+    }
+
+    /**
+     * 参数值优先按主键的编码写入，其他类型（日期、布尔、枚举、集合等）按类名和字符串形式写入
+     */
+    private static void writeParameter(DataOutputStream out, Object value) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try {
+            writeValue(new DataOutputStream(encoded), value);
+            encoded.writeTo(out);
+            return;
+        } catch (IllegalArgumentException e) {
+            // 不是主键类型
+        }
+        String text = value instanceof Object[] ? Arrays.deepToString((Object[]) value) : String.valueOf(value);
+        out.writeByte(TAG_OTHER);
+        writeBytes(out, value.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        writeBytes(out, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * 默认目录在用户主目录下，不放在所有用户共享的临时目录中
+     */
+    private static Path defaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".data-turbo", "checkpoint");
+    }
+
+    /**
+     * 创建断点日志目录，支持 POSIX 权限的文件系统上只有当前用户可以访问
+     */
+    private static void createDirectories(Path dir) throws IOException {
+        if (Files.isDirectory(dir)) {
+            return;
+        }
+        if (isPosix(dir)) {
+            Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(dir);
+        }
+    }
+
+    private static void createOwnerOnlyFile(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        if (isPosix(path)) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+    }
+
+    private static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointJournal(" + file + ", pages=" + pages.size() + ", completed=" + getCompletedCount() + ")";
+    }
+}
@@ -0,0 +1,74 @@
+package cn.rhymed.data.turbo.config;
+
+import lombok.*;
+
+/**
+ * 批量归档配置，被拦截的 DELETE 语句每页先将待删除的行写入归档表再删除
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchArchiveConfig implements BatchConfig {
+
+    /**
+     * 归档表，列的数量和顺序与被删除的表相同，每页执行 INSERT INTO 归档表 SELECT * FROM 被删除的表
+     */
+    private String archiveTable;
+
+    /**
+     * 主键ID，复合主键按索引列顺序用逗号分隔，例如 tenant_id,id
+     */
+    private String primaryId;
+
+    /**
+     * 每批次查询大小
+     */
+    private int fetchSize;
+
+    /**
+     * 每批次提交归档大小
+     */
+    private int batchSize;
+
+    /**
+     * 最大线程数
+     **/
+    private int maxThreadCount;
+
+    /**
+     * 分页规划策略，默认 ROW_NUMBER
+     */
+    private PlanningStrategy planningStrategy;
+
+    /**
+     * 是否边规划边执行：规划出的分页立即交给工作线程处理，不等待全部分页规划完成
+     */
+    private boolean pipelined;
+
+    /**
+     * 是否自适应调整并发数：从 1 个并发开始，根据单页耗时加性增加、乘性减少，最多 maxThreadCount 个
+     */
+    private boolean adaptive;
+
+    /**
+     * 每条语句的目标耗时（毫秒）：大于 0 时每个线程根据最近语句的每行耗时合并或拆分分页范围，使每条语句的耗时接近该值；默认 0 不调整
+     */
+    private int targetStatementMillis;
+
+    /**
+     * 复合主键的分页条件是否展开为 a &gt; ? OR (a = ? AND b &gt;= ?) 的形式（数据库不支持 (a, b) &gt;= (?, ?) 行值比较时开启），默认 false
+     */
+    private boolean expandedKeyComparison;
+
+    /**
+     * 断点续跑的任务 ID：不为 null 时在本地断点日志中记录分页规划和已提交的分页，
+     * 进程中断后使用相同的 ID 重新执行时跳过已完成的分页，不重新规划。同一个 ID 只能用于同一条语句，默认 null
+     */
+    private String checkpointId;
+}
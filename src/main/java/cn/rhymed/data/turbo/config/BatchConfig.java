@@ -0,0 +1,90 @@
+package cn.rhymed.data.turbo.config;
+
+/**
+ * 批量删除/更新的公共配置
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface BatchConfig {
+
+    /**
+     * 主键ID
+     */
+    String getPrimaryId();
+
+    /**
+     * 每批次查询大小
+     */
+    int getFetchSize();
+
+    /**
+     * 每批次提交大小
+     */
+    int getBatchSize();
+
+    /**
+     * 最大线程数
+     */
+    int getMaxThreadCount();
+
+    /**
+     * 分页规划策略
+     */
+    PlanningStrategy getPlanningStrategy();
+
+    /**
+     * 是否边规划边执行
+     */
+    boolean isPipelined();
+
+    /**
+     * 是否自适应调整并发数
+     */
+    boolean isAdaptive();
+
+    /**
+     * 每条语句的目标耗时（毫秒），小于等于 0 表示不按耗时调整分页范围
+     */
+    int getTargetStatementMillis();
+
+    /**
+     * 复合主键的分页条件是否展开为 a &gt; ? OR (a = ? AND b &gt;= ?) 的形式，用于不支持行值比较的数据库
+     */
+    boolean isExpandedKeyComparison();
+
+    /**
+     * 断点续跑的任务 ID，为 null 时不记录断点
+     */
+    String getCheckpointId();
+
+    /**
+     * LIMIT_LOOP 模式下是否确认更新后的行不再满足 WHERE 条件，无法从 SQL 证明时需要显式开启，默认 false。
+     * DELETE 删除的行不会再被匹配，不需要开启
+     */
+    default boolean isUpdatedRowsExcluded() {
+        return false;
+    }
+
+    /*
+     * 以下设置方法用于按配置文件的默认值初始化配置，含义见对应的获取方法
+     */
+
+    void setPrimaryId(String primaryId);
+
+    void setFetchSize(int fetchSize);
+
+    void setBatchSize(int batchSize);
+
+    void setMaxThreadCount(int maxThreadCount);
+
+    void setPlanningStrategy(PlanningStrategy planningStrategy);
+
+    void setPipelined(boolean pipelined);
+
+    void setAdaptive(boolean adaptive);
+
+    void setTargetStatementMillis(int targetStatementMillis);
+
+    void setExpandedKeyComparison(boolean expandedKeyComparison);
+}
@@ -14,10 +14,10 @@ import lombok.*;
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
-public class BatchUpdateConfig {
+public class BatchUpdateConfig implements BatchConfig {
 
     /**
-     * 主键ID
+     * 主键ID，复合主键按索引列顺序用逗号分隔，例如 tenant_id,id
      */
     private String primaryId;
 
@@ -35,4 +35,41 @@ public class BatchUpdateConfig {
      * 最大线程数
      **/
     private int maxThreadCount;
+
+    /**
+     * 分页规划策略，默认 ROW_NUMBER
+     */
+    private PlanningStrategy planningStrategy;
+
+    /**
+     * 是否边规划边执行：规划出的分页立即交给工作线程处理，不等待全部分页规划完成
+     */
+    private boolean pipelined;
+
+    /**
+     * 是否自适应调整并发数：从 1 个并发开始，根据单页耗时加性增加、乘性减少，最多 maxThreadCount 个
+     */
+    private boolean adaptive;
+
+    /**
+     * 每条语句的目标耗时（毫秒）：大于 0 时每个线程根据最近语句的每行耗时合并或拆分分页范围，使每条语句的耗时接近该值；默认 0 不调整
+     */
+    private int targetStatementMillis;
+
+    /**
+     * 复合主键的分页条件是否展开为 a &gt; ? OR (a = ? AND b &gt;= ?) 的形式（数据库不支持 (a, b) &gt;= (?, ?) 行值比较时开启），默认 false
+     */
+    private boolean expandedKeyComparison;
+
+    /**
+     * 断点续跑的任务 ID：不为 null 时在本地断点日志中记录分页规划和已提交的分页，
+     * 进程中断后使用相同的 ID 重新执行时跳过已完成的分页，不重新规划。同一个 ID 只能用于同一条语句，默认 null
+     */
+    private String checkpointId;
+
+    /**
+     * LIMIT_LOOP 模式下确认更新后的行不再满足 WHERE 条件（例如 SET 的值由参数绑定，无法从 SQL 证明），默认 false。
+     * 未开启且无法从 SQL 证明时改用 KEYSET；开启后若更新后的行仍满足条件，单个主键范围的执行次数超过上限时任务失败
+     */
+    private boolean updatedRowsExcluded;
 }
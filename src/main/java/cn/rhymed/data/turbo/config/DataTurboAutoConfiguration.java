@@ -1,35 +1,85 @@
 package cn.rhymed.data.turbo.config;
 
+import cn.rhymed.data.turbo.BatchArchiveHelper;
+import cn.rhymed.data.turbo.BatchCopyHelper;
 import cn.rhymed.data.turbo.BatchDeleteHelper;
 import cn.rhymed.data.turbo.BatchUpdateHelper;
-import cn.rhymed.data.turbo.interceptor.BatchDeleteInterceptor;
-import cn.rhymed.data.turbo.interceptor.BatchUpdateInterceptor;
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.checkpoint.CheckpointJournal;
+import cn.rhymed.data.turbo.dialect.Dialects;
+import cn.rhymed.data.turbo.executor.ConnectionGovernor;
+import cn.rhymed.data.turbo.executor.WorkerExecutors;
+import cn.rhymed.data.turbo.interceptor.BatchInterceptor;
+import cn.rhymed.data.turbo.job.BatchJob;
+import cn.rhymed.data.turbo.metrics.BatchMetrics;
+import cn.rhymed.data.turbo.metrics.BatchMetricsListener;
+import cn.rhymed.data.turbo.metrics.MicrometerMetricsListener;
+import cn.rhymed.data.turbo.operation.BatchOperation;
+import cn.rhymed.data.turbo.operation.BatchOperations;
+import cn.rhymed.data.turbo.throttle.BatchThrottle;
+import cn.rhymed.data.turbo.throttle.BatchThrottles;
+import cn.rhymed.data.turbo.throttle.JdbcLoadProbe;
+import cn.rhymed.data.turbo.throttle.ProbeThrottle;
+import cn.rhymed.data.turbo.throttle.RateLimitThrottle;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
+import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Data Turbo 自动配置类
- * 自动注册 BatchDeleteInterceptor 和 BatchUpdateInterceptor 到所有 SqlSessionFactory
+ * 自动注册 BatchInterceptor 到所有 SqlSessionFactory，处理内置的删除、更新、归档、复制和应用自定义的批量操作
  *
  * @author rhymed.liu[rhymed.liu@anker-in.com]
  * @since 2025-12-10
  **/
 @Slf4j
 @Configuration
-@ConditionalOnClass({SqlSessionFactory.class, BatchDeleteInterceptor.class})
+@ConditionalOnClass({SqlSessionFactory.class, BatchInterceptor.class})
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 public class DataTurboAutoConfiguration {
 
     @Resource
     private List<SqlSessionFactory> sqlSessionFactories;
 
+    /**
+     * 应用自定义的限流（例如按从库复制延迟限流），注册到所有 SqlSessionFactory
+     */
+    @Autowired(required = false)
+    private List<BatchThrottle> customThrottles;
+
+    /**
+     * 批量操作指标监听器（包括 Micrometer 指标），注册到所有 SqlSessionFactory
+     */
+    @Autowired(required = false)
+    private List<BatchMetricsListener> metricsListeners;
+
+    /**
+     * 应用自定义的批量操作，排在内置操作之后注册到拦截器
+     */
+    @Autowired(required = false)
+    private List<BatchOperation> customOperations;
+
+    /**
+     * 所有拦截器共享的工作线程池
+     */
+    private ExecutorService workerExecutor;
+
     /**
      * 注册配置属性
      */
@@ -45,38 +95,163 @@ public class DataTurboAutoConfiguration {
         DataTurboProperties properties = dataTurboProperties();
         BatchDeleteHelper.setProperties(properties);
         BatchUpdateHelper.setProperties(properties);
+        BatchArchiveHelper.setProperties(properties);
+        BatchCopyHelper.setProperties(properties);
+        SqlTemplateCache.configure(properties.getSqlCache().getMaxSize(), properties.getSqlCache().getExpireSeconds());
+        CheckpointJournal.configure(properties.getCheckpoint().getDirectory());
 
         if (sqlSessionFactories == null || sqlSessionFactories.isEmpty()) {
             log.warn("未找到 SqlSessionFactory，拦截器未注册");
             return;
         }
 
+        workerExecutor = createWorkerExecutor(properties.getWorkerPool());
+        List<BatchOperation> operations = new ArrayList<>(BatchOperations.getBuiltIns());
+        if (customOperations != null) {
+            operations.addAll(customOperations);
+        }
+
         for (SqlSessionFactory sqlSessionFactory : sqlSessionFactories) {
-            // 注册批量删除拦截器
-            BatchDeleteInterceptor deleteInterceptor = new BatchDeleteInterceptor(sqlSessionFactory);
-            sqlSessionFactory.getConfiguration().addInterceptor(deleteInterceptor);
-            log.info("BatchDeleteInterceptor 已自动注册到 SqlSessionFactory: {}",
-                    sqlSessionFactory.getClass().getSimpleName());
-
-            // 注册批量更新拦截器
-            BatchUpdateInterceptor updateInterceptor = new BatchUpdateInterceptor(sqlSessionFactory);
-            sqlSessionFactory.getConfiguration().addInterceptor(updateInterceptor);
-            log.info("BatchUpdateInterceptor 已自动注册到 SqlSessionFactory: {}",
-                    sqlSessionFactory.getClass().getSimpleName());
+            registerGovernor(sqlSessionFactory, properties.getGovernor());
+            registerThrottles(sqlSessionFactory, properties.getThrottle());
+            if (metricsListeners != null && !metricsListeners.isEmpty()) {
+                BatchMetrics.register(sqlSessionFactory, metricsListeners);
+            }
+            if (properties.getDialect() != null && !properties.getDialect().trim().isEmpty()) {
+                Dialects.register(sqlSessionFactory, Dialects.forName(properties.getDialect()));
+            }
+
+            // 注册批量操作拦截器，所有批量操作共用一个拦截器
+            BatchInterceptor interceptor = new BatchInterceptor(sqlSessionFactory, workerExecutor, operations);
+            sqlSessionFactory.getConfiguration().addInterceptor(interceptor);
+            log.info("BatchInterceptor 已自动注册到 SqlSessionFactory: {}，批量操作: {}",
+                    sqlSessionFactory.getClass().getSimpleName(), operationNames(operations));
+        }
+
+        // 打印各批量操作的默认配置
+        logDefaults("BatchDelete", properties.getBatchDelete());
+        logDefaults("BatchUpdate", properties.getBatchUpdate());
+        logDefaults("BatchArchive", properties.getBatchArchive());
+        logDefaults("BatchCopy", properties.getBatchCopy());
+    }
+
+    private static void logDefaults(String name, DataTurboProperties.BatchDefaults defaults) {
+        log.info("{} 默认配置: primaryId={}, fetchSize={}, batchSize={}, maxThreadCount={}, planningStrategy={}",
+                name, defaults.getPrimaryId(), defaults.getFetchSize(), defaults.getBatchSize(),
+                defaults.getMaxThreadCount(), defaults.getPlanningStrategy());
+    }
+
+    private static String operationNames(List<BatchOperation> operations) {
+        StringBuilder names = new StringBuilder();
+        for (BatchOperation operation : operations) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(operation.getName());
+        }
+        return names.toString();
+    }
+
+    /**
+     * 应用关闭时等待正在执行的异步任务和批量任务完成后再关闭异步任务线程池和工作线程池
+     */
+    @PreDestroy
+    public void shutdownWorkerExecutor() {
+        long awaitTerminationSeconds = dataTurboProperties().getWorkerPool().getAwaitTerminationSeconds();
+        ExecutorService jobExecutor = BatchJob.resetDefaultExecutor();
+        if (jobExecutor != null) {
+            log.info("关闭 Data Turbo 异步任务线程池，等待正在执行的异步任务完成...");
+            WorkerExecutors.shutdown(jobExecutor, awaitTerminationSeconds);
+        }
+        if (workerExecutor != null) {
+            log.info("关闭 Data Turbo 工作线程池，等待正在执行的任务完成...");
+            WorkerExecutors.shutdown(workerExecutor, awaitTerminationSeconds);
+        }
+    }
+
+    private void registerGovernor(SqlSessionFactory sqlSessionFactory, DataTurboProperties.Governor governor) {
+        if (!governor.isEnabled()) {
+            return;
+        }
+        int permits = governor.getMaxConnections();
+        if (permits <= 0) {
+            DataSource dataSource = sqlSessionFactory.getConfiguration().getEnvironment() != null
+                    ? sqlSessionFactory.getConfiguration().getEnvironment().getDataSource() : null;
+            int poolSize = ConnectionGovernor.getPoolSize(dataSource);
+            if (poolSize <= 0) {
+                log.warn("无法识别 SqlSessionFactory: {} 的连接池大小，请配置 data-turbo.governor.max-connections，连接数限制未生效",
+                        sqlSessionFactory.getClass().getSimpleName());
+                return;
+            }
+            permits = Math.max((int) (poolSize * governor.getPoolRatio()), 1);
+        }
+        ConnectionGovernor.register(sqlSessionFactory, permits);
+        log.info("批量操作连接数限制已注册到 SqlSessionFactory: {}, maxConnections={}",
+                sqlSessionFactory.getClass().getSimpleName(), permits);
+    }
+
+    private void registerThrottles(SqlSessionFactory sqlSessionFactory, DataTurboProperties.Throttle throttle) {
+        List<BatchThrottle> throttles = new ArrayList<>();
+        if (throttle.getMaxRowsPerSecond() > 0) {
+            throttles.add(new RateLimitThrottle(throttle.getMaxRowsPerSecond()));
+        }
+        if (throttle.getProbeSql() != null && !throttle.getProbeSql().trim().isEmpty()) {
+            DataSource dataSource = sqlSessionFactory.getConfiguration().getEnvironment() != null
+                    ? sqlSessionFactory.getConfiguration().getEnvironment().getDataSource() : null;
+            if (dataSource == null) {
+                log.warn("SqlSessionFactory: {} 没有数据源，负载探针未生效", sqlSessionFactory.getClass().getSimpleName());
+            } else {
+                double resumeThreshold = throttle.getResumeThreshold() != null
+                        ? throttle.getResumeThreshold() : throttle.getPauseThreshold();
+                throttles.add(new ProbeThrottle(new JdbcLoadProbe(dataSource, throttle.getProbeSql()),
+                        throttle.getPauseThreshold(), resumeThreshold, throttle.getCheckIntervalMillis()));
+            }
         }
+        if (customThrottles != null) {
+            throttles.addAll(customThrottles);
+        }
+        if (throttles.isEmpty()) {
+            return;
+        }
+        BatchThrottles.register(sqlSessionFactory, throttles);
+        log.info("批量操作限流已注册到 SqlSessionFactory: {}, maxRowsPerSecond={}, probeSql={}, 自定义限流 {} 个",
+                sqlSessionFactory.getClass().getSimpleName(), throttle.getMaxRowsPerSecond(), throttle.getProbeSql(),
+                customThrottles != null ? customThrottles.size() : 0);
+    }
+
+    /**
+     * classpath 中有 Micrometer 时输出批量操作指标
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnProperty(prefix = "data-turbo.metrics", name = "micrometer", havingValue = "true",
+                matchIfMissing = true)
+        public MicrometerMetricsListener dataTurboMicrometerMetricsListener(MeterRegistry meterRegistry) {
+            log.info("Data Turbo 批量操作指标已输出到 Micrometer: {}", meterRegistry.getClass().getSimpleName());
+            return new MicrometerMetricsListener(meterRegistry);
+        }
+    }
 
-        // 打印批量删除配置信息
-        log.info("BatchDelete 默认配置: primaryId={}, fetchSize={}, batchSize={}, maxThreadCount={}",
-                properties.getBatchDelete().getPrimaryId(),
-                properties.getBatchDelete().getFetchSize(),
-                properties.getBatchDelete().getBatchSize(),
-                properties.getBatchDelete().getMaxThreadCount());
-
-        // 打印批量更新配置信息
-        log.info("BatchUpdate 默认配置: primaryId={}, fetchSize={}, batchSize={}, maxThreadCount={}",
-                properties.getBatchUpdate().getPrimaryId(),
-                properties.getBatchUpdate().getFetchSize(),
-                properties.getBatchUpdate().getBatchSize(),
-                properties.getBatchUpdate().getMaxThreadCount());
+    private ExecutorService createWorkerExecutor(DataTurboProperties.WorkerPool workerPool) {
+        if (!workerPool.isEnabled()) {
+            log.info("未启用共享工作线程池，每次批量操作单独创建线程池");
+            return null;
+        }
+        if (workerPool.isVirtualThreads()) {
+            ExecutorService executor = WorkerExecutors.newVirtualThreadExecutor(workerPool.getThreadNamePrefix());
+            if (executor != null) {
+                log.info("Data Turbo 工作线程池: 虚拟线程, threadNamePrefix={}", workerPool.getThreadNamePrefix());
+                return executor;
+            }
+            log.warn("虚拟线程不可用，回退为普通线程池");
+        }
+        log.info("Data Turbo 工作线程池: maxSize={}, keepAliveSeconds={}, threadNamePrefix={}",
+                workerPool.getMaxSize(), workerPool.getKeepAliveSeconds(), workerPool.getThreadNamePrefix());
+        return WorkerExecutors.newSharedExecutor(workerPool.getThreadNamePrefix(),
+                workerPool.getMaxSize(), workerPool.getKeepAliveSeconds());
     }
 }
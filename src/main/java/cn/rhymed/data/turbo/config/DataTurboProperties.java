@@ -1,6 +1,8 @@
 package cn.rhymed.data.turbo.config;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * Data Turbo 配置属性
@@ -21,20 +23,68 @@ public class DataTurboProperties {
      */
     private BatchUpdate batchUpdate = new BatchUpdate();
 
+    /**
+     * 批量归档默认配置
+     */
+    private BatchArchive batchArchive = new BatchArchive();
+
+    /**
+     * 批量复制（INSERT ... SELECT）默认配置
+     */
+    private BatchCopy batchCopy = new BatchCopy();
+
+    /**
+     * SQL 模板缓存配置
+     */
+    private SqlCache sqlCache = new SqlCache();
+
+    /**
+     * 工作线程池配置
+     */
+    private WorkerPool workerPool = new WorkerPool();
+
+    /**
+     * 批量操作连接数限制配置
+     */
+    private Governor governor = new Governor();
+
+    /**
+     * 批量操作限流配置
+     */
+    private Throttle throttle = new Throttle();
+
+    /**
+     * 断点日志配置
+     */
+    private Checkpoint checkpoint = new Checkpoint();
+
+    /**
+     * 批量操作指标配置
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 数据库方言：mysql、mysql-legacy、oracle、sqlserver、postgresql、h2、hsqldb、standard，为空时根据 JDBC 元数据自动识别
+     */
+    private String dialect;
+
+    /**
+     * 各批量操作共用的默认配置项
+     */
     @Data
-    public static class BatchDelete {
+    public static class BatchDefaults {
         /**
-         * 默认主键字段名
+         * 默认主键字段名，复合主键按索引列顺序用逗号分隔
          */
         private String primaryId = null;
 
         /**
-         * 每批次查询/删除大小，默认 5000
+         * 每批次查询/执行大小，默认 5000
          */
         private int fetchSize = 5000;
 
         /**
-         * 每批次提交删除大小，默认 50000
+         * 每批次提交大小，默认 50000
          */
         private int batchSize = 50000;
 
@@ -42,28 +92,162 @@ public class DataTurboProperties {
          * 最大线程数，默认 3
          */
         private int maxThreadCount = 3;
+
+        /**
+         * 分页规划策略，默认 ROW_NUMBER
+         */
+        private PlanningStrategy planningStrategy = PlanningStrategy.ROW_NUMBER;
+
+        /**
+         * 是否边规划边执行，默认 false
+         */
+        private boolean pipelined = false;
+
+        /**
+         * 是否自适应调整并发数，默认 false
+         */
+        private boolean adaptive = false;
+
+        /**
+         * 每条语句的目标耗时（毫秒），默认 0 表示不按耗时调整分页范围
+         */
+        private int targetStatementMillis = 0;
+
+        /**
+         * 复合主键的分页条件是否展开为 a > ? OR (a = ? AND b >= ?) 的形式（数据库不支持行值比较时开启），默认 false
+         */
+        private boolean expandedKeyComparison = false;
+    }
+
+    @ToString(callSuper = true)
+    @EqualsAndHashCode(callSuper = true)
+    public static class BatchDelete extends BatchDefaults {
+    }
+
+    @ToString(callSuper = true)
+    @EqualsAndHashCode(callSuper = true)
+    public static class BatchUpdate extends BatchDefaults {
+    }
+
+    @ToString(callSuper = true)
+    @EqualsAndHashCode(callSuper = true)
+    public static class BatchArchive extends BatchDefaults {
+    }
+
+    /**
+     * primaryId 为源表的主键字段名
+     */
+    @ToString(callSuper = true)
+    @EqualsAndHashCode(callSuper = true)
+    public static class BatchCopy extends BatchDefaults {
     }
 
     @Data
-    public static class BatchUpdate {
+    public static class SqlCache {
         /**
-         * 默认主键字段名
+         * 最大缓存条目数，默认 256
          */
-        private String primaryId = null;
+        private int maxSize = 256;
 
         /**
-         * 每批次查询/更新大小，默认 5000
+         * 缓存存活时间（秒），小于等于 0 表示不过期，默认 3600
          */
-        private int fetchSize = 5000;
+        private long expireSeconds = 3600;
+    }
 
+    @Data
+    public static class WorkerPool {
         /**
-         * 每批次提交更新大小，默认 50000
+         * 是否使用共享的工作线程池，默认 true；为 false 时每次批量操作单独创建线程池
          */
-        private int batchSize = 50000;
+        private boolean enabled = true;
 
         /**
-         * 最大线程数，默认 3
+         * 最大线程数，所有并发的批量操作共用，默认 16
          */
-        private int maxThreadCount = 3;
+        private int maxSize = 16;
+
+        /**
+         * 空闲线程存活时间（秒），默认 60
+         */
+        private long keepAliveSeconds = 60;
+
+        /**
+         * 线程名前缀，默认 data-turbo-worker-
+         */
+        private String threadNamePrefix = "data-turbo-worker-";
+
+        /**
+         * 是否使用虚拟线程（需要 JDK 21+，不支持时回退为普通线程池），默认 false
+         */
+        private boolean virtualThreads = false;
+
+        /**
+         * 应用关闭时等待正在执行的任务完成的时间（秒），默认 30
+         */
+        private long awaitTerminationSeconds = 30;
+    }
+
+    @Data
+    public static class Governor {
+        /**
+         * 是否限制每个 SqlSessionFactory 上所有批量操作同时占用的连接数，默认 false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 批量操作最多同时占用的连接数，小于等于 0 时按连接池最大连接数 * poolRatio 计算
+         */
+        private int maxConnections = 0;
+
+        /**
+         * 批量操作最多占用连接池的比例，默认 0.5
+         */
+        private double poolRatio = 0.5;
+    }
+
+    @Data
+    public static class Throttle {
+        /**
+         * 每个 SqlSessionFactory 上所有批量操作合计每秒最多处理的行数，小于等于 0 时不限制
+         */
+        private double maxRowsPerSecond = 0;
+
+        /**
+         * 负载探针 SQL，在 SqlSessionFactory 的数据源上执行，取第一行最后一列的数值，
+         * 例如 SHOW GLOBAL STATUS LIKE 'Threads_running'，为空时不启用
+         */
+        private String probeSql;
+
+        /**
+         * 负载指标超过该值时暂停批量操作
+         */
+        private double pauseThreshold = 50;
+
+        /**
+         * 暂停后负载指标降到该值以下时恢复，默认与 pauseThreshold 相同
+         */
+        private Double resumeThreshold;
+
+        /**
+         * 负载指标检查间隔（毫秒），默认 1000
+         */
+        private long checkIntervalMillis = 1000;
+    }
+
+    @Data
+    public static class Checkpoint {
+        /**
+         * 断点日志所在的本地目录，为空时使用用户主目录下的 .data-turbo/checkpoint 目录
+         */
+        private String directory;
+    }
+
+    @Data
+    public static class Metrics {
+        /**
+         * classpath 中有 Micrometer 且容器中有 MeterRegistry 时是否输出指标，默认 true
+         */
+        private boolean micrometer = true;
     }
 }
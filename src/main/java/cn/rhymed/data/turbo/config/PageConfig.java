@@ -1,5 +1,7 @@
 package cn.rhymed.data.turbo.config;
 
+import cn.rhymed.data.turbo.dialect.Dialect;
+import cn.rhymed.data.turbo.utils.IdentifierUtils;
 import lombok.*;
 
 /**
@@ -15,7 +17,7 @@ import lombok.*;
 public class PageConfig {
 
     /**
-     * 主键ID
+     * 主键ID，复合主键按索引列顺序用逗号分隔。列名可以使用双引号、反引号或方括号引用，生成 SQL 时换成方言的引号
      */
     private String primaryId;
 
@@ -24,4 +26,20 @@ public class PageConfig {
      */
     private int pageSize;
 
+    /**
+     * 复合主键的分页条件是否展开为 a &gt; ? OR (a = ? AND b &gt;= ?) 的形式，默认使用 (a, b) &gt;= (?, ?) 行值比较
+     */
+    private boolean expandedKeyComparison;
+
+    /**
+     * 数据库方言，为 null 时使用默认方言
+     */
+    private Dialect dialect;
+
+    /**
+     * 是否为复合主键（引号内的逗号不算列分隔符）
+     */
+    public boolean isCompositeKey() {
+        return primaryId != null && primaryId.indexOf(',') >= 0 && IdentifierUtils.split(primaryId).size() > 1;
+    }
 }
@@ -0,0 +1,41 @@
+package cn.rhymed.data.turbo.config;
+
+/**
+ * 分页规划策略
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public enum PlanningStrategy {
+
+    /**
+     * 使用 ROW_NUMBER() 窗口函数一次性查询出全部分页（默认）
+     */
+    ROW_NUMBER,
+
+    /**
+     * 按主键顺序逐页探测分页边界（WHERE id &gt; ? ORDER BY id LIMIT fetchSize），
+     * 每页只需一次索引定位，不需要窗口函数，适用于超大表和 MySQL 5.7
+     */
+    KEYSET,
+
+    /**
+     * 只查询符合条件的最小和最大主键，按 fetchSize 将主键区间等宽切分，
+     * 规划只需两次索引定位，适用于主键连续自增的表；主键稀疏时各页实际行数会不均匀
+     */
+    EQUAL_WIDTH,
+
+    /**
+     * 不规划分页，循环执行 DELETE ... WHERE ... ORDER BY id LIMIT fetchSize 直到影响 0 行，
+     * maxThreadCount 大于 1 时按最小和最大主键将主键区间粗分为 maxThreadCount 段，各段独立循环。
+     * 只适用于支持 DELETE/UPDATE ... LIMIT 的数据库（MySQL、H2），UPDATE 的 SET 必须使更新后的行不再满足 WHERE 条件
+     */
+    LIMIT_LOOP,
+
+    /**
+     * 只适用于 PostgreSQL 14+：按 pg_class 中表的数据块数将整张表切分为连续的 ctid 范围（ctid &gt;= '(n,0)' AND ctid &lt; '(m,0)'），
+     * 各线程按物理顺序扫描连续的数据块，规划不需要排序，适用于主键顺序与物理存储顺序无关的表。
+     * 其他数据库改用 KEYSET，UPDATE 的要求与 LIMIT_LOOP 相同
+     */
+    CTID
+}
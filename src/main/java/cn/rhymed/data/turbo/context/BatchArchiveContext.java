@@ -0,0 +1,42 @@
+package cn.rhymed.data.turbo.context;
+
+import cn.rhymed.data.turbo.config.BatchArchiveConfig;
+import cn.rhymed.data.turbo.job.BatchProgress;
+
+/**
+ * 批量归档上下文
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchArchiveContext {
+
+    public static final BatchContext<BatchArchiveConfig> CONTEXT = new BatchContext<>();
+
+    public static void setConfig(BatchArchiveConfig batchArchiveConfig) {
+        CONTEXT.setConfig(batchArchiveConfig);
+    }
+
+    public static BatchArchiveConfig getConfig() {
+        return CONTEXT.getConfig();
+    }
+
+    public static void clearConfig() {
+        CONTEXT.clearConfig();
+    }
+
+    /**
+     * 设置异步批量归档的进度，拦截器执行时更新
+     */
+    public static void setProgress(BatchProgress progress) {
+        CONTEXT.setProgress(progress);
+    }
+
+    public static BatchProgress getProgress() {
+        return CONTEXT.getProgress();
+    }
+
+    public static void clearProgress() {
+        CONTEXT.clearProgress();
+    }
+}
@@ -0,0 +1,63 @@
+package cn.rhymed.data.turbo.context;
+
+import cn.rhymed.data.turbo.config.BatchConfig;
+import cn.rhymed.data.turbo.job.BatchProgress;
+
+/**
+ * 批量操作的线程上下文：调用线程设置配置和异步执行的进度，拦截器在同一线程上取出后清空。
+ * 每种批量操作一个实例，各操作的上下文类（如 {@link BatchDeleteContext}）委托给它
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchContext<C extends BatchConfig> {
+
+    final ThreadLocal<C> config = new ThreadLocal<>();
+
+    private final ThreadLocal<BatchProgress> progress = new ThreadLocal<>();
+
+    public void setConfig(C batchConfig) {
+        config.set(batchConfig);
+    }
+
+    public C getConfig() {
+        return config.get();
+    }
+
+    public void clearConfig() {
+        config.remove();
+    }
+
+    /**
+     * 取出当前线程上的配置并清空
+     */
+    public C takeConfig() {
+        C batchConfig = config.get();
+        config.remove();
+        return batchConfig;
+    }
+
+    /**
+     * 设置异步执行的进度，拦截器执行时更新
+     */
+    public void setProgress(BatchProgress batchProgress) {
+        progress.set(batchProgress);
+    }
+
+    public BatchProgress getProgress() {
+        return progress.get();
+    }
+
+    public void clearProgress() {
+        progress.remove();
+    }
+
+    /**
+     * 取出当前线程上的进度并清空
+     */
+    public BatchProgress takeProgress() {
+        BatchProgress batchProgress = progress.get();
+        progress.remove();
+        return batchProgress;
+    }
+}
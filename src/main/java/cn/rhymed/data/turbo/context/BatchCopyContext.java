@@ -0,0 +1,42 @@
+package cn.rhymed.data.turbo.context;
+
+import cn.rhymed.data.turbo.config.BatchCopyConfig;
+import cn.rhymed.data.turbo.job.BatchProgress;
+
+/**
+ * 批量复制上下文
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchCopyContext {
+
+    public static final BatchContext<BatchCopyConfig> CONTEXT = new BatchContext<>();
+
+    public static void setConfig(BatchCopyConfig batchCopyConfig) {
+        CONTEXT.setConfig(batchCopyConfig);
+    }
+
+    public static BatchCopyConfig getConfig() {
+        return CONTEXT.getConfig();
+    }
+
+    public static void clearConfig() {
+        CONTEXT.clearConfig();
+    }
+
+    /**
+     * 设置异步批量复制的进度，拦截器执行时更新
+     */
+    public static void setProgress(BatchProgress progress) {
+        CONTEXT.setProgress(progress);
+    }
+
+    public static BatchProgress getProgress() {
+        return CONTEXT.getProgress();
+    }
+
+    public static void clearProgress() {
+        CONTEXT.clearProgress();
+    }
+}
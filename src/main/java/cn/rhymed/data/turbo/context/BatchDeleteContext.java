@@ -1,6 +1,7 @@
 package cn.rhymed.data.turbo.context;
 
 import cn.rhymed.data.turbo.config.BatchDeleteConfig;
+import cn.rhymed.data.turbo.job.BatchProgress;
 
 /**
  * 批量删除上下文
@@ -10,17 +11,37 @@ import cn.rhymed.data.turbo.config.BatchDeleteConfig;
  **/
 public class BatchDeleteContext {
 
-    protected static final ThreadLocal<BatchDeleteConfig> LOCAL_BATCH_DELETE_CONFIG = new ThreadLocal<>();
+    public static final BatchContext<BatchDeleteConfig> CONTEXT = new BatchContext<>();
+
+    /**
+     * 与 {@link #CONTEXT} 共用的配置 ThreadLocal，保留给继承本类的代码
+     */
+    protected static final ThreadLocal<BatchDeleteConfig> LOCAL_BATCH_DELETE_CONFIG = CONTEXT.config;
 
     public static void setConfig(BatchDeleteConfig batchDeleteConfig) {
-        LOCAL_BATCH_DELETE_CONFIG.set(batchDeleteConfig);
+        CONTEXT.setConfig(batchDeleteConfig);
     }
 
     public static BatchDeleteConfig getConfig() {
-        return LOCAL_BATCH_DELETE_CONFIG.get();
+        return CONTEXT.getConfig();
     }
 
     public static void clearConfig() {
-        LOCAL_BATCH_DELETE_CONFIG.remove();
+        CONTEXT.clearConfig();
+    }
+
+    /**
+     * 设置异步批量删除的进度，拦截器执行时更新
+     */
+    public static void setProgress(BatchProgress progress) {
+        CONTEXT.setProgress(progress);
+    }
+
+    public static BatchProgress getProgress() {
+        return CONTEXT.getProgress();
+    }
+
+    public static void clearProgress() {
+        CONTEXT.clearProgress();
     }
 }
@@ -1,6 +1,7 @@
 package cn.rhymed.data.turbo.context;
 
 import cn.rhymed.data.turbo.config.BatchUpdateConfig;
+import cn.rhymed.data.turbo.job.BatchProgress;
 
 /**
  * 批量更新上下文
@@ -10,17 +11,37 @@ import cn.rhymed.data.turbo.config.BatchUpdateConfig;
  **/
 public class BatchUpdateContext {
 
-    protected static final ThreadLocal<BatchUpdateConfig> LOCAL_BATCH_UPDATE_CONFIG = new ThreadLocal<>();
+    public static final BatchContext<BatchUpdateConfig> CONTEXT = new BatchContext<>();
+
+    /**
+     * 与 {@link #CONTEXT} 共用的配置 ThreadLocal，保留给继承本类的代码
+     */
+    protected static final ThreadLocal<BatchUpdateConfig> LOCAL_BATCH_UPDATE_CONFIG = CONTEXT.config;
 
     public static void setConfig(BatchUpdateConfig batchUpdateConfig) {
-        LOCAL_BATCH_UPDATE_CONFIG.set(batchUpdateConfig);
+        CONTEXT.setConfig(batchUpdateConfig);
     }
 
     public static BatchUpdateConfig getConfig() {
-        return LOCAL_BATCH_UPDATE_CONFIG.get();
+        return CONTEXT.getConfig();
     }
 
     public static void clearConfig() {
-        LOCAL_BATCH_UPDATE_CONFIG.remove();
+        CONTEXT.clearConfig();
+    }
+
+    /**
+     * 设置异步批量更新的进度，拦截器执行时更新
+     */
+    public static void setProgress(BatchProgress progress) {
+        CONTEXT.setProgress(progress);
+    }
+
+    public static BatchProgress getProgress() {
+        return CONTEXT.getProgress();
+    }
+
+    public static void clearProgress() {
+        CONTEXT.clearProgress();
     }
 }
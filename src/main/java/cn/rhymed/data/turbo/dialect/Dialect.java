@@ -0,0 +1,73 @@
+package cn.rhymed.data.turbo.dialect;
+
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+
+/**
+ * 数据库方言：决定生成的分页规划 SQL 和分页 SQL 使用哪些语法
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface Dialect {
+
+    /**
+     * 方言名称，同时作为 SQL 模板缓存键的一部分，生成的 SQL 不同的方言名称必须不同
+     */
+    String getName();
+
+    /**
+     * 是否支持窗口函数，不支持时 ROW_NUMBER 规划策略改用 KEYSET
+     */
+    boolean supportsWindowFunctions();
+
+    /**
+     * 是否支持 (a, b) &gt;= (?, ?) 形式的行值比较，不支持时复合主键的分页条件使用展开形式
+     */
+    boolean supportsRowValueComparison();
+
+    /**
+     * 是否支持 DELETE/UPDATE ... LIMIT n，不支持时 LIMIT_LOOP 规划策略改用 KEYSET
+     */
+    boolean supportsLimitInDml();
+
+    /**
+     * 是否支持 DELETE/UPDATE ... ORDER BY ... LIMIT n
+     */
+    boolean supportsOrderByInDml();
+
+    /**
+     * 是否支持按 ctid 范围只扫描对应的数据块（PostgreSQL 14+ 的 TID Range Scan），不支持时 CTID 规划策略改用 KEYSET
+     */
+    boolean supportsTidRangeScan();
+
+    /**
+     * 子查询的别名，部分数据库（Oracle）不允许表别名前出现 AS
+     */
+    Alias tableAlias(String name);
+
+    /**
+     * 给标识符加上方言的引号，标识符中的引号字符需要转义。
+     * 主键列名在配置中已加引号或包含特殊字符时，生成的 SQL 使用方言的引号
+     */
+    String quoteIdentifier(String identifier);
+
+    /**
+     * ROW_NUMBER 规划 SQL 按页号分组时 GROUP BY 的表达式。允许 GROUP BY 引用 SELECT 列别名的数据库返回别名，
+     * 不允许的数据库（Oracle、SQL Server）返回计算页号的表达式本身
+     *
+     * @param pageNumAlias      页号列的别名
+     * @param pageNumExpression 计算页号的表达式
+     */
+    Expression pageNumGroupBy(String pageNumAlias, Expression pageNumExpression);
+
+    /**
+     * 限制查询返回的行数，调用前查询已经设置了 ORDER BY
+     *
+     * @param select   查询
+     * @param rowCount 最多返回的行数
+     * @param offset   跳过的行数
+     */
+    void limit(PlainSelect select, long rowCount, long offset);
+}
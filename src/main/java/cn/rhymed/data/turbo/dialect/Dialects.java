@@ -0,0 +1,150 @@
+package cn.rhymed.data.turbo.dialect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 数据库方言注册表：按 SqlSessionFactory 缓存方言，未注册时根据 JDBC DatabaseMetaData 自动识别。
+ * 自定义方言可以通过 {@link #addResolver(DialectResolver)} 扩展识别规则，
+ * 或通过 {@link #register(SqlSessionFactory, Dialect)} 为指定的 SqlSessionFactory 固定方言
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class Dialects {
+
+    public static final Dialect STANDARD = new StandardDialect("standard");
+
+    private static final Map<SqlSessionFactory, Dialect> DIALECTS = new ConcurrentHashMap<>();
+    private static final List<DialectResolver> RESOLVERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * 按名称获取内置方言：mysql、mysql-legacy（MySQL 5.7 等不支持窗口函数的版本）、oracle、sqlserver、
+     * postgresql、postgresql-legacy（PostgreSQL 14 之前的版本）、h2、hsqldb、standard
+     */
+    public static Dialect forName(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "mysql":
+                return new MySqlDialect(true);
+            case "mysql-legacy":
+                return new MySqlDialect(false);
+            case "oracle":
+                return new OracleDialect();
+            case "sqlserver":
+                return new SqlServerDialect();
+            case "h2":
+                return new H2Dialect();
+            case "postgresql":
+                return new PostgreSqlDialect(true);
+            case "postgresql-legacy":
+                return new PostgreSqlDialect(false);
+            case "hsqldb":
+                return new StandardDialect(name.trim().toLowerCase(Locale.ROOT));
+            case "standard":
+                return STANDARD;
+            default:
+                throw new IllegalArgumentException("Unknown dialect: " + name);
+        }
+    }
+
+    /**
+     * 根据 DatabaseMetaData 识别方言
+     */
+    public interface DialectResolver {
+
+        /**
+         * @return 无法识别时返回 null，交给下一个识别规则
+         */
+        Dialect resolve(DatabaseMetaData metaData) throws SQLException;
+    }
+
+    /**
+     * 添加自定义识别规则，优先于内置规则
+     */
+    public static void addResolver(DialectResolver resolver) {
+        RESOLVERS.add(resolver);
+    }
+
+    /**
+     * 为 SqlSessionFactory 固定方言，不再自动识别
+     */
+    public static void register(SqlSessionFactory sqlSessionFactory, Dialect dialect) {
+        DIALECTS.put(sqlSessionFactory, dialect);
+    }
+
+    public static void remove(SqlSessionFactory sqlSessionFactory) {
+        DIALECTS.remove(sqlSessionFactory);
+    }
+
+    /**
+     * 获取 SqlSessionFactory 的方言，第一次获取时通过当前连接识别并缓存
+     */
+    public static Dialect get(SqlSessionFactory sqlSessionFactory, Connection connection) {
+        Dialect dialect = DIALECTS.get(sqlSessionFactory);
+        if (dialect != null) {
+            return dialect;
+        }
+        try {
+            dialect = detect(connection.getMetaData());
+        } catch (SQLException e) {
+            log.warn("识别数据库方言失败，使用默认方言", e);
+            dialect = STANDARD;
+        }
+        Dialect existing = DIALECTS.putIfAbsent(sqlSessionFactory, dialect);
+        return existing != null ? existing : dialect;
+    }
+
+    /**
+     * 根据数据库产品名称和版本识别方言
+     */
+    public static Dialect detect(DatabaseMetaData metaData) throws SQLException {
+        for (DialectResolver resolver : RESOLVERS) {
+            Dialect dialect = resolver.resolve(metaData);
+            if (dialect != null) {
+                return dialect;
+            }
+        }
+        String productName = metaData.getDatabaseProductName();
+        int majorVersion = metaData.getDatabaseMajorVersion();
+        int minorVersion = metaData.getDatabaseMinorVersion();
+        Dialect dialect = detect(productName, majorVersion, minorVersion);
+        log.info("识别数据库方言: {} {}.{} -> {}", productName, majorVersion, minorVersion, dialect.getName());
+        return dialect;
+    }
+
+    private static Dialect detect(String productName, int majorVersion, int minorVersion) {
+        String name = productName == null ? "" : productName.toLowerCase(Locale.ROOT);
+        if (name.contains("mariadb")) {
+            return new MySqlDialect(majorVersion > 10 || majorVersion == 10 && minorVersion >= 2);
+        }
+        if (name.contains("mysql")) {
+            return new MySqlDialect(majorVersion >= 8);
+        }
+        if (name.contains("oracle")) {
+            return new OracleDialect();
+        }
+        if (name.contains("sql server")) {
+            return new SqlServerDialect();
+        }
+        if (name.contains("postgresql")) {
+            return new PostgreSqlDialect(majorVersion >= 14);
+        }
+        if (name.equals("h2")) {
+            return new H2Dialect();
+        }
+        if (name.contains("hsql")) {
+            return new StandardDialect("hsqldb");
+        }
+        return STANDARD;
+    }
+}
@@ -0,0 +1,19 @@
+package cn.rhymed.data.turbo.dialect;
+
+/**
+ * H2 方言：支持 DELETE/UPDATE ... LIMIT，但 DELETE 不支持 ORDER BY
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class H2Dialect extends StandardDialect {
+
+    public H2Dialect() {
+        super("h2");
+    }
+
+    @Override
+    public boolean supportsLimitInDml() {
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package cn.rhymed.data.turbo.dialect;
+
+/**
+ * MySQL / MariaDB 方言：支持 DELETE/UPDATE ... ORDER BY ... LIMIT，标识符使用反引号，MySQL 8.0（MariaDB 10.2）之前不支持窗口函数
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class MySqlDialect extends StandardDialect {
+
+    private final boolean windowFunctions;
+
+    public MySqlDialect(boolean windowFunctions) {
+        super(windowFunctions ? "mysql" : "mysql-legacy");
+        this.windowFunctions = windowFunctions;
+    }
+
+    @Override
+    public boolean supportsWindowFunctions() {
+        return windowFunctions;
+    }
+
+    @Override
+    public boolean supportsLimitInDml() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsOrderByInDml() {
+        return true;
+    }
+
+    /**
+     * 默认的 sql_mode 没有 ANSI_QUOTES，双引号表示字符串
+     */
+    @Override
+    public String quoteIdentifier(String identifier) {
+        return '`' + identifier.replace("`", "``") + '`';
+    }
+}
@@ -0,0 +1,53 @@
+package cn.rhymed.data.turbo.dialect;
+
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.statement.select.Fetch;
+import net.sf.jsqlparser.statement.select.Offset;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+
+/**
+ * Oracle 12c+ 方言：OFFSET ... ROWS FETCH NEXT ... ROWS ONLY，表别名前不能有 AS，不支持行值的大小比较
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class OracleDialect extends StandardDialect {
+
+    public OracleDialect() {
+        super("oracle");
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    @Override
+    public Alias tableAlias(String name) {
+        return new Alias(name, false);
+    }
+
+    /**
+     * GROUP BY 不能引用 SELECT 列的别名
+     */
+    @Override
+    public Expression pageNumGroupBy(String pageNumAlias, Expression pageNumExpression) {
+        return pageNumExpression;
+    }
+
+    @Override
+    public void limit(PlainSelect select, long rowCount, long offset) {
+        if (offset > 0) {
+            Offset offsetClause = new Offset();
+            offsetClause.setOffset(offset);
+            offsetClause.setOffsetParam("ROWS");
+            select.setOffset(offsetClause);
+        }
+        Fetch fetch = new Fetch();
+        fetch.setRowCount(rowCount);
+        fetch.setFetchParam("ROWS");
+        fetch.setFetchParamFirst(offset == 0);
+        select.setFetch(fetch);
+    }
+}
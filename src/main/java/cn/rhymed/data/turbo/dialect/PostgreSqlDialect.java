@@ -0,0 +1,23 @@
+package cn.rhymed.data.turbo.dialect;
+
+/**
+ * PostgreSQL 方言：PostgreSQL 14 开始支持 TID Range Scan，ctid 范围条件只扫描对应的数据块，
+ * 之前的版本每个 ctid 范围都要全表扫描，不能使用 CTID 规划策略
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class PostgreSqlDialect extends StandardDialect {
+
+    private final boolean tidRangeScan;
+
+    public PostgreSqlDialect(boolean tidRangeScan) {
+        super(tidRangeScan ? "postgresql" : "postgresql-legacy");
+        this.tidRangeScan = tidRangeScan;
+    }
+
+    @Override
+    public boolean supportsTidRangeScan() {
+        return tidRangeScan;
+    }
+}
@@ -0,0 +1,61 @@
+package cn.rhymed.data.turbo.dialect;
+
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.statement.select.Fetch;
+import net.sf.jsqlparser.statement.select.Offset;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Top;
+
+/**
+ * SQL Server 2012+ 方言：不跳过行时使用 TOP，否则使用 OFFSET ... ROWS FETCH NEXT ... ROWS ONLY，不支持行值比较，
+ * 标识符使用方括号
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class SqlServerDialect extends StandardDialect {
+
+    public SqlServerDialect() {
+        super("sqlserver");
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * 双引号标识符依赖连接的 QUOTED_IDENTIFIER 设置，方括号始终表示标识符
+     */
+    @Override
+    public String quoteIdentifier(String identifier) {
+        return '[' + identifier.replace("]", "]]") + ']';
+    }
+
+    /**
+     * GROUP BY 不能引用 SELECT 列的别名
+     */
+    @Override
+    public Expression pageNumGroupBy(String pageNumAlias, Expression pageNumExpression) {
+        return pageNumExpression;
+    }
+
+    @Override
+    public void limit(PlainSelect select, long rowCount, long offset) {
+        if (offset == 0) {
+            Top top = new Top();
+            top.setExpression(new LongValue(rowCount));
+            select.setTop(top);
+            return;
+        }
+        Offset offsetClause = new Offset();
+        offsetClause.setOffset(offset);
+        offsetClause.setOffsetParam("ROWS");
+        select.setOffset(offsetClause);
+        Fetch fetch = new Fetch();
+        fetch.setRowCount(rowCount);
+        fetch.setFetchParam("ROWS");
+        select.setFetch(fetch);
+    }
+}
@@ -0,0 +1,86 @@
+package cn.rhymed.data.turbo.dialect;
+
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.select.Offset;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+
+/**
+ * 默认方言：LIMIT ... OFFSET ...、窗口函数、行值比较和 ANSI 双引号标识符，适用于 PostgreSQL、HSQLDB 以及未识别的数据库
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class StandardDialect implements Dialect {
+
+    private final String name;
+
+    public StandardDialect(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean supportsWindowFunctions() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsLimitInDml() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsOrderByInDml() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsTidRangeScan() {
+        return false;
+    }
+
+    @Override
+    public Alias tableAlias(String name) {
+        return new Alias(name);
+    }
+
+    @Override
+    public String quoteIdentifier(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public Expression pageNumGroupBy(String pageNumAlias, Expression pageNumExpression) {
+        return new Column(pageNumAlias);
+    }
+
+    @Override
+    public void limit(PlainSelect select, long rowCount, long offset) {
+        Limit limit = new Limit();
+        limit.setRowCount(new LongValue(rowCount));
+        select.setLimit(limit);
+        if (offset > 0) {
+            Offset offsetClause = new Offset();
+            offsetClause.setOffset(offset);
+            select.setOffset(offsetClause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
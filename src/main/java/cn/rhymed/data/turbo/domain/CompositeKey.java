@@ -0,0 +1,37 @@
+package cn.rhymed.data.turbo.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 复合主键的值，按主键列的顺序保存各列的值
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Getter
+@EqualsAndHashCode
+public class CompositeKey {
+
+    private final Object[] values;
+
+    public CompositeKey(Object[] values) {
+        this.values = values;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public Object get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public String toString() {
+        String text = Arrays.toString(values);
+        return "(" + text.substring(1, text.length() - 1) + ")";
+    }
+}
@@ -17,15 +17,19 @@ public class PageResult {
      **/
     private Integer pageNum;
     /**
-     * 开始ID
+     * 开始ID，可以是整数、字符串、UUID、时间等任意可比较的主键类型
      **/
-    private Long startKey;
+    private Object startKey;
     /**
      * 结束ID
      **/
-    private Long endKey;
+    private Object endKey;
     /**
      * 当前分页大小
      **/
     private Integer pageSize;
+    /**
+     * 合并执行的连续分页数（包含当前页），null 表示没有合并
+     **/
+    private Integer mergedPages;
 }
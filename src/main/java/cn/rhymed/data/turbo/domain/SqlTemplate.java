@@ -0,0 +1,82 @@
+package cn.rhymed.data.turbo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 改写后的 SQL 模板，记录每个 ? 对应原始 SQL 中的第几个参数，
+ * 改写过程中新增的参数（分页范围等）使用负数标记
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Getter
+@ToString
+@AllArgsConstructor
+public class SqlTemplate {
+
+    /**
+     * 分页开始ID（包含）
+     */
+    public static final int START_KEY = -1;
+    /**
+     * 分页结束ID（包含）
+     */
+    public static final int END_KEY = -2;
+    /**
+     * 上一页的结束ID（不包含），用于逐页探测分页边界
+     */
+    public static final int LAST_KEY = -3;
+    /**
+     * 复合主键各列的分页开始值、结束值，按列序号依次递减
+     */
+    private static final int START_KEY_COMPONENT = -100;
+    private static final int END_KEY_COMPONENT = -200;
+    private static final int MAX_KEY_COMPONENTS = 100;
+
+    /**
+     * 改写后的 SQL
+     **/
+    private final String sql;
+    /**
+     * 每个 ? 对应原始 ParameterMapping 的下标，负数表示新增参数
+     **/
+    private final int[] parameterIndexes;
+
+    /**
+     * 复合主键第 component 列的分页开始值（包含）
+     */
+    public static int startKey(int component) {
+        return START_KEY_COMPONENT - component;
+    }
+
+    /**
+     * 复合主键第 component 列的分页结束值（包含）
+     */
+    public static int endKey(int component) {
+        return END_KEY_COMPONENT - component;
+    }
+
+    /**
+     * 新增参数在 BoundSql 额外参数中的名称
+     */
+    public static String getParameterName(int parameterIndex) {
+        switch (parameterIndex) {
+            case START_KEY:
+                return "__dt_page_start_key";
+            case END_KEY:
+                return "__dt_page_end_key";
+            case LAST_KEY:
+                return "__dt_page_last_key";
+            default:
+                if (parameterIndex <= START_KEY_COMPONENT && parameterIndex > START_KEY_COMPONENT - MAX_KEY_COMPONENTS) {
+                    return "__dt_page_start_key_" + (START_KEY_COMPONENT - parameterIndex);
+                }
+                if (parameterIndex <= END_KEY_COMPONENT && parameterIndex > END_KEY_COMPONENT - MAX_KEY_COMPONENTS) {
+                    return "__dt_page_end_key_" + (END_KEY_COMPONENT - parameterIndex);
+                }
+                throw new IllegalArgumentException("Unknown parameter index: " + parameterIndex);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package cn.rhymed.data.turbo.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 自适应并发数限制（AIMD）：从 1 个并发开始，根据每次事务的单页耗时调整同时执行事务的工作线程数。
+ * 单页耗时没有明显变慢时加 1，明显变慢（超过观察到的最快单页耗时的 tolerance 倍）或执行失败时减半，
+ * 最多不超过 maxLimit。每一轮（当前并发数个事务完成）最多调整一次，避免刚调整完就根据旧的耗时再次调整
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 单页耗时超过最快单页耗时的倍数时认为数据库已经过载
+     */
+    private static final double DEFAULT_TOLERANCE = 2.0;
+
+    private final int maxLimit;
+    private final double tolerance;
+
+    private int limit = 1;
+    private int peakLimit = 1;
+    private int inFlight;
+    private long minNanosPerPage = Long.MAX_VALUE;
+    private int completedInRound;
+    private boolean overloadedInRound;
+
+    public AdaptiveConcurrencyLimiter(int maxLimit) {
+        this(maxLimit, DEFAULT_TOLERANCE);
+    }
+
+    public AdaptiveConcurrencyLimiter(int maxLimit, double tolerance) {
+        this.maxLimit = Math.max(maxLimit, 1);
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * 开始一次事务，正在执行的事务数达到当前并发数时阻塞等待
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * 事务完成，根据单页耗时调整并发数
+     *
+     * @param elapsedNanos 事务耗时（纳秒）
+     * @param pageCount    事务内执行的分页数
+     */
+    public synchronized void release(long elapsedNanos, int pageCount) {
+        inFlight--;
+        long nanosPerPage = elapsedNanos / Math.max(pageCount, 1);
+        minNanosPerPage = Math.min(minNanosPerPage, nanosPerPage);
+        if (nanosPerPage > minNanosPerPage * tolerance) {
+            overloadedInRound = true;
+        }
+        if (++completedInRound >= limit) {
+            int previous = limit;
+            limit = overloadedInRound ? Math.max(limit / 2, 1) : Math.min(limit + 1, maxLimit);
+            peakLimit = Math.max(peakLimit, limit);
+            completedInRound = 0;
+            overloadedInRound = false;
+            if (limit != previous) {
+                log.info("自适应并发数调整: {} -> {}（单页耗时 {} ms，最快 {} ms）", previous, limit,
+                        nanosPerPage / 1_000_000, minNanosPerPage / 1_000_000);
+            }
+        }
+        notifyAll();
+    }
+
+    /**
+     * 事务失败，立即将并发数减半
+     */
+    public synchronized void releaseOnError() {
+        inFlight--;
+        int previous = limit;
+        limit = Math.max(limit / 2, 1);
+        completedInRound = 0;
+        overloadedInRound = false;
+        if (limit != previous) {
+            log.info("事务执行失败，自适应并发数调整: {} -> {}", previous, limit);
+        }
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getPeakLimit() {
+        return peakLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AdaptiveConcurrencyLimiter(limit=" + limit + ", peakLimit=" + peakLimit + ", maxLimit=" + maxLimit
+                + ", inFlight=" + inFlight + ", minNanosPerPage=" + minNanosPerPage + ")";
+    }
+}
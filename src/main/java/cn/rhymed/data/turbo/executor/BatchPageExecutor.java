@@ -0,0 +1,666 @@
+package cn.rhymed.data.turbo.executor;
+
+import cn.rhymed.data.turbo.RowNumberSqlParser;
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.checkpoint.CheckpointJournal;
+import cn.rhymed.data.turbo.config.BatchConfig;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.dialect.Dialect;
+import cn.rhymed.data.turbo.dialect.Dialects;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.job.BatchProgress;
+import cn.rhymed.data.turbo.metrics.BatchMetrics;
+import cn.rhymed.data.turbo.metrics.BatchMetricsListener;
+import cn.rhymed.data.turbo.operation.BatchOperation;
+import cn.rhymed.data.turbo.planner.EqualWidthPagePlanner;
+import cn.rhymed.data.turbo.planner.PagePlanner;
+import cn.rhymed.data.turbo.planner.PagePlanners;
+import cn.rhymed.data.turbo.planner.PageResultHandler;
+import cn.rhymed.data.turbo.throttle.BatchThrottle;
+import cn.rhymed.data.turbo.throttle.BatchThrottles;
+import cn.rhymed.data.turbo.utils.BoundSqlUtils;
+import cn.rhymed.data.turbo.utils.KeyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 分页批量执行器：先规划分页，再由多个工作线程按分页范围并发执行原语句。
+ * 所有批量操作共用此执行流程，每页执行哪些语句由 {@link BatchOperation} 决定
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class BatchPageExecutor {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final BatchOperation operation;
+    /**
+     * 操作名称，用于日志输出，例如 删除、更新
+     */
+    private final String operationName;
+    /**
+     * 共享的工作线程池，为 null 时每个任务单独创建线程池，任务结束后关闭
+     */
+    private final ExecutorService workerExecutor;
+
+    public BatchPageExecutor(SqlSessionFactory sqlSessionFactory, BatchOperation operation,
+                             ExecutorService workerExecutor) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.operation = operation;
+        this.operationName = operation.getName();
+        this.workerExecutor = workerExecutor;
+    }
+
+    /**
+     * 执行批量操作
+     *
+     * @return 实际影响的行数
+     */
+    public int execute(Invocation invocation, BatchConfig config) throws Throwable {
+        return execute(invocation, config, null);
+    }
+
+    /**
+     * 执行批量操作，执行过程中更新 progress
+     *
+     * @param progress 异步执行时的进度，同步执行时为 null
+     * @return 实际影响的行数
+     */
+    public int execute(Invocation invocation, BatchConfig config, BatchProgress progress) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        Object parameter = args[1];
+        Executor executor = (Executor) invocation.getTarget();
+        BoundSql boundSql = ms.getBoundSql(parameter);
+
+        log.info("配置参数: primaryId={}, fetchSize={}, batchSize={}, maxThreadCount={}, pipelined={}, adaptive={}",
+                config.getPrimaryId(),
+                config.getFetchSize(),
+                config.getBatchSize(),
+                config.getMaxThreadCount(),
+                config.isPipelined(),
+                config.isAdaptive());
+        log.info("原始 SQL: {}", boundSql.getSql());
+
+        PageConfig pageConfig = PageConfig.builder()
+                .primaryId(config.getPrimaryId())
+                .pageSize(config.getFetchSize())
+                .expandedKeyComparison(config.isExpandedKeyComparison())
+                .dialect(Dialects.get(sqlSessionFactory, executor.getTransaction().getConnection()))
+                .build();
+        PlanningStrategy planningStrategy = getPlanningStrategy(config, pageConfig.getDialect(), ms, boundSql, parameter);
+        // 有断点日志时直接从日志恢复分页规划
+        CheckpointJournal journal = openJournal(config, planningStrategy, ms, boundSql, parameter);
+        if (planningStrategy == PlanningStrategy.LIMIT_LOOP) {
+            return doLimitLoop(executor, pageConfig, ms, parameter, boundSql, config, journal, progress);
+        }
+
+        // 分页 SQL 模板从缓存获取，所有分页共用同一条 SQL，只有绑定的分页范围不同
+        SqlTemplate pageSqlTemplate = planningStrategy == PlanningStrategy.CTID
+                ? SqlTemplateCache.getInstance().getCtidPageTemplate(ms.getId(), boundSql.getSql(), pageConfig)
+                : SqlTemplateCache.getInstance().getPageSqlTemplate(ms.getId(), boundSql.getSql(), pageConfig);
+        List<SqlTemplate> pageSqlTemplates = operation.getPageTemplates(config, ms, boundSql.getSql(), pageConfig,
+                pageSqlTemplate);
+        if (log.isDebugEnabled()) {
+            for (SqlTemplate template : pageSqlTemplates) {
+                log.debug("生成的" + operationName + " SQL 模板: {}", template.getSql());
+            }
+        }
+
+        Job job = new Job(ms, parameter, boundSql, pageSqlTemplates, config, planningStrategy, 0, progress);
+        if (journal != null) {
+            return resume(job, journal);
+        }
+        if (config.isPipelined()) {
+            if (config.getCheckpointId() != null) {
+                log.warn("边规划边执行模式不记录断点，checkpointId={} 未生效", config.getCheckpointId());
+            }
+            return doPipelined(invocation, executor, pageConfig, job);
+        }
+
+        //获取分页配置信息（通过窗口函数查询）
+        List<PageResult> pageResults = doGetPageConfig(executor, pageConfig, job);
+        // 如果小于等于1页，直接执行原操作
+        if (pageResults.size() <= 1 && operation.isProceedable()) {
+            return proceed(invocation);
+        }
+        if (pageResults.isEmpty()) {
+            log.info("没有符合条件的数据，无需" + operationName);
+            return 0;
+        }
+        job.journal = createJournal(config, planningStrategy, ms, boundSql, parameter, pageResults);
+        return doBatch(job, pageResults);
+    }
+
+    /**
+     * 打开断点日志，未配置断点 ID、没有断点日志、语句或参数不同、读取失败时返回 null
+     */
+    private static CheckpointJournal openJournal(BatchConfig config, PlanningStrategy planningStrategy,
+                                                 MappedStatement ms, BoundSql boundSql, Object parameter) {
+        if (config.getCheckpointId() == null) {
+            return null;
+        }
+        try {
+            return CheckpointJournal.open(config.getCheckpointId(), journalStatement(planningStrategy, boundSql.getSql()),
+                    journalFingerprint(config, ms, boundSql, parameter));
+        } catch (Exception e) {
+            log.warn("读取断点日志失败，重新规划分页: checkpointId={}", config.getCheckpointId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 创建断点日志，未配置断点 ID 或写入失败（例如主键类型不支持）时返回 null，不记录断点
+     */
+    private static CheckpointJournal createJournal(BatchConfig config, PlanningStrategy planningStrategy,
+                                                   MappedStatement ms, BoundSql boundSql, Object parameter,
+                                                   List<PageResult> pageResults) {
+        if (config.getCheckpointId() == null) {
+            return null;
+        }
+        try {
+            CheckpointJournal journal = CheckpointJournal.create(config.getCheckpointId(),
+                    journalStatement(planningStrategy, boundSql.getSql()),
+                    journalFingerprint(config, ms, boundSql, parameter), pageResults);
+            log.info("断点日志已创建: {}", journal);
+            return journal;
+        } catch (Exception e) {
+            log.warn("创建断点日志失败，本次执行不记录断点: checkpointId={}", config.getCheckpointId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 断点日志的参数指纹：同一条语句绑定的参数值、主键或分页大小不同时，分页规划不能沿用
+     */
+    private static byte[] journalFingerprint(BatchConfig config, MappedStatement ms, BoundSql boundSql,
+                                             Object parameter) {
+        return CheckpointJournal.fingerprint(config.getPrimaryId(), config.getFetchSize(),
+                BoundSqlUtils.getParameterValues(ms.getConfiguration(), boundSql, parameter));
+    }
+
+    /**
+     * 断点日志记录的语句：不同策略的分页含义不同（主键范围、ctid 范围），策略改变时不能沿用上次的分页规划
+     */
+    private static String journalStatement(PlanningStrategy planningStrategy, String sql) {
+        return planningStrategy + ": " + sql;
+    }
+
+    /**
+     * 从断点日志恢复执行，只执行未完成的分页
+     */
+    private int resume(Job job, CheckpointJournal journal) throws Exception {
+        job.journal = journal;
+        List<PageResult> pendingPages = journal.getPendingPages();
+        log.info("从断点恢复: {}，剩余 {} 页", journal, pendingPages.size());
+        if (job.metrics != null) {
+            job.metrics.onPlanned(job.ms, operationName, job.planningStrategy, pendingPages.size(), 0);
+        }
+        if (pendingPages.isEmpty()) {
+            journal.finish();
+            return 0;
+        }
+        return doBatch(job, pendingPages);
+    }
+
+    private int proceed(Invocation invocation) throws Throwable {
+        log.info("数据量较小（<=1页），使用普通" + operationName + "模式");
+        return (int) invocation.proceed();
+    }
+
+    private int doBatch(Job job, List<PageResult> pageResults) throws Exception {
+        if (job.progress != null) {
+            job.progress.onPlanned(pageResults.size());
+        }
+        int poolSize = Math.min(pageResults.size(), job.config.getMaxThreadCount());
+        ExecutorService executorService = acquireExecutor(poolSize);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // 各线程从共享的分页来源动态领取分页，而不是预先按线程切分连续的分页区间，
+        // 避免某个线程分到慢分页（热点、锁竞争、冷数据）时其他线程提前空闲
+        int pageSize = pageResults.size();
+        PageSource pageSource = PageSource.shared(pageResults);
+        for (int i = 0; i < poolSize; i++) {
+            PageWorker worker = job.newWorker(i + 1);
+            CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> worker.run(pageSource), executorService);
+            // 任一线程失败时中止分页来源，其他线程不再领取剩余分页
+            future.whenComplete((result, e) -> {
+                if (e != null) {
+                    pageSource.abort();
+                }
+            });
+            futures.add(future);
+        }
+        log.info("共 {} 页，由 {} 个线程动态领取执行", pageSize, poolSize);
+
+        log.info("所有线程已启动，等待执行完成...");
+        try {
+            int totalAffected = awaitAll(futures, pageSize, job);
+            // 全部完成后删除断点日志，执行失败时保留，下次使用相同的断点 ID 执行时恢复
+            if (job.journal != null) {
+                job.journal.finish();
+            }
+            return totalAffected;
+        } finally {
+            releaseExecutor(executorService);
+            if (job.journal != null) {
+                job.journal.close();
+            }
+        }
+    }
+
+    private int doPipelined(Invocation invocation, Executor executor, PageConfig pageConfig, Job job) throws Throwable {
+        PagePlanner planner = PagePlanners.of(job.planningStrategy, pageConfig);
+        PipelineHandler handler = new PipelineHandler(job);
+        long startTime = System.nanoTime();
+        log.info("分页规划策略: {}，边规划边执行", job.planningStrategy);
+        try {
+            planner.plan(job.ms, job.parameter, executor, job.boundSql, pageConfig, handler);
+        } catch (Throwable e) {
+            // 规划失败，通知已启动的工作线程停止，等待其结束后再抛出异常
+            handler.queue.abort();
+            handler.awaitQuietly();
+            throw e;
+        }
+        long planNanos = System.nanoTime() - startTime;
+        log.info("分页信息查询完成，共 {} 页，耗时 {} ms", handler.pageCount, planNanos / 1_000_000);
+        if (job.metrics != null) {
+            job.metrics.onPlanned(job.ms, operationName, job.planningStrategy, handler.pageCount, planNanos);
+        }
+        if (job.progress != null) {
+            job.progress.onPlanningFinished();
+        }
+
+        // 如果小于等于1页，工作线程不会启动，直接执行原操作
+        if (!handler.isStarted()) {
+            if (operation.isProceedable()) {
+                return proceed(invocation);
+            }
+            if (handler.pageCount == 0) {
+                log.info("没有符合条件的数据，无需" + operationName);
+                return 0;
+            }
+            // 原语句不能完成整个操作，唯一的一页同样交给工作线程执行
+            handler.startWithFirstPage();
+        }
+        handler.queue.close();
+        try {
+            return awaitAll(handler.futures, handler.pageCount, handler.job);
+        } finally {
+            releaseExecutor(handler.executorService);
+        }
+    }
+
+    /**
+     * 不规划分页，循环执行带 LIMIT 的原语句直到影响行数小于 LIMIT。
+     * 多线程时只查询一次最小和最大主键，将主键区间粗分为 maxThreadCount 段，各线程各自循环一段
+     */
+    private int doLimitLoop(Executor executor, PageConfig pageConfig, MappedStatement ms, Object parameter,
+                            BoundSql boundSql, BatchConfig config, CheckpointJournal journal,
+                            BatchProgress progress) throws Exception {
+        // 如果分页大小设置不合理则强制为1000
+        int limit = config.getFetchSize() <= 1 ? 1000 : config.getFetchSize();
+        List<PageResult> ranges = new ArrayList<>();
+        long startTime = System.nanoTime();
+        if (journal != null) {
+            // 从断点恢复时沿用上次的主键范围，只循环未完成的范围
+            ranges.addAll(journal.getPendingPages());
+            log.info("从断点恢复: {}，剩余 {} 个主键范围", journal, ranges.size());
+            if (ranges.isEmpty()) {
+                journal.finish();
+                return 0;
+            }
+        } else if (config.getMaxThreadCount() > 1 && !pageConfig.isCompositeKey()) {
+            PageResult keyRange = EqualWidthPagePlanner.queryKeyRange(ms, parameter, executor, boundSql, pageConfig);
+            if (keyRange == null) {
+                log.info("没有符合条件的数据，无需" + operationName);
+                return 0;
+            }
+            splitKeyRange(keyRange, config.getMaxThreadCount(), ranges);
+        } else {
+            // 单线程时不限定主键范围，不需要任何规划查询
+            ranges.add(new PageResult());
+        }
+        boolean ranged = ranges.get(0).getStartKey() != null;
+
+        SqlTemplate loopSqlTemplate = SqlTemplateCache.getInstance()
+                .getLimitLoopTemplate(ms.getId(), boundSql.getSql(), pageConfig, ranged, limit);
+        log.info("分页规划策略: {}，共 {} 个主键范围，每次最多" + operationName + " {} 条",
+                PlanningStrategy.LIMIT_LOOP, ranges.size(), limit);
+        log.debug("生成的" + operationName + " SQL 模板: {}", loopSqlTemplate.getSql());
+
+        List<SqlTemplate> loopSqlTemplates = operation.getPageTemplates(config, ms, boundSql.getSql(), pageConfig,
+                loopSqlTemplate);
+        Job job = new Job(ms, parameter, boundSql, loopSqlTemplates, config, PlanningStrategy.LIMIT_LOOP, limit,
+                progress);
+        if (job.metrics != null) {
+            job.metrics.onPlanned(ms, operationName, PlanningStrategy.LIMIT_LOOP, ranges.size(), System.nanoTime() - startTime);
+        }
+        job.journal = journal != null
+                ? journal : createJournal(config, PlanningStrategy.LIMIT_LOOP, ms, boundSql, parameter, ranges);
+        return doBatch(job, ranges);
+    }
+
+    /**
+     * 将主键范围等宽切分为最多 parts 段，非整数主键不切分
+     */
+    private static void splitKeyRange(PageResult keyRange, int parts, List<PageResult> ranges) {
+        Long min = KeyUtils.toLong(keyRange.getStartKey());
+        Long max = KeyUtils.toLong(keyRange.getEndKey());
+        if (min == null || max == null) {
+            keyRange.setPageNum(0);
+            ranges.add(keyRange);
+            return;
+        }
+        // 先转为 BigInteger 计算宽度，防止主键跨度超过 Long.MAX_VALUE 时溢出
+        BigInteger width = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+        long rangeWidth = width.add(BigInteger.valueOf(parts - 1)).divide(BigInteger.valueOf(parts)).longValue();
+        long startKey = min;
+        int pageNum = 0;
+        while (true) {
+            long endKey = max - startKey < rangeWidth ? max : startKey + rangeWidth - 1;
+            PageResult range = new PageResult();
+            range.setPageNum(pageNum++);
+            range.setStartKey(startKey);
+            range.setEndKey(endKey);
+            ranges.add(range);
+            if (endKey == max) {
+                return;
+            }
+            startKey = endKey + 1;
+        }
+    }
+
+    private int awaitAll(List<CompletableFuture<Integer>> futures, int pageCount, Job job) throws Exception {
+        // 等待所有任务完成
+        CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        try {
+            allOf.get();
+            log.info("所有线程执行完成，开始汇总结果...");
+        } catch (Exception e) {
+            if (job.metrics != null) {
+                job.metrics.onFinished(job.ms, operationName, false, job.statistics.getTotalRows(),
+                        System.nanoTime() - job.startNanos, new int[0]);
+            }
+            log.error("批量" + operationName + "任务执行失败", e);
+            throw new RuntimeException("批量" + operationName + "任务执行失败", e);
+        }
+
+        // 汇总所有线程的影响行数
+        int totalAffected = 0;
+        int[] threadRows = new int[futures.size()];
+        for (int i = 0; i < futures.size(); i++) {
+            int threadAffected = futures.get(i).get();
+            threadRows[i] = threadAffected;
+            totalAffected += threadAffected;
+            log.info("线程 #{} " + operationName + "数量: {}", i + 1, threadAffected);
+        }
+        if (job.metrics != null) {
+            job.metrics.onFinished(job.ms, operationName, true, totalAffected, System.nanoTime() - job.startNanos, threadRows);
+        }
+
+        log.info("----------------------------------------");
+        log.info("批量" + operationName + "统计: 使用 {} 个线程，处理 {} 个分页，总共" + operationName + " {} 条记录",
+                futures.size(), pageCount, totalAffected);
+        PageStatistics statistics = job.statistics;
+        log.info("分页实际行数: 最少 {} 条，最多 {} 条，平均 {} 条，空页 {} 个",
+                statistics.getMinRows(), statistics.getMaxRows(),
+                statistics.getAverageRows(), statistics.getEmptyPageCount());
+        log.info("语句执行耗时: {}，事务提交耗时: {}", statistics.getExecuteLatency(), statistics.getCommitLatency());
+        if (statistics.getPermitWaitMillis() > 0) {
+            log.info("各线程等待连接许可累计 {} ms", statistics.getPermitWaitMillis());
+        }
+        if (statistics.getThrottleWaitMillis() > 0) {
+            log.info("各线程限流等待累计 {} ms", statistics.getThrottleWaitMillis());
+        }
+        if (job.limiter != null) {
+            log.info("自适应并发数: 最终 {}，最高 {}，上限 {}",
+                    job.limiter.getLimit(), job.limiter.getPeakLimit(), job.limiter.getMaxLimit());
+        }
+        log.info("----------------------------------------");
+        return totalAffected;
+    }
+
+    private List<PageResult> doGetPageConfig(Executor executor, PageConfig pageConfig, Job job) throws Exception {
+        long startTime = System.nanoTime();
+
+        log.info("分页规划策略: {}", job.planningStrategy);
+        List<PageResult> pageResults = PagePlanners.of(job.planningStrategy, pageConfig)
+                .plan(job.ms, job.parameter, executor, job.boundSql, pageConfig);
+
+        long planNanos = System.nanoTime() - startTime;
+        log.info("分页信息查询完成，共 {} 页，耗时 {} ms", pageResults.size(), planNanos / 1_000_000);
+        if (job.metrics != null) {
+            job.metrics.onPlanned(job.ms, operationName, job.planningStrategy, pageResults.size(), planNanos);
+        }
+
+        // 打印分页详情
+        if (log.isDebugEnabled() && !pageResults.isEmpty()) {
+            log.debug("分页详情:");
+            for (int i = 0; i < Math.min(pageResults.size(), 5); i++) {
+                PageResult pr = pageResults.get(i);
+                log.debug("  第 {} 页: startKey={}, endKey={}, pageSize={}",
+                        i + 1, pr.getStartKey(), pr.getEndKey(), pr.getPageSize());
+            }
+            if (pageResults.size() > 5) {
+                log.debug("  ... 还有 {} 页", pageResults.size() - 5);
+            }
+        }
+
+        return pageResults;
+    }
+
+    private ExecutorService acquireExecutor(int poolSize) {
+        if (workerExecutor != null) {
+            return workerExecutor;
+        }
+        return WorkerExecutors.newJobExecutor("data-turbo" + operation.getStatementSuffix(), poolSize);
+    }
+
+    private void releaseExecutor(ExecutorService executorService) {
+        // 共享线程池由创建方负责关闭
+        if (executorService != workerExecutor) {
+            executorService.shutdown();
+        }
+    }
+
+    private PlanningStrategy getPlanningStrategy(BatchConfig config, Dialect dialect, MappedStatement ms,
+                                                 BoundSql boundSql, Object parameter) {
+        PlanningStrategy planningStrategy = operation.getPlanningStrategy(
+                config.getPlanningStrategy() != null ? config.getPlanningStrategy() : PlanningStrategy.ROW_NUMBER);
+        if (planningStrategy == PlanningStrategy.LIMIT_LOOP) {
+            if (!dialect.supportsLimitInDml()) {
+                log.info("数据库方言 {} 不支持 DELETE/UPDATE ... LIMIT，分页规划策略改用 KEYSET", dialect.getName());
+                return PlanningStrategy.KEYSET;
+            }
+            if (!excludesUpdatedRows(config, ms, boundSql, parameter)) {
+                log.warn("无法确认更新后的行不再满足 WHERE 条件，循环执行 LIMIT 可能无法结束，分页规划策略改用 KEYSET。"
+                        + "确认不会再匹配时可开启 updatedRowsExcluded");
+                return PlanningStrategy.KEYSET;
+            }
+            return planningStrategy;
+        }
+        if (planningStrategy == PlanningStrategy.CTID) {
+            if (!dialect.supportsTidRangeScan()) {
+                log.info("数据库方言 {} 不支持按 ctid 范围扫描，分页规划策略改用 KEYSET", dialect.getName());
+                return PlanningStrategy.KEYSET;
+            }
+            // 更新后的行可能移动到后续的数据块，再次满足条件时会被重复更新
+            if (!excludesUpdatedRows(config, ms, boundSql, parameter)) {
+                log.warn("无法确认更新后的行不再满足 WHERE 条件，更新后的行可能被重复更新，分页规划策略改用 KEYSET。"
+                        + "确认不会再匹配时可开启 updatedRowsExcluded");
+                return PlanningStrategy.KEYSET;
+            }
+            return planningStrategy;
+        }
+        // 数据库不支持窗口函数时改为逐页探测，只需要 ORDER BY ... LIMIT
+        PlanningStrategy supported = PagePlanners.supportedStrategy(planningStrategy, dialect);
+        if (supported != planningStrategy) {
+            log.info("数据库方言 {} 不支持窗口函数，分页规划策略改用 {}", dialect.getName(), supported);
+        }
+        return supported;
+    }
+
+    /**
+     * 处理过的行是否不会再次满足条件：配置中显式确认，或能按绑定的参数值从 SQL 证明
+     */
+    private static boolean excludesUpdatedRows(BatchConfig config, MappedStatement ms, BoundSql boundSql,
+                                               Object parameter) {
+        return config.isUpdatedRowsExcluded() || RowNumberSqlParser.excludesUpdatedRows(boundSql.getSql(),
+                BoundSqlUtils.getParameterValues(ms.getConfiguration(), boundSql, parameter));
+    }
+
+    /**
+     * 一次批量操作的执行参数
+     */
+    private class Job {
+        private final MappedStatement ms;
+        private final Object parameter;
+        private final BoundSql boundSql;
+        /**
+         * 每页在同一个事务中按顺序执行的语句
+         */
+        private final List<SqlTemplate> pageSqlTemplates;
+        private final BatchConfig config;
+        private final PlanningStrategy planningStrategy;
+        /**
+         * LIMIT_LOOP 模式下每条语句的 LIMIT，0 表示不是 LIMIT_LOOP 模式
+         */
+        private final int loopLimit;
+        private final PageStatistics statistics = new PageStatistics();
+        private final ConnectionGovernor governor = ConnectionGovernor.get(sqlSessionFactory);
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final BatchThrottle throttle = BatchThrottles.get(sqlSessionFactory);
+        /**
+         * 异步执行时的进度，同步执行时为 null
+         */
+        private final BatchProgress progress;
+        private final BatchMetricsListener metrics = BatchMetrics.get(sqlSessionFactory);
+        private final long startNanos = System.nanoTime();
+        /**
+         * 断点日志，规划完成后才创建，未配置断点 ID 时为 null
+         */
+        private CheckpointJournal journal;
+
+        private Job(MappedStatement ms, Object parameter, BoundSql boundSql,
+                    List<SqlTemplate> pageSqlTemplates, BatchConfig config, PlanningStrategy planningStrategy,
+                    int loopLimit, BatchProgress progress) {
+            this.ms = ms;
+            this.parameter = parameter;
+            this.boundSql = boundSql;
+            this.pageSqlTemplates = pageSqlTemplates;
+            this.config = config;
+            this.planningStrategy = planningStrategy;
+            this.loopLimit = loopLimit;
+            this.progress = progress;
+            this.limiter = config.isAdaptive() ? new AdaptiveConcurrencyLimiter(config.getMaxThreadCount()) : null;
+        }
+
+        private PageWorker newWorker(int threadIndex) {
+            return new PageWorker(sqlSessionFactory, ms, parameter, boundSql, pageSqlTemplates, config,
+                    operation, ms.getId() + operation.getStatementSuffix() + threadIndex, threadIndex, statistics,
+                    governor, limiter, throttle, loopLimit, journal, progress, metrics);
+        }
+    }
+
+    /**
+     * 边规划边执行的分页处理器：暂存第一页，收到第二页时才启动工作线程，
+     * 之后的分页放入有界队列，队列满时阻塞规划线程
+     */
+    private class PipelineHandler implements PageResultHandler {
+        private final Job job;
+        private final PageQueue queue;
+        private final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        private ExecutorService executorService;
+        private PageResult firstPage;
+        private int pageCount;
+
+        private PipelineHandler(Job job) {
+            this.job = job;
+            this.queue = new PageQueue(job.config.getMaxThreadCount() * 2);
+        }
+
+        @Override
+        public boolean handle(PageResult pageResult) {
+            pageCount++;
+            if (job.progress != null) {
+                job.progress.onPagePlanned();
+            }
+            if (pageCount == 1) {
+                firstPage = pageResult;
+                return true;
+            }
+            if (pageCount == 2 && !startWithFirstPage()) {
+                return false;
+            }
+            return offer(pageResult);
+        }
+
+        /**
+         * 启动工作线程并放入暂存的第一页
+         */
+        private boolean startWithFirstPage() {
+            start();
+            PageResult pageResult = firstPage;
+            firstPage = null;
+            return offer(pageResult);
+        }
+
+        private boolean offer(PageResult pageResult) {
+            try {
+                return queue.put(pageResult);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.abort();
+                return false;
+            }
+        }
+
+        private void start() {
+            int poolSize = job.config.getMaxThreadCount();
+            executorService = acquireExecutor(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                PageWorker worker = job.newWorker(i + 1);
+                CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> worker.run(queue), executorService);
+                // 任一工作线程失败时中止整个任务，规划线程和其他工作线程随之停止
+                future.whenComplete((result, e) -> {
+                    if (e != null) {
+                        queue.abort();
+                    }
+                });
+                futures.add(future);
+            }
+            log.info("已启动 {} 个工作线程，边规划边执行...", poolSize);
+        }
+
+        private boolean isStarted() {
+            return executorService != null;
+        }
+
+        private void awaitQuietly() {
+            if (!isStarted()) {
+                return;
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            } catch (Exception e) {
+                log.debug("工作线程已中止", e);
+            } finally {
+                releaseExecutor(executorService);
+            }
+        }
+    }
+}
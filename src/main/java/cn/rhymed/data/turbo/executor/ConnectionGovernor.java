@@ -0,0 +1,138 @@
+package cn.rhymed.data.turbo.executor;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批量操作连接许可：限制同一个 SqlSessionFactory 上所有并发批量任务同时占用的连接数，
+ * 避免多个批量任务同时执行时耗尽连接池影响在线请求。
+ * 工作线程每次事务前按先来先得的顺序获取许可，事务提交后归还连接和许可，并发任务之间轮流使用连接
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class ConnectionGovernor {
+
+    private static final Map<SqlSessionFactory, ConnectionGovernor> GOVERNORS = new ConcurrentHashMap<>();
+
+    /**
+     * 常见连接池获取最大连接数的方法（HikariCP、Druid/DBCP/Tomcat、MyBatis PooledDataSource）
+     */
+    private static final String[] POOL_SIZE_METHODS = {"getMaximumPoolSize", "getMaxActive", "getMaxTotal",
+            "getPoolMaximumActiveConnections"};
+
+    private final int permits;
+    private final Semaphore semaphore;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public ConnectionGovernor(int permits) {
+        this.permits = Math.max(permits, 1);
+        // 公平模式，先等待的工作线程先获得许可，不同任务之间不会互相饿死
+        this.semaphore = new Semaphore(this.permits, true);
+    }
+
+    /**
+     * 为 SqlSessionFactory 注册连接许可
+     */
+    public static ConnectionGovernor register(SqlSessionFactory sqlSessionFactory, int permits) {
+        ConnectionGovernor governor = new ConnectionGovernor(permits);
+        GOVERNORS.put(sqlSessionFactory, governor);
+        return governor;
+    }
+
+    /**
+     * 获取 SqlSessionFactory 的连接许可，未注册时返回 null 表示不限制
+     */
+    public static ConnectionGovernor get(SqlSessionFactory sqlSessionFactory) {
+        return GOVERNORS.get(sqlSessionFactory);
+    }
+
+    public static void remove(SqlSessionFactory sqlSessionFactory) {
+        GOVERNORS.remove(sqlSessionFactory);
+    }
+
+    /**
+     * 获取连接池的最大连接数，无法识别连接池类型时返回 0
+     */
+    public static int getPoolSize(DataSource dataSource) {
+        if (dataSource == null) {
+            return 0;
+        }
+        for (String methodName : POOL_SIZE_METHODS) {
+            try {
+                Method method = dataSource.getClass().getMethod(methodName);
+                Object size = method.invoke(dataSource);
+                if (size instanceof Number && ((Number) size).intValue() > 0) {
+                    return ((Number) size).intValue();
+                }
+            } catch (ReflectiveOperationException e) {
+                // 不是该类型的连接池，继续尝试下一个
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 获取一个许可，没有可用许可时阻塞等待
+     *
+     * @return 等待的时间（纳秒）
+     */
+    public long acquire() throws InterruptedException {
+        acquireCount.increment();
+        // tryAcquire() 会插队，带超时的版本才遵守公平顺序
+        if (semaphore.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            return 0;
+        }
+        long startTime = System.nanoTime();
+        semaphore.acquire();
+        long waited = System.nanoTime() - startTime;
+        waitCount.increment();
+        waitNanos.add(waited);
+        return waited;
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return semaphore.getQueueLength();
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    public long getWaitMillis() {
+        return waitNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionGovernor(permits=" + permits + ", available=" + getAvailablePermits()
+                + ", queueLength=" + getQueueLength() + ", acquireCount=" + getAcquireCount()
+                + ", waitCount=" + getWaitCount() + ", waitMillis=" + getWaitMillis() + ")";
+    }
+}
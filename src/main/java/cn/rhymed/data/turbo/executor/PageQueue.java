@@ -0,0 +1,104 @@
+package cn.rhymed.data.turbo.executor;
+
+import cn.rhymed.data.turbo.domain.PageResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有界分页队列，规划线程边规划边放入，工作线程同时取出执行。
+ * 队列满时规划线程阻塞等待，保证规划不会远远领先于执行
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class PageQueue implements PageSource {
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final BlockingQueue<PageResult> queue;
+
+    private volatile boolean closed;
+    private volatile boolean aborted;
+
+    public PageQueue(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+    }
+
+    /**
+     * 放入一个分页，队列已满时阻塞等待
+     *
+     * @return 任务已中止时返回 false
+     */
+    public boolean put(PageResult pageResult) throws InterruptedException {
+        while (!aborted) {
+            if (queue.offer(pageResult, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 规划完成，不会再放入新的分页，工作线程处理完剩余分页后结束
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * 中止任务，规划线程停止放入，工作线程不再取出剩余分页
+     */
+    @Override
+    public void abort() {
+        aborted = true;
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    @Override
+    public PageResult next() throws InterruptedException {
+        while (!aborted) {
+            // 必须先判断 closed 再取，避免关闭前放入的最后一个分页被漏掉
+            boolean finished = closed;
+            PageResult pageResult = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            if (pageResult != null) {
+                return pageResult;
+            }
+            if (finished) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public PageResult next(int maxPages) throws InterruptedException {
+        // 合并时需要保证取出的分页连续，多个工作线程串行取
+        synchronized (this) {
+            PageResult first = next();
+            if (first == null || maxPages <= 1) {
+                return first;
+            }
+            List<PageResult> pageResults = new ArrayList<>(maxPages);
+            pageResults.add(first);
+            PageResult head;
+            // 只合并已经在队列中且页号连续的分页，不等待规划线程
+            while (pageResults.size() < maxPages && (head = queue.peek()) != null
+                    && isNextPage(pageResults.get(pageResults.size() - 1), head)) {
+                pageResults.add(queue.poll());
+            }
+            return PageSource.merge(pageResults);
+        }
+    }
+
+    private static boolean isNextPage(PageResult previous, PageResult next) {
+        return previous.getPageNum() != null && next.getPageNum() != null
+                && next.getPageNum() == previous.getPageNum() + 1;
+    }
+}
@@ -0,0 +1,106 @@
+package cn.rhymed.data.turbo.executor;
+
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.utils.KeyUtils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按目标耗时调整每条语句处理的分页范围：根据最近语句的每行耗时估算目标耗时内能处理的行数，
+ * 开销低的区域一次合并多个连续分页执行，开销高的分页拆分为多个更小的主键范围执行，
+ * 避免单条语句持有锁的时间过长。只有整数主键的分页可以拆分。只由一个工作线程使用
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class PageSizer {
+
+    /**
+     * 一次最多合并的分页数
+     */
+    private static final int MAX_MERGE_PAGES = 32;
+
+    /**
+     * 预计耗时超过目标耗时的倍数时才拆分，避免估算误差导致频繁拆分
+     */
+    private static final double SPLIT_THRESHOLD = 2.0;
+
+    /**
+     * 每行耗时的平滑系数，新样本的权重
+     */
+    private static final double SMOOTHING = 0.5;
+
+    private final long targetNanos;
+    private final int fetchSize;
+
+    /**
+     * 平滑后的每行耗时（纳秒），0 表示还没有样本
+     */
+    private double nanosPerRow;
+
+    public PageSizer(long targetStatementMillis, int fetchSize) {
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetStatementMillis);
+        this.fetchSize = Math.max(fetchSize, 1);
+    }
+
+    /**
+     * 记录一条语句的实际影响行数和耗时
+     */
+    public void record(int rows, long elapsedNanos) {
+        if (rows <= 0) {
+            return;
+        }
+        double sample = (double) elapsedNanos / rows;
+        nanosPerRow = nanosPerRow == 0 ? sample : nanosPerRow * (1 - SMOOTHING) + sample * SMOOTHING;
+    }
+
+    /**
+     * 下一条语句应合并的分页数
+     */
+    public int getMergeCount() {
+        if (nanosPerRow == 0) {
+            return 1;
+        }
+        double targetRows = targetNanos / nanosPerRow;
+        return (int) Math.max(1, Math.min(MAX_MERGE_PAGES, targetRows / fetchSize));
+    }
+
+    /**
+     * 分页预计耗时远超目标耗时时，按主键等宽拆分为多个范围，否则原样返回
+     */
+    public List<PageResult> split(PageResult pageResult) {
+        if (nanosPerRow == 0) {
+            return Collections.singletonList(pageResult);
+        }
+        int rows = pageResult.getPageSize() != null ? pageResult.getPageSize() : fetchSize;
+        double expectedNanos = rows * nanosPerRow;
+        // 非整数主键（字符串、UUID 等）无法按数值区间拆分
+        Long startKey = KeyUtils.toLong(pageResult.getStartKey());
+        Long endKey = KeyUtils.toLong(pageResult.getEndKey());
+        if (expectedNanos <= targetNanos * SPLIT_THRESHOLD || startKey == null || endKey == null
+                || endKey <= startKey) {
+            return Collections.singletonList(pageResult);
+        }
+
+        // 主键跨度可能超出 long 范围，例如 [Long.MIN_VALUE, Long.MAX_VALUE]
+        BigInteger width = BigInteger.valueOf(endKey).subtract(BigInteger.valueOf(startKey)).add(BigInteger.ONE);
+        long maxParts = width.compareTo(BigInteger.valueOf(rows)) < 0 ? width.longValue() : rows;
+        int parts = (int) Math.min(Math.ceil(expectedNanos / targetNanos), maxParts);
+        List<PageResult> ranges = new ArrayList<>(parts);
+        BigInteger rangeWidth = width.add(BigInteger.valueOf(parts - 1)).divide(BigInteger.valueOf(parts));
+        BigInteger lastKey = BigInteger.valueOf(endKey);
+        for (BigInteger from = BigInteger.valueOf(startKey); from.compareTo(lastKey) <= 0; from = from.add(rangeWidth)) {
+            PageResult range = new PageResult();
+            range.setPageNum(pageResult.getPageNum());
+            range.setStartKey(from.longValue());
+            range.setEndKey(from.add(rangeWidth).subtract(BigInteger.ONE).min(lastKey).longValue());
+            range.setPageSize(rows / parts);
+            ranges.add(range);
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,117 @@
+package cn.rhymed.data.turbo.executor;
+
+import cn.rhymed.data.turbo.domain.PageResult;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 工作线程获取待处理分页的来源
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface PageSource {
+
+    /**
+     * 获取下一个待处理的分页
+     *
+     * @return 没有更多分页时返回 null
+     */
+    PageResult next() throws InterruptedException;
+
+    /**
+     * 中止任务，之后 {@link #next()} 不再返回剩余分页，其他工作线程处理完当前分页后结束
+     */
+    void abort();
+
+    /**
+     * 获取下一段连续的分页（最多 maxPages 页），合并为一个分页范围
+     *
+     * @return 没有更多分页时返回 null
+     */
+    default PageResult next(int maxPages) throws InterruptedException {
+        return next();
+    }
+
+    /**
+     * 将连续的分页合并为一个分页范围，任一分页大小未知时合并后的分页大小也未知
+     */
+    static PageResult merge(List<PageResult> pageResults) {
+        if (pageResults.size() == 1) {
+            return pageResults.get(0);
+        }
+        PageResult first = pageResults.get(0);
+        PageResult merged = new PageResult();
+        merged.setPageNum(first.getPageNum());
+        merged.setStartKey(first.getStartKey());
+        merged.setEndKey(pageResults.get(pageResults.size() - 1).getEndKey());
+        Integer pageSize = 0;
+        for (PageResult pageResult : pageResults) {
+            if (pageResult.getPageSize() == null) {
+                pageSize = null;
+                break;
+            }
+            pageSize += pageResult.getPageSize();
+        }
+        merged.setPageSize(pageSize);
+        merged.setMergedPages(pageResults.size());
+        return merged;
+    }
+
+    /**
+     * 两个分页之间是否没有其他分页，从断点恢复时已完成的分页被跳过，合并后的范围不能覆盖已完成的分页
+     */
+    static boolean isAdjacent(PageResult previous, PageResult next) {
+        return previous.getPageNum() == null || next.getPageNum() == null
+                || next.getPageNum() == previous.getPageNum() + 1;
+    }
+
+    /**
+     * 多个线程共享的分页来源，每个线程处理完当前分页后再领取下一页，
+     * 某个线程遇到慢分页时其余分页由空闲线程处理
+     */
+    static PageSource shared(List<PageResult> pageResults) {
+        AtomicInteger nextIndex = new AtomicInteger();
+        return new PageSource() {
+
+            private volatile boolean aborted;
+
+            @Override
+            public PageResult next() {
+                if (aborted) {
+                    return null;
+                }
+                int index = nextIndex.getAndIncrement();
+                return index < pageResults.size() ? pageResults.get(index) : null;
+            }
+
+            @Override
+            public PageResult next(int maxPages) {
+                if (aborted) {
+                    return null;
+                }
+                // 一次领取连续的多页，保证合并后的范围不会覆盖其他线程领取的分页
+                while (true) {
+                    int index = nextIndex.get();
+                    if (index >= pageResults.size()) {
+                        return null;
+                    }
+                    int limit = Math.min(index + Math.max(maxPages, 1), pageResults.size());
+                    int end = index + 1;
+                    while (end < limit && isAdjacent(pageResults.get(end - 1), pageResults.get(end))) {
+                        end++;
+                    }
+                    if (nextIndex.compareAndSet(index, end)) {
+                        return merge(pageResults.subList(index, end));
+                    }
+                }
+            }
+
+            @Override
+            public void abort() {
+                aborted = true;
+            }
+        };
+    }
+}
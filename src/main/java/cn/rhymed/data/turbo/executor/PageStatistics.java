@@ -0,0 +1,128 @@
+package cn.rhymed.data.turbo.executor;
+
+import cn.rhymed.data.turbo.metrics.LatencyHistogram;
+
+/**
+ * 分页实际影响行数统计，用于观察各分页的行数是否均匀（例如等宽切分时主键稀疏的情况）。
+ * 各工作线程每次刷新批次后记录一次，线程安全。
+ * 语句执行和事务提交的耗时记录在无锁直方图中，任务结束时输出分位数
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class PageStatistics {
+
+    private int pageCount;
+    private int emptyPageCount;
+    private long totalRows;
+    private int minRows = Integer.MAX_VALUE;
+    private int maxRows;
+    private long permitWaitNanos;
+    private long throttleWaitNanos;
+    private final LatencyHistogram executeLatency = new LatencyHistogram();
+    private final LatencyHistogram commitLatency = new LatencyHistogram();
+
+    /**
+     * 记录一次批次刷新的结果，BATCH 执行器复用同一条语句时每个分页对应一个影响行数
+     *
+     * @param updateCounts 各分页的影响行数，驱动无法返回行数的分页（负数）不参与统计
+     */
+    public synchronized void record(int[] updateCounts) {
+        for (int count : updateCounts) {
+            record(count);
+        }
+    }
+
+    /**
+     * 记录一个逐条执行的分页的影响行数
+     */
+    public synchronized void record(int count) {
+        if (count < 0) {
+            return;
+        }
+        pageCount++;
+        totalRows += count;
+        if (count == 0) {
+            emptyPageCount++;
+        }
+        minRows = Math.min(minRows, count);
+        maxRows = Math.max(maxRows, count);
+    }
+
+    /**
+     * 记录工作线程等待连接许可的时间
+     */
+    public synchronized void recordPermitWait(long waitNanos) {
+        permitWaitNanos += waitNanos;
+    }
+
+    /**
+     * 记录工作线程因限流暂停或降速等待的时间
+     */
+    public synchronized void recordThrottleWait(long waitNanos) {
+        throttleWaitNanos += waitNanos;
+    }
+
+    /**
+     * 记录一次语句执行耗时，逐条执行时每条语句一次，BATCH 模式每次刷新批次一次
+     */
+    public void recordExecute(long nanos) {
+        executeLatency.record(nanos);
+    }
+
+    /**
+     * 记录一次事务提交耗时
+     */
+    public void recordCommit(long nanos) {
+        commitLatency.record(nanos);
+    }
+
+    public LatencyHistogram getExecuteLatency() {
+        return executeLatency;
+    }
+
+    public LatencyHistogram getCommitLatency() {
+        return commitLatency;
+    }
+
+    public synchronized long getTotalRows() {
+        return totalRows;
+    }
+
+    public synchronized int getPageCount() {
+        return pageCount;
+    }
+
+    public synchronized int getEmptyPageCount() {
+        return emptyPageCount;
+    }
+
+    public synchronized int getMinRows() {
+        return pageCount == 0 ? 0 : minRows;
+    }
+
+    public synchronized int getMaxRows() {
+        return maxRows;
+    }
+
+    public synchronized long getAverageRows() {
+        return pageCount == 0 ? 0 : totalRows / pageCount;
+    }
+
+    public synchronized long getPermitWaitMillis() {
+        return permitWaitNanos / 1_000_000;
+    }
+
+    public synchronized long getThrottleWaitMillis() {
+        return throttleWaitNanos / 1_000_000;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PageStatistics(pageCount=" + pageCount + ", emptyPageCount=" + emptyPageCount
+                + ", minRows=" + getMinRows() + ", maxRows=" + maxRows + ", averageRows=" + getAverageRows()
+                + ", permitWaitMillis=" + getPermitWaitMillis()
+                + ", throttleWaitMillis=" + getThrottleWaitMillis()
+                + ", executeLatency=" + executeLatency + ", commitLatency=" + commitLatency + ")";
+    }
+}
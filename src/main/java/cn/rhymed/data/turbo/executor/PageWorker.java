@@ -0,0 +1,460 @@
+package cn.rhymed.data.turbo.executor;
+
+import cn.rhymed.data.turbo.checkpoint.CheckpointJournal;
+import cn.rhymed.data.turbo.config.BatchConfig;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.job.BatchProgress;
+import cn.rhymed.data.turbo.job.WorkerState;
+import cn.rhymed.data.turbo.mapping.PageSqlSource;
+import cn.rhymed.data.turbo.metrics.BatchMetricsListener;
+import cn.rhymed.data.turbo.metrics.WaitType;
+import cn.rhymed.data.turbo.operation.BatchOperation;
+import cn.rhymed.data.turbo.throttle.BatchThrottle;
+import cn.rhymed.data.turbo.utils.KeyUtils;
+import cn.rhymed.data.turbo.utils.MappedStatementUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.TransactionFactory;
+import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
+
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分页工作线程：使用独立的事务依次执行分配到的分页，按 batchSize 提交事务。
+ * SQL 模板、参数映射、MappedStatement 在线程启动时创建一次，每页只切换绑定的分页范围。
+ * LIMIT_LOOP 模式下分页为粗分的主键范围，每个范围重复执行带 LIMIT 的语句直到影响行数小于 LIMIT。
+ * 操作每页需要执行多条语句（例如归档的 INSERT ... SELECT 和 DELETE）时，各语句逐页立即执行，由操作汇总每页的影响行数
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class PageWorker {
+
+    /**
+     * LIMIT_LOOP 模式下主键范围未知时单个范围最多执行的语句数
+     */
+    private static final long MAX_LOOP_STATEMENTS = 1_000_000L;
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final MappedStatement ms;
+    private final Object parameter;
+    private final BoundSql boundSql;
+    /**
+     * 每页在同一个事务中按顺序执行的语句
+     */
+    private final List<SqlTemplate> pageSqlTemplates;
+    private final BatchConfig config;
+    private final BatchOperation operation;
+    private final String operationName;
+    private final String statementId;
+    private final int threadIndex;
+    private final PageStatistics statistics;
+    private final ConnectionGovernor governor;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final BatchThrottle throttle;
+    private final PageSizer sizer;
+    /**
+     * LIMIT_LOOP 模式下每条语句的 LIMIT，0 表示不是 LIMIT_LOOP 模式
+     */
+    private final int loopLimit;
+    /**
+     * 断点日志，为 null 时不记录已提交的分页
+     */
+    private final CheckpointJournal journal;
+    /**
+     * 异步执行时的进度，为 null 时不更新进度
+     */
+    private final BatchProgress progress;
+    /**
+     * 指标监听器，为 null 时不回调
+     */
+    private final BatchMetricsListener metrics;
+
+    public PageWorker(SqlSessionFactory sqlSessionFactory, MappedStatement ms, Object parameter, BoundSql boundSql,
+                      List<SqlTemplate> pageSqlTemplates, BatchConfig config, BatchOperation operation,
+                      String statementId,
+                      int threadIndex, PageStatistics statistics,
+                      ConnectionGovernor governor, AdaptiveConcurrencyLimiter limiter, BatchThrottle throttle,
+                      int loopLimit, CheckpointJournal journal, BatchProgress progress,
+                      BatchMetricsListener metrics) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.ms = ms;
+        this.parameter = parameter;
+        this.boundSql = boundSql;
+        this.pageSqlTemplates = pageSqlTemplates;
+        this.config = config;
+        this.operation = operation;
+        this.operationName = operation.getName();
+        this.statementId = statementId;
+        this.threadIndex = threadIndex;
+        this.statistics = statistics;
+        this.governor = governor;
+        this.limiter = limiter;
+        this.throttle = throttle;
+        this.loopLimit = loopLimit;
+        this.journal = journal;
+        this.progress = progress;
+        this.metrics = metrics;
+        // 每个线程单独统计语句耗时，LIMIT_LOOP 模式的每条语句已经由 LIMIT 限定行数
+        this.sizer = loopLimit <= 0 && config.getTargetStatementMillis() > 0
+                ? new PageSizer(config.getTargetStatementMillis(), config.getFetchSize()) : null;
+    }
+
+    /**
+     * 处理分页来源中的全部分页
+     *
+     * @return 实际影响的行数
+     */
+    public int run(PageSource pageSource) {
+        long threadStartTime = System.currentTimeMillis();
+        String threadName = Thread.currentThread().getName();
+        log.info("[{}] 线程 #{} 启动", threadName, threadIndex);
+        updateState(WorkerState.RUNNING);
+
+        try {
+            int totalAffected = 0;
+            int processedPages = 0;
+            int commitCount = 0;
+            long permitWaitNanos = 0;
+            long throttleWaitNanos = 0;
+            // 按耗时调整分页范围时每条语句立即执行以便计时，否则使用 BATCH 模式攒批执行
+            boolean timed = sizer != null;
+            // LIMIT_LOOP 模式需要每条语句的影响行数判断范围是否已处理完，同样立即执行
+            boolean loop = loopLimit > 0;
+            // 线程内所有分页共用 MappedStatement，BATCH 执行器可以复用同一个 PreparedStatement
+            PageStatements statements = new PageStatements();
+            // 每页执行多条语句时需要每条语句的影响行数，同样立即执行
+            boolean immediate = timed || loop || statements.size() > 1;
+            // 当前分页是否已处理完，LIMIT_LOOP 模式下未处理完时提交后继续执行当前分页
+            boolean exhausted = true;
+            // LIMIT_LOOP 模式下当前范围已执行的语句数及上限，超过上限说明更新后的行仍满足 WHERE 条件
+            long loopStatements = 0;
+            long loopStatementLimit = 0;
+
+            PageResult pageResult = nextPage(pageSource);
+            while (pageResult != null) {
+                if (limiter != null || governor != null) {
+                    updateState(WorkerState.WAITING);
+                }
+                long transactionStartTime = 0;
+                int transactionPages = 0;
+                // 本次事务中已处理完的规划分页数，LIMIT_LOOP 模式下未处理完的分页不计入
+                int exhaustedPages = 0;
+                boolean limiterAcquired = false;
+                boolean governorAcquired = false;
+                boolean committed = false;
+                int actualAffected = 0;
+                // 本次事务中已处理完的分页，提交后记录到断点日志
+                List<PageResult> completedPages = journal != null ? new ArrayList<>() : null;
+                Executor threadExecutor = null;
+                try {
+                    // 自适应并发模式下，同时执行事务的线程数由 limiter 控制
+                    if (limiter != null) {
+                        long acquireStartTime = System.nanoTime();
+                        limiter.acquire();
+                        limiterAcquired = true;
+                        recordWait(WaitType.CONCURRENCY, System.nanoTime() - acquireStartTime);
+                    }
+                    // 每次事务先获取连接许可，提交后归还连接，多个批量任务并发时轮流使用连接
+                    if (governor != null) {
+                        long waitNanos = governor.acquire();
+                        governorAcquired = true;
+                        permitWaitNanos += waitNanos;
+                        recordWait(WaitType.PERMIT, waitNanos);
+                    }
+                    updateState(WorkerState.RUNNING);
+                    transactionStartTime = System.nanoTime();
+                    // 每次事务使用独立的 Executor 和连接，不自动提交
+                    threadExecutor = openExecutor(immediate ? ExecutorType.REUSE : ExecutorType.BATCH);
+                    int uncommittedCount = 0;
+                    int executedAffected = 0;
+                    do {
+                        if (exhausted) {
+                            processedPages++;
+                            if (loop) {
+                                loopStatements = 0;
+                                loopStatementLimit = maxLoopStatements(pageResult);
+                            }
+                        }
+                        if (exhausted && log.isDebugEnabled()) {
+                            log.debug("[{}] 处理第 {} 页: pageNum={}, startKey={}, endKey={}, pageSize={}",
+                                    threadName, processedPages, pageResult.getPageNum(),
+                                    pageResult.getStartKey(), pageResult.getEndKey(), pageResult.getPageSize());
+                        }
+                        transactionPages++;
+
+                        if (timed) {
+                            // 立即执行并按实际影响行数累计
+                            int affected = executeTimed(threadExecutor, statements, pageResult);
+                            executedAffected += affected;
+                            uncommittedCount += affected;
+                        } else if (immediate) {
+                            long startTime = System.nanoTime();
+                            int affected = statements.execute(threadExecutor, pageResult);
+                            recordExecute(1, affected, System.nanoTime() - startTime);
+                            statistics.record(affected);
+                            executedAffected += affected;
+                            uncommittedCount += affected;
+                            if (loop) {
+                                // 影响行数小于 LIMIT 说明当前范围内已没有符合条件的行
+                                exhausted = affected < loopLimit;
+                                if (!exhausted && ++loopStatements >= loopStatementLimit) {
+                                    throw new IllegalStateException("主键范围 [" + pageResult.getStartKey() + ", "
+                                            + pageResult.getEndKey() + "] 已循环执行 " + loopStatements
+                                            + " 次仍未结束，更新后的行可能仍满足 WHERE 条件");
+                                }
+                            }
+                        } else {
+                            // 切换分页范围参数后执行（直接使用 Executor，不需要注册 MappedStatement）
+                            statements.execute(threadExecutor, pageResult);
+                            // 估算本次影响的行数（用于判断是否需要提交）
+                            uncommittedCount += pageResult.getPageSize() != null ? pageResult.getPageSize() : config.getFetchSize();
+                        }
+                        if (exhausted) {
+                            // 合并执行的分页（TIMED 模式）包含 mergedPages 个规划出的分页，与断点日志的记录一致
+                            exhaustedPages += pageResult.getMergedPages() != null ? pageResult.getMergedPages() : 1;
+                            if (completedPages != null) {
+                                completedPages.add(pageResult);
+                            }
+                        }
+                        // 按 batchSize 提交事务
+                    } while (uncommittedCount < config.getBatchSize()
+                            && (!exhausted || (pageResult = nextPage(pageSource)) != null));
+
+                    commitCount++;
+                    // 刷新批次并获取实际影响行数
+                    long flushStartTime = System.nanoTime();
+                    List<BatchResult> batchResults = threadExecutor.flushStatements();
+                    if (immediate) {
+                        actualAffected = executedAffected;
+                    } else {
+                        actualAffected = countAffectedRows(batchResults);
+                        // BATCH 模式下语句在刷新批次时才真正执行
+                        recordExecute(transactionPages, actualAffected, System.nanoTime() - flushStartTime);
+                    }
+                    totalAffected += actualAffected;
+                    long commitStartTime = System.nanoTime();
+                    threadExecutor.commit(true);
+                    long commitNanos = System.nanoTime() - commitStartTime;
+                    committed = true;
+                    statistics.recordCommit(commitNanos);
+                    if (metrics != null) {
+                        metrics.onCommit(ms, operationName, threadIndex, exhaustedPages, actualAffected, commitNanos);
+                    }
+                    if (journal != null) {
+                        journal.complete(completedPages);
+                    }
+                    if (progress != null) {
+                        progress.onCommit(threadIndex, exhaustedPages, actualAffected);
+                    }
+                    log.info("[{}] 第 {} 次事务提交，实际" + operationName + " {} 条，累计" + operationName + " {} 条",
+                            threadName, commitCount, actualAffected, totalAffected);
+                } finally {
+                    // 未提交时回滚，关闭 Executor 归还连接
+                    if (threadExecutor != null) {
+                        threadExecutor.close(!committed);
+                    }
+                    // 获取许可时被中断则不会持有许可，只归还已获取的许可
+                    if (governorAcquired) {
+                        governor.release();
+                    }
+                    if (limiterAcquired) {
+                        if (committed) {
+                            limiter.release(System.nanoTime() - transactionStartTime, transactionPages);
+                        } else {
+                            limiter.releaseOnError();
+                        }
+                    }
+                }
+                // 事务提交并归还连接后再限流，暂停期间不占用连接和并发数
+                if (throttle != null) {
+                    updateState(WorkerState.THROTTLED);
+                    long throttleStartTime = System.nanoTime();
+                    throttle.onCommit(actualAffected);
+                    long waitNanos = System.nanoTime() - throttleStartTime;
+                    throttleWaitNanos += waitNanos;
+                    recordWait(WaitType.THROTTLE, waitNanos);
+                    updateState(WorkerState.RUNNING);
+                }
+                // 达到 batchSize 提交后继续取下一页，分页已取完时 pageResult 为 null，当前分页未处理完时继续执行当前分页
+                if (pageResult != null && exhausted) {
+                    pageResult = nextPage(pageSource);
+                }
+            }
+            statistics.recordPermitWait(permitWaitNanos);
+            statistics.recordThrottleWait(throttleWaitNanos);
+            updateState(WorkerState.FINISHED);
+
+            long threadDuration = System.currentTimeMillis() - threadStartTime;
+            log.info("[{}] 线程 #{} 完成！处理了 {} 页，共" + operationName + " {} 条记录，共提交 {} 次事务，"
+                            + "等待连接许可 {} ms，限流等待 {} ms，耗时 {} ms",
+                    threadName, threadIndex, processedPages, totalAffected, commitCount,
+                    permitWaitNanos / 1_000_000, throttleWaitNanos / 1_000_000, threadDuration);
+
+            return totalAffected;
+        } catch (Exception e) {
+            updateState(WorkerState.FAILED);
+            long threadDuration = System.currentTimeMillis() - threadStartTime;
+            log.error("[{}] 线程 #{} 执行失败，已耗时 {} ms", threadName, threadIndex, threadDuration, e);
+            throw new RuntimeException("批量" + operationName + "失败", e);
+        }
+    }
+
+    /**
+     * LIMIT_LOOP 模式下单个范围最多执行的语句数：主键唯一，整数主键范围内最多有 endKey - startKey + 1 行，
+     * 除最后一条外每条语句恰好影响 LIMIT 行，因此最多执行 宽度 / LIMIT + 1 条
+     */
+    private long maxLoopStatements(PageResult range) {
+        Long startKey = KeyUtils.toLong(range.getStartKey());
+        Long endKey = KeyUtils.toLong(range.getEndKey());
+        if (startKey == null || endKey == null) {
+            return MAX_LOOP_STATEMENTS;
+        }
+        BigInteger width = BigInteger.valueOf(endKey).subtract(BigInteger.valueOf(startKey)).add(BigInteger.ONE);
+        return width.divide(BigInteger.valueOf(loopLimit)).add(BigInteger.valueOf(2))
+                .min(BigInteger.valueOf(Long.MAX_VALUE)).longValue();
+    }
+
+    private void updateState(WorkerState state) {
+        if (progress != null) {
+            progress.onWorkerState(threadIndex, state);
+        }
+    }
+
+    private void recordExecute(int pages, int rows, long nanos) {
+        statistics.recordExecute(nanos);
+        if (metrics != null) {
+            metrics.onExecute(ms, operationName, threadIndex, pages, rows, nanos);
+        }
+    }
+
+    private void recordWait(WaitType type, long waitNanos) {
+        if (metrics != null) {
+            metrics.onWait(ms, operationName, threadIndex, type, waitNanos);
+        }
+    }
+
+    private PageResult nextPage(PageSource pageSource) throws InterruptedException {
+        long startTime = System.nanoTime();
+        PageResult pageResult = sizer != null ? pageSource.next(sizer.getMergeCount()) : pageSource.next();
+        recordWait(WaitType.QUEUE, System.nanoTime() - startTime);
+        return pageResult;
+    }
+
+    /**
+     * 立即执行分页并计时，分页预计耗时远超目标时先拆分为多个范围再逐个执行
+     *
+     * @return 实际影响的行数
+     */
+    private int executeTimed(Executor threadExecutor, PageStatements statements, PageResult pageResult)
+            throws Exception {
+        int affected = 0;
+        for (PageResult range : sizer.split(pageResult)) {
+            long startTime = System.nanoTime();
+            int rows = statements.execute(threadExecutor, range);
+            long nanos = System.nanoTime() - startTime;
+            sizer.record(rows, nanos);
+            recordExecute(1, rows, nanos);
+            statistics.record(rows);
+            affected += rows;
+        }
+        return affected;
+    }
+
+    /**
+     * 创建使用独立事务的 Executor，与 SqlSessionFactory.openSession(executorType, false) 的创建方式相同，
+     * 直接使用 Executor，不需要通过反射获取 SqlSession 内部的 Executor
+     */
+    private Executor openExecutor(ExecutorType executorType) {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        Environment environment = configuration.getEnvironment();
+        TransactionFactory transactionFactory = environment.getTransactionFactory() != null
+                ? environment.getTransactionFactory() : new ManagedTransactionFactory();
+        Transaction transaction = transactionFactory.newTransaction(environment.getDataSource(), null, false);
+        try {
+            return configuration.newExecutor(transaction, executorType);
+        } catch (RuntimeException e) {
+            try {
+                transaction.close();
+            } catch (Exception closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 每页按顺序执行的语句，SQL 模板、参数映射、MappedStatement 在线程启动时创建一次，只能由当前工作线程使用
+     */
+    private class PageStatements {
+        private final PageSqlSource[] sqlSources;
+        private final MappedStatement[] mappedStatements;
+        /**
+         * 每页执行多条语句时记录各语句的影响行数，各页复用
+         */
+        private final int[] statementRows;
+
+        private PageStatements() {
+            int count = pageSqlTemplates.size();
+            sqlSources = new PageSqlSource[count];
+            mappedStatements = new MappedStatement[count];
+            statementRows = new int[count];
+            for (int i = 0; i < count; i++) {
+                sqlSources[i] = new PageSqlSource(ms.getConfiguration(), pageSqlTemplates.get(i), boundSql);
+                mappedStatements[i] = MappedStatementUtils.copyFromMappedStatement(ms,
+                        i == 0 ? statementId : statementId + "_" + i, sqlSources[i]);
+            }
+        }
+
+        private int size() {
+            return mappedStatements.length;
+        }
+
+        /**
+         * 切换分页范围后依次执行各语句，BATCH 模式下只加入批次，返回值没有意义
+         *
+         * @return 该页的影响行数
+         */
+        private int execute(Executor threadExecutor, PageResult pageResult) throws SQLException {
+            if (mappedStatements.length == 1) {
+                sqlSources[0].setPageResult(pageResult);
+                return threadExecutor.update(mappedStatements[0], parameter);
+            }
+            for (int i = 0; i < mappedStatements.length; i++) {
+                sqlSources[i].setPageResult(pageResult);
+                statementRows[i] = threadExecutor.update(mappedStatements[i], parameter);
+            }
+            return operation.getAffectedRows(statementRows);
+        }
+    }
+
+    /**
+     * 计算 BatchResult 中实际影响的行数，并记录各分页的影响行数
+     */
+    private int countAffectedRows(List<BatchResult> batchResults) {
+        int total = 0;
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            statistics.record(updateCounts);
+            for (int count : updateCounts) {
+                if (count > 0) {
+                    total += count;
+                }
+            }
+        }
+        return total;
+    }
+}
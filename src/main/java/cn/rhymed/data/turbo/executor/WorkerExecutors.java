@@ -0,0 +1,86 @@
+package cn.rhymed.data.turbo.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 工作线程池工厂
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class WorkerExecutors {
+
+    /**
+     * 创建有界的共享工作线程池：最多 maxSize 个线程，超出的任务排队等待，空闲线程超过 keepAliveSeconds 后回收。
+     * 任务排队而不是拒绝或由调用线程执行，避免边规划边执行时规划线程被工作任务占用
+     */
+    public static ExecutorService newSharedExecutor(String threadNamePrefix, int maxSize, long keepAliveSeconds) {
+        int poolSize = Math.max(maxSize, 1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize,
+                Math.max(keepAliveSeconds, 1), TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), namedThreadFactory(threadNamePrefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的线程池（需要 JDK 21+），当前 JDK 不支持时返回 null。
+     * 工作线程大部分时间在等待数据库响应，使用虚拟线程不占用平台线程
+     */
+    public static ExecutorService newVirtualThreadExecutor(String threadNamePrefix) {
+        try {
+            // 通过反射调用，保持 JDK 8 编译兼容：Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory())
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 1L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("当前 JDK 不支持虚拟线程（需要 JDK 21+）: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 创建单个任务专用的固定大小线程池，任务结束后由调用方关闭
+     */
+    public static ExecutorService newJobExecutor(String threadNamePrefix, int poolSize) {
+        return Executors.newFixedThreadPool(poolSize, namedThreadFactory(threadNamePrefix));
+    }
+
+    /**
+     * 关闭线程池，等待正在执行的任务完成，超时后强制中断
+     */
+    public static void shutdown(ExecutorService executor, long awaitTerminationSeconds) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Math.max(awaitTerminationSeconds, 0), TimeUnit.SECONDS)) {
+                log.warn("工作线程池在 {} 秒内未能结束，强制中断剩余任务", awaitTerminationSeconds);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String threadNamePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(false);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package cn.rhymed.data.turbo.interceptor;
+
+import cn.rhymed.data.turbo.config.BatchConfig;
+import cn.rhymed.data.turbo.executor.BatchPageExecutor;
+import cn.rhymed.data.turbo.job.BatchProgress;
+import cn.rhymed.data.turbo.operation.BatchOperation;
+import cn.rhymed.data.turbo.operation.BatchOperations;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 批量操作拦截器：当前线程上有某个批量操作的配置时，按分页范围并发执行被拦截的语句，
+ * 默认处理全部内置操作（删除、更新、归档、复制）
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+@Intercepts(
+        {
+                @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+        }
+)
+public class BatchInterceptor implements Interceptor {
+
+    private final BatchOperation[] operations;
+    private final BatchPageExecutor[] batchPageExecutors;
+
+    public BatchInterceptor(SqlSessionFactory sqlSessionFactory) {
+        this(sqlSessionFactory, null);
+    }
+
+    /**
+     * @param workerExecutor 共享的工作线程池，为 null 时每次批量操作单独创建线程池
+     */
+    public BatchInterceptor(SqlSessionFactory sqlSessionFactory, ExecutorService workerExecutor) {
+        this(sqlSessionFactory, workerExecutor, BatchOperations.getBuiltIns());
+    }
+
+    /**
+     * @param workerExecutor 共享的工作线程池，为 null 时每次批量操作单独创建线程池
+     * @param operations     处理的批量操作，按顺序检查当前线程上是否有对应的配置
+     */
+    public BatchInterceptor(SqlSessionFactory sqlSessionFactory, ExecutorService workerExecutor,
+                            List<BatchOperation> operations) {
+        this.operations = operations.toArray(new BatchOperation[0]);
+        this.batchPageExecutors = new BatchPageExecutor[this.operations.length];
+        for (int i = 0; i < this.operations.length; i++) {
+            batchPageExecutors[i] = new BatchPageExecutor(sqlSessionFactory, this.operations[i], workerExecutor);
+        }
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        for (int i = 0; i < operations.length; i++) {
+            // 获取到配置就清空了上下文，后续的规划查询和原语句执行都不应再被拦截
+            BatchConfig config = operations[i].takeConfig();
+            // 只有获取到批量操作的配置才处理
+            if (config != null) {
+                return execute(invocation, operations[i], batchPageExecutors[i], config);
+            }
+        }
+        return invocation.proceed();
+    }
+
+    private Object execute(Invocation invocation, BatchOperation operation, BatchPageExecutor batchPageExecutor,
+                           BatchConfig config) throws Throwable {
+        String operationName = operation.getName();
+        BatchProgress progress = operation.takeProgress();
+
+        long startTime = System.currentTimeMillis();
+        try {
+            log.info("批量" + operationName + "拦截器启动");
+            int result = batchPageExecutor.execute(invocation, config, progress);
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("批量" + operationName + "全部完成！总" + operationName + " {} 条记录，总耗时 {} ms (约 {} 秒)",
+                    result, duration, duration / 1000.0);
+            if (progress != null) {
+                progress.finish(result);
+            }
+            return result;
+        } catch (Exception e) {
+            if (progress != null) {
+                progress.fail();
+            }
+            long duration = System.currentTimeMillis() - startTime;
+            log.error("批量" + operationName + "失败，已耗时 {} ms", duration, e);
+            throw e;
+        }
+    }
+}
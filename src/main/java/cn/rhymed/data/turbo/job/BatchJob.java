@@ -0,0 +1,110 @@
+package cn.rhymed.data.turbo.job;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步执行的批量操作，通过 {@link #getFuture()} 等待结果（实际影响的行数），
+ * 通过 {@link #getProgress()} 随时查询进度
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchJob {
+
+    /**
+     * 内置默认线程池的最大线程数，异步任务的调用线程只负责规划和等待，超出的任务排队
+     */
+    private static final int DEFAULT_POOL_SIZE = 8;
+
+    private static volatile Executor defaultExecutor;
+    /**
+     * 由本类创建的默认线程池，应用关闭时需要关闭；通过 setDefaultExecutor 设置的线程池由调用方管理
+     */
+    private static ExecutorService ownedExecutor;
+
+    private final CompletableFuture<Integer> future;
+    private final BatchProgress progress;
+
+    public BatchJob(CompletableFuture<Integer> future, BatchProgress progress) {
+        this.future = future;
+        this.progress = progress;
+    }
+
+    /**
+     * 设置异步执行批量操作的默认线程池，批量操作的调用线程只负责规划和等待，实际执行仍由工作线程池完成
+     */
+    public static void setDefaultExecutor(Executor executor) {
+        defaultExecutor = executor;
+    }
+
+    /**
+     * 获取异步执行批量操作的默认线程池，未设置时创建最多 8 个守护线程的线程池，空闲线程 60 秒后回收
+     */
+    public static Executor getDefaultExecutor() {
+        Executor executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (BatchJob.class) {
+                if (defaultExecutor == null) {
+                    ownedExecutor = newDefaultExecutor();
+                    defaultExecutor = ownedExecutor;
+                }
+                executor = defaultExecutor;
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 清除默认线程池（由自动配置类在应用关闭时调用），返回由本类创建、需要调用方关闭的线程池，没有时返回 null
+     */
+    public static synchronized ExecutorService resetDefaultExecutor() {
+        ExecutorService executor = ownedExecutor;
+        if (executor != null && defaultExecutor == executor) {
+            defaultExecutor = null;
+        }
+        ownedExecutor = null;
+        return executor;
+    }
+
+    private static ExecutorService newDefaultExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_POOL_SIZE, DEFAULT_POOL_SIZE,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "data-turbo-job-" + threadNumber.getAndIncrement());
+            // 不阻止 JVM 退出，Spring Boot 应用关闭时由自动配置类等待任务完成
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 批量操作的结果，完成时为实际影响的行数
+     */
+    public CompletableFuture<Integer> getFuture() {
+        return future;
+    }
+
+    /**
+     * 当前进度
+     */
+    public ProgressSnapshot getProgress() {
+        return progress.snapshot();
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchJob(" + progress + ")";
+    }
+}
@@ -0,0 +1,157 @@
+package cn.rhymed.data.turbo.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批量操作的实时进度，由规划线程和各工作线程更新，任意线程通过 {@link #snapshot()} 读取。
+ * 计数器都是无锁的，每次事务提交只做几次原子累加，不影响执行速度
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchProgress {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger completedPages = new AtomicInteger();
+    private final AtomicInteger totalPages = new AtomicInteger();
+    private final LongAdder rowsAffected = new LongAdder();
+    private final Map<Integer, Worker> workers = new ConcurrentHashMap<>();
+    private volatile boolean planned;
+    private volatile boolean done;
+    private volatile boolean failed;
+    private volatile long endNanos;
+
+    /**
+     * 规划完成，共 pages 页
+     */
+    public void onPlanned(int pages) {
+        totalPages.set(pages);
+        planned = true;
+    }
+
+    /**
+     * 边规划边执行时每规划出一页调用一次
+     */
+    public void onPagePlanned() {
+        totalPages.incrementAndGet();
+    }
+
+    /**
+     * 边规划边执行时规划结束
+     */
+    public void onPlanningFinished() {
+        planned = true;
+    }
+
+    /**
+     * 工作线程状态变化，第一次调用时登记该线程
+     */
+    public void onWorkerState(int threadIndex, WorkerState state) {
+        workers.computeIfAbsent(threadIndex, Worker::new).state = state;
+    }
+
+    /**
+     * 工作线程提交一次事务
+     *
+     * @param pages 本次事务处理完的规划分页数（合并执行的分页按其包含的分页数计）
+     * @param rows  本次事务实际影响的行数
+     */
+    public void onCommit(int threadIndex, int pages, int rows) {
+        completedPages.addAndGet(pages);
+        rowsAffected.add(rows);
+        // 每个 Worker 只由对应的工作线程写入
+        Worker worker = workers.computeIfAbsent(threadIndex, Worker::new);
+        worker.completedPages += pages;
+        worker.rowsAffected += rows;
+        worker.commitCount++;
+    }
+
+    /**
+     * 任务成功结束
+     *
+     * @param rows 任务实际影响的总行数
+     */
+    public void finish(int rows) {
+        rowsAffected.add(rows - rowsAffected.sum());
+        if (workers.isEmpty()) {
+            // 不足一页直接执行原语句时没有工作线程提交记录
+            completedPages.set(totalPages.get());
+        }
+        planned = true;
+        end(false);
+    }
+
+    /**
+     * 任务失败
+     */
+    public void fail() {
+        end(true);
+    }
+
+    private void end(boolean failed) {
+        this.failed = failed;
+        endNanos = System.nanoTime();
+        done = true;
+    }
+
+    public long getRowsAffected() {
+        return rowsAffected.sum();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * 读取当前进度
+     */
+    public ProgressSnapshot snapshot() {
+        boolean finished = done;
+        long elapsedNanos = (finished ? endNanos : System.nanoTime()) - startNanos;
+        int completed = completedPages.get();
+        int total = totalPages.get();
+        long rows = rowsAffected.sum();
+        boolean isPlanned = planned;
+        double rowsPerSecond = elapsedNanos > 0 ? rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+        long etaMillis = -1;
+        if (finished) {
+            etaMillis = 0;
+        } else if (isPlanned && completed > 0) {
+            etaMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos / completed * Math.max(total - completed, 0));
+        }
+        List<WorkerProgress> workerProgresses = new ArrayList<>(workers.size());
+        for (Worker worker : workers.values()) {
+            workerProgresses.add(new WorkerProgress(worker.threadIndex, worker.state,
+                    worker.completedPages, worker.rowsAffected, worker.commitCount));
+        }
+        workerProgresses.sort((a, b) -> Integer.compare(a.getThreadIndex(), b.getThreadIndex()));
+        return new ProgressSnapshot(completed, total, isPlanned, rows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rowsPerSecond, etaMillis, finished, failed, workerProgresses);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * 单个工作线程的计数，只由该线程写入，其他线程读取
+     */
+    private static class Worker {
+        private final int threadIndex;
+        private volatile WorkerState state = WorkerState.RUNNING;
+        private volatile int completedPages;
+        private volatile long rowsAffected;
+        private volatile int commitCount;
+
+        private Worker(int threadIndex) {
+            this.threadIndex = threadIndex;
+        }
+    }
+}
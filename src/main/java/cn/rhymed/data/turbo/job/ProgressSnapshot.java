@@ -0,0 +1,69 @@
+package cn.rhymed.data.turbo.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 批量操作的进度快照，各项数据分别读取，彼此之间不保证严格一致
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProgressSnapshot {
+
+    /**
+     * 已提交的分页数
+     */
+    private final int completedPages;
+
+    /**
+     * 已规划的分页数，边规划边执行时随规划增加，还没有开始执行时为 0
+     */
+    private final int totalPages;
+
+    /**
+     * 分页规划是否已完成，未完成时 totalPages 还会增加
+     */
+    private final boolean planned;
+
+    /**
+     * 已提交的影响行数
+     */
+    private final long rowsAffected;
+
+    /**
+     * 已耗时（毫秒）
+     */
+    private final long elapsedMillis;
+
+    /**
+     * 平均每秒影响的行数
+     */
+    private final double rowsPerSecond;
+
+    /**
+     * 按已完成分页的平均耗时估算的剩余时间（毫秒），无法估算时为 -1
+     */
+    private final long etaMillis;
+
+    /**
+     * 任务是否已结束（成功或失败）
+     */
+    private final boolean done;
+
+    /**
+     * 任务是否失败
+     */
+    private final boolean failed;
+
+    /**
+     * 各工作线程的进度
+     */
+    private final List<WorkerProgress> workers;
+}
@@ -0,0 +1,39 @@
+package cn.rhymed.data.turbo.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 单个工作线程的进度快照
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Getter
+@ToString
+@AllArgsConstructor
+public class WorkerProgress {
+
+    /**
+     * 线程序号，从 1 开始
+     */
+    private final int threadIndex;
+
+    private final WorkerState state;
+
+    /**
+     * 已提交的分页数
+     */
+    private final int completedPages;
+
+    /**
+     * 已提交的影响行数
+     */
+    private final long rowsAffected;
+
+    /**
+     * 已提交的事务数
+     */
+    private final int commitCount;
+}
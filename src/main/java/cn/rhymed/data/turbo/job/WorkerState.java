@@ -0,0 +1,35 @@
+package cn.rhymed.data.turbo.job;
+
+/**
+ * 工作线程状态
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public enum WorkerState {
+
+    /**
+     * 正在执行分页或提交事务
+     */
+    RUNNING,
+
+    /**
+     * 等待连接许可或自适应并发数
+     */
+    WAITING,
+
+    /**
+     * 限流暂停或降速等待
+     */
+    THROTTLED,
+
+    /**
+     * 已处理完全部分页
+     */
+    FINISHED,
+
+    /**
+     * 执行失败
+     */
+    FAILED
+}
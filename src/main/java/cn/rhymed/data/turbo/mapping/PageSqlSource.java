@@ -0,0 +1,97 @@
+package cn.rhymed.data.turbo.mapping;
+
+import cn.rhymed.data.turbo.domain.CompositeKey;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.utils.BoundSqlUtils;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分页 SqlSource，SQL 文本在整个任务中保持不变，每页只替换绑定的分页范围参数。
+ * 一个实例只能由一个工作线程使用，调用 Executor 前先通过 {@link #setPageResult(PageResult)} 切换分页。
+ * <p>
+ * Executor 执行 update 时立即按 BoundSql 设置 PreparedStatement 参数（BATCH 模式下随即 addBatch），之后不再读取 BoundSql，
+ * 因此同一个参数对象的各页复用同一个 BoundSql，每页只替换分页范围参数，不再重新创建 BoundSql 和复制额外参数
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class PageSqlSource implements SqlSource {
+
+    private static final String START_KEY_PARAMETER = SqlTemplate.getParameterName(SqlTemplate.START_KEY);
+    private static final String END_KEY_PARAMETER = SqlTemplate.getParameterName(SqlTemplate.END_KEY);
+
+    private final Configuration configuration;
+    private final String sql;
+    private final List<ParameterMapping> parameterMappings;
+    private final Map<String, Object> additionalParameters;
+
+    private PageResult pageResult;
+    /**
+     * 复用的 BoundSql 及其对应的参数对象
+     */
+    private BoundSql boundSql;
+    private Object boundParameterObject;
+    /**
+     * 复合主键各列的分页参数名，首次使用时生成
+     */
+    private String[] startKeyParameters = new String[0];
+    private String[] endKeyParameters = new String[0];
+
+    public PageSqlSource(Configuration configuration, SqlTemplate template, BoundSql originalBoundSql) {
+        this.configuration = configuration;
+        this.sql = template.getSql();
+        this.parameterMappings = BoundSqlUtils.buildParameterMappings(configuration, template,
+                originalBoundSql.getParameterMappings());
+        // 原 BoundSql 的额外参数（包括 foreach 生成的动态参数）只需获取一次
+        this.additionalParameters = BoundSqlUtils.getAdditionalParameters(originalBoundSql);
+    }
+
+    public void setPageResult(PageResult pageResult) {
+        this.pageResult = pageResult;
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        BoundSql boundSql = this.boundSql;
+        if (boundSql == null || boundParameterObject != parameterObject) {
+            boundSql = new BoundSql(configuration, sql, parameterMappings, parameterObject);
+            for (Map.Entry<String, Object> entry : additionalParameters.entrySet()) {
+                boundSql.setAdditionalParameter(entry.getKey(), entry.getValue());
+            }
+            this.boundSql = boundSql;
+            this.boundParameterObject = parameterObject;
+        }
+        if (pageResult.getStartKey() instanceof CompositeKey) {
+            // 复合主键按列分别绑定
+            CompositeKey startKey = (CompositeKey) pageResult.getStartKey();
+            CompositeKey endKey = (CompositeKey) pageResult.getEndKey();
+            if (startKeyParameters.length < startKey.size()) {
+                initKeyParameters(startKey.size());
+            }
+            for (int i = 0; i < startKey.size(); i++) {
+                boundSql.setAdditionalParameter(startKeyParameters[i], startKey.get(i));
+                boundSql.setAdditionalParameter(endKeyParameters[i], endKey.get(i));
+            }
+        } else {
+            boundSql.setAdditionalParameter(START_KEY_PARAMETER, pageResult.getStartKey());
+            boundSql.setAdditionalParameter(END_KEY_PARAMETER, pageResult.getEndKey());
+        }
+        return boundSql;
+    }
+
+    private void initKeyParameters(int keyCount) {
+        startKeyParameters = new String[keyCount];
+        endKeyParameters = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            startKeyParameters[i] = SqlTemplate.getParameterName(SqlTemplate.startKey(i));
+            endKeyParameters[i] = SqlTemplate.getParameterName(SqlTemplate.endKey(i));
+        }
+    }
+}
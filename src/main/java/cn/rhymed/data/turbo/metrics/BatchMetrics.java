@@ -0,0 +1,112 @@
+package cn.rhymed.data.turbo.metrics;
+
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按 SqlSessionFactory 注册的批量操作指标监听器，同一个 SqlSessionFactory 上的所有批量任务共用。
+ * 监听器抛出的异常只记录日志，不影响批量操作
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class BatchMetrics {
+
+    private static final Map<SqlSessionFactory, BatchMetricsListener> LISTENERS = new ConcurrentHashMap<>();
+
+    /**
+     * 为 SqlSessionFactory 注册指标监听器，多个监听器按顺序依次回调
+     */
+    public static void register(SqlSessionFactory sqlSessionFactory, List<BatchMetricsListener> listeners) {
+        if (listeners == null || listeners.isEmpty()) {
+            LISTENERS.remove(sqlSessionFactory);
+            return;
+        }
+        LISTENERS.put(sqlSessionFactory, new SafeListener(listeners.toArray(new BatchMetricsListener[0])));
+    }
+
+    /**
+     * 获取 SqlSessionFactory 的指标监听器，未注册时返回 null 表示不回调
+     */
+    public static BatchMetricsListener get(SqlSessionFactory sqlSessionFactory) {
+        return LISTENERS.get(sqlSessionFactory);
+    }
+
+    public static void remove(SqlSessionFactory sqlSessionFactory) {
+        LISTENERS.remove(sqlSessionFactory);
+    }
+
+    /**
+     * 依次回调多个监听器，单个监听器的异常不影响其他监听器和批量操作
+     */
+    private static class SafeListener implements BatchMetricsListener {
+
+        private final BatchMetricsListener[] listeners;
+
+        private SafeListener(BatchMetricsListener[] listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void onPlanned(MappedStatement ms, String operation, PlanningStrategy planningStrategy, int pageCount, long planNanos) {
+            for (BatchMetricsListener listener : listeners) {
+                try {
+                    listener.onPlanned(ms, operation, planningStrategy, pageCount, planNanos);
+                } catch (RuntimeException e) {
+                    log.warn("指标监听器 {} 执行失败", listener, e);
+                }
+            }
+        }
+
+        @Override
+        public void onExecute(MappedStatement ms, String operation, int threadIndex, int pages, int rows, long nanos) {
+            for (BatchMetricsListener listener : listeners) {
+                try {
+                    listener.onExecute(ms, operation, threadIndex, pages, rows, nanos);
+                } catch (RuntimeException e) {
+                    log.warn("指标监听器 {} 执行失败", listener, e);
+                }
+            }
+        }
+
+        @Override
+        public void onCommit(MappedStatement ms, String operation, int threadIndex, int pages, int rows, long commitNanos) {
+            for (BatchMetricsListener listener : listeners) {
+                try {
+                    listener.onCommit(ms, operation, threadIndex, pages, rows, commitNanos);
+                } catch (RuntimeException e) {
+                    log.warn("指标监听器 {} 执行失败", listener, e);
+                }
+            }
+        }
+
+        @Override
+        public void onWait(MappedStatement ms, String operation, int threadIndex, WaitType type, long waitNanos) {
+            for (BatchMetricsListener listener : listeners) {
+                try {
+                    listener.onWait(ms, operation, threadIndex, type, waitNanos);
+                } catch (RuntimeException e) {
+                    log.warn("指标监听器 {} 执行失败", listener, e);
+                }
+            }
+        }
+
+        @Override
+        public void onFinished(MappedStatement ms, String operation, boolean success, long rows, long elapsedNanos, int[] threadRows) {
+            for (BatchMetricsListener listener : listeners) {
+                try {
+                    listener.onFinished(ms, operation, success, rows, elapsedNanos, threadRows);
+                } catch (RuntimeException e) {
+                    log.warn("指标监听器 {} 执行失败", listener, e);
+                }
+            }
+        }
+    }
+}
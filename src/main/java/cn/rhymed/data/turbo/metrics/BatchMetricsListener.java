@@ -0,0 +1,66 @@
+package cn.rhymed.data.turbo.metrics;
+
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * 批量操作指标扩展点，规划线程和各工作线程在执行过程中回调，需要线程安全。
+ * 每个分页都会回调，参数都是基本类型，实现中不应有耗时操作或锁竞争。
+ * operation 为批量操作的名称（{@link cn.rhymed.data.turbo.operation.BatchOperation#getName()}），
+ * 同一条原语句可以按不同的操作执行（例如删除和归档）
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface BatchMetricsListener {
+
+    /**
+     * 分页规划完成，从断点恢复时 planNanos 为 0
+     *
+     * @param ms        原语句
+     * @param operation 批量操作的名称
+     * @param pageCount 分页数，边规划边执行时为规划出的总页数
+     * @param planNanos 规划耗时（纳秒）
+     */
+    default void onPlanned(MappedStatement ms, String operation, PlanningStrategy planningStrategy, int pageCount, long planNanos) {
+    }
+
+    /**
+     * 执行一次语句：逐条执行时每条语句回调一次，BATCH 模式每次刷新批次回调一次
+     *
+     * @param pages 本次执行的分页数
+     * @param rows  实际影响的行数
+     * @param nanos 执行耗时（纳秒）
+     */
+    default void onExecute(MappedStatement ms, String operation, int threadIndex, int pages, int rows, long nanos) {
+    }
+
+    /**
+     * 提交一次事务
+     *
+     * @param pages       本次事务处理完的分页数
+     * @param rows        本次事务实际影响的行数
+     * @param commitNanos 提交耗时（纳秒）
+     */
+    default void onCommit(MappedStatement ms, String operation, int threadIndex, int pages, int rows, long commitNanos) {
+    }
+
+    /**
+     * 工作线程等待
+     *
+     * @param waitNanos 等待耗时（纳秒）
+     */
+    default void onWait(MappedStatement ms, String operation, int threadIndex, WaitType type, long waitNanos) {
+    }
+
+    /**
+     * 全部分页执行结束
+     *
+     * @param success      是否成功
+     * @param rows         实际影响的总行数，失败时为已执行的行数
+     * @param elapsedNanos 从开始执行到结束的耗时（纳秒）
+     * @param threadRows   各工作线程影响的行数，下标为线程序号 - 1，失败时为空数组
+     */
+    default void onFinished(MappedStatement ms, String operation, boolean success, long rows, long elapsedNanos, int[] threadRows) {
+    }
+}
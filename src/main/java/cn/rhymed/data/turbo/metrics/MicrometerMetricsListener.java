@@ -0,0 +1,150 @@
+package cn.rhymed.data.turbo.metrics;
+
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将批量操作指标输出到 Micrometer，每条原语句的每种批量操作一组指标，按 statement 和 operation 标签区分，
+ * operation 为批量操作的名称（删除、更新、归档、复制或自定义操作）：
+ * <ul>
+ *     <li>data.turbo.plan：规划耗时</li>
+ *     <li>data.turbo.execute：语句执行耗时（直方图）</li>
+ *     <li>data.turbo.commit：事务提交耗时（直方图）</li>
+ *     <li>data.turbo.wait：工作线程等待耗时，按 type 标签区分等待类型</li>
+ *     <li>data.turbo.rows：实际影响的行数</li>
+ *     <li>data.turbo.job：整个任务的耗时，按 outcome 标签区分成功和失败</li>
+ *     <li>data.turbo.job.throughput：任务平均每秒影响的行数</li>
+ *     <li>data.turbo.thread.rows：各工作线程影响的行数，最大值和平均值的差距反映线程间的倾斜</li>
+ * </ul>
+ * 指标在第一次使用时创建并缓存，之后每次记录不分配对象
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class MicrometerMetricsListener implements BatchMetricsListener {
+
+    private final MeterRegistry registry;
+    /**
+     * 按批量操作名称、原语句 ID 两级缓存，查询时不拼接字符串
+     */
+    private final Map<String, Map<String, Meters>> meters = new ConcurrentHashMap<>();
+
+    public MicrometerMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onPlanned(MappedStatement ms, String operation, PlanningStrategy planningStrategy, int pageCount,
+                          long planNanos) {
+        meters(ms, operation).plan.record(planNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onExecute(MappedStatement ms, String operation, int threadIndex, int pages, int rows, long nanos) {
+        meters(ms, operation).execute.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onCommit(MappedStatement ms, String operation, int threadIndex, int pages, int rows,
+                         long commitNanos) {
+        Meters statementMeters = meters(ms, operation);
+        statementMeters.commit.record(commitNanos, TimeUnit.NANOSECONDS);
+        statementMeters.rows.increment(rows);
+    }
+
+    @Override
+    public void onWait(MappedStatement ms, String operation, int threadIndex, WaitType type, long waitNanos) {
+        meters(ms, operation).waits[type.ordinal()].record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onFinished(MappedStatement ms, String operation, boolean success, long rows, long elapsedNanos,
+                           int[] threadRows) {
+        Meters statementMeters = meters(ms, operation);
+        (success ? statementMeters.jobSuccess : statementMeters.jobFailure).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > 0) {
+            statementMeters.throughput.record(rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        }
+        for (int threadRow : threadRows) {
+            statementMeters.threadRows.record(threadRow);
+        }
+    }
+
+    private Meters meters(MappedStatement ms, String operation) {
+        // 先查询再创建，命中时不分配 lambda
+        Map<String, Meters> operationMeters = meters.get(operation);
+        if (operationMeters == null) {
+            operationMeters = meters.computeIfAbsent(operation, name -> new ConcurrentHashMap<>());
+        }
+        Meters statementMeters = operationMeters.get(ms.getId());
+        if (statementMeters == null) {
+            statementMeters = operationMeters.computeIfAbsent(ms.getId(), id -> new Meters(registry, ms, operation));
+        }
+        return statementMeters;
+    }
+
+    /**
+     * 一条原语句按一种批量操作执行的全部指标
+     */
+    private static class Meters {
+        private final Timer plan;
+        private final Timer execute;
+        private final Timer commit;
+        private final Timer[] waits;
+        private final Counter rows;
+        private final Timer jobSuccess;
+        private final Timer jobFailure;
+        private final DistributionSummary throughput;
+        private final DistributionSummary threadRows;
+
+        private Meters(MeterRegistry registry, MappedStatement ms, String operation) {
+            String statement = ms.getId();
+            this.plan = Timer.builder("data.turbo.plan")
+                    .tag("statement", statement).tag("operation", operation)
+                    .register(registry);
+            this.execute = Timer.builder("data.turbo.execute")
+                    .tag("statement", statement).tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.commit = Timer.builder("data.turbo.commit")
+                    .tag("statement", statement).tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            WaitType[] waitTypes = WaitType.values();
+            this.waits = new Timer[waitTypes.length];
+            for (WaitType waitType : waitTypes) {
+                waits[waitType.ordinal()] = Timer.builder("data.turbo.wait")
+                        .tag("statement", statement).tag("operation", operation)
+                        .tag("type", waitType.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            this.rows = Counter.builder("data.turbo.rows")
+                    .tag("statement", statement).tag("operation", operation)
+                    .baseUnit("rows")
+                    .register(registry);
+            this.jobSuccess = Timer.builder("data.turbo.job")
+                    .tag("statement", statement).tag("operation", operation).tag("outcome", "success")
+                    .register(registry);
+            this.jobFailure = Timer.builder("data.turbo.job")
+                    .tag("statement", statement).tag("operation", operation).tag("outcome", "failure")
+                    .register(registry);
+            this.throughput = DistributionSummary.builder("data.turbo.job.throughput")
+                    .tag("statement", statement).tag("operation", operation)
+                    .baseUnit("rows/s")
+                    .register(registry);
+            this.threadRows = DistributionSummary.builder("data.turbo.thread.rows")
+                    .tag("statement", statement).tag("operation", operation)
+                    .baseUnit("rows")
+                    .register(registry);
+        }
+    }
+}
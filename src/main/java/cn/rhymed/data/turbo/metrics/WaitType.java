@@ -0,0 +1,30 @@
+package cn.rhymed.data.turbo.metrics;
+
+/**
+ * 工作线程等待的类型
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public enum WaitType {
+
+    /**
+     * 等待连接许可
+     */
+    PERMIT,
+
+    /**
+     * 等待自适应并发数
+     */
+    CONCURRENCY,
+
+    /**
+     * 限流暂停或降速等待
+     */
+    THROTTLE,
+
+    /**
+     * 等待领取分页，边规划边执行时为等待规划线程产出分页的时间
+     */
+    QUEUE
+}
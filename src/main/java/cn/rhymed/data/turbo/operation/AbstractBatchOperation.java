@@ -0,0 +1,30 @@
+package cn.rhymed.data.turbo.operation;
+
+import cn.rhymed.data.turbo.config.BatchConfig;
+import cn.rhymed.data.turbo.context.BatchContext;
+import cn.rhymed.data.turbo.job.BatchProgress;
+
+/**
+ * 从操作自己的 {@link BatchContext} 取出配置和进度的批量操作
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public abstract class AbstractBatchOperation implements BatchOperation {
+
+    private final BatchContext<?> context;
+
+    protected AbstractBatchOperation(BatchContext<?> context) {
+        this.context = context;
+    }
+
+    @Override
+    public BatchConfig takeConfig() {
+        return context.takeConfig();
+    }
+
+    @Override
+    public BatchProgress takeProgress() {
+        return context.takeProgress();
+    }
+}
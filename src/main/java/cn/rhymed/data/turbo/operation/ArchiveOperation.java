@@ -0,0 +1,83 @@
+package cn.rhymed.data.turbo.operation;
+
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.config.BatchArchiveConfig;
+import cn.rhymed.data.turbo.config.BatchConfig;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.context.BatchArchiveContext;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 批量归档：被拦截的 DELETE 语句每页先执行
+ * <pre>
+ * INSERT INTO archive_table SELECT * FROM ... WHERE ... AND id BETWEEN ? AND ?
+ * </pre>
+ * 再执行同一范围的 DELETE，两条语句在同一个事务中提交，配置来自 {@link BatchArchiveContext}。
+ * 两条语句之间其他事务修改了范围内的行时，写入和删除的行数不一致，回滚当前事务并中止任务，不会删除未归档的行
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class ArchiveOperation extends AbstractBatchOperation {
+
+    public ArchiveOperation() {
+        super(BatchArchiveContext.CONTEXT);
+    }
+
+    @Override
+    public String getName() {
+        return "归档";
+    }
+
+    @Override
+    public String getStatementSuffix() {
+        return "_batch_archive_";
+    }
+
+    /**
+     * 写入和删除必须是同一批行：LIMIT_LOOP 的 LIMIT 没有固定的行，CTID 范围内的行可能被并发更新移走，改用 KEYSET
+     */
+    @Override
+    public PlanningStrategy getPlanningStrategy(PlanningStrategy planningStrategy) {
+        if (planningStrategy == PlanningStrategy.LIMIT_LOOP || planningStrategy == PlanningStrategy.CTID) {
+            log.info("归档只支持按主键范围分页，分页规划策略 {} 改用 KEYSET", planningStrategy);
+            return PlanningStrategy.KEYSET;
+        }
+        return planningStrategy;
+    }
+
+    @Override
+    public List<SqlTemplate> getPageTemplates(BatchConfig config, MappedStatement ms, String sql,
+                                              PageConfig pageConfig, SqlTemplate pageTemplate) {
+        String archiveTable = ((BatchArchiveConfig) config).getArchiveTable();
+        SqlTemplate archiveTemplate = SqlTemplateCache.getInstance()
+                .getArchivePageTemplate(ms.getId(), sql, pageConfig, archiveTable);
+        return Arrays.asList(archiveTemplate, pageTemplate);
+    }
+
+    @Override
+    public int getAffectedRows(int[] statementRows) {
+        int archived = statementRows[0];
+        int deleted = statementRows[1];
+        if (archived != deleted) {
+            throw new IllegalStateException("归档写入 " + archived + " 条但删除 " + deleted
+                    + " 条，分页范围内的数据在归档过程中被修改，已回滚当前事务");
+        }
+        return deleted;
+    }
+
+    /**
+     * 直接执行原 DELETE 不会写入归档表
+     */
+    @Override
+    public boolean isProceedable() {
+        return false;
+    }
+}
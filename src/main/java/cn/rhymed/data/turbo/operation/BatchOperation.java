@@ -0,0 +1,79 @@
+package cn.rhymed.data.turbo.operation;
+
+import cn.rhymed.data.turbo.config.BatchConfig;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.job.BatchProgress;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量操作：描述被拦截的语句如何按分页范围执行，分页规划、工作线程、事务提交、限流和断点续跑由
+ * {@link cn.rhymed.data.turbo.executor.BatchPageExecutor} 统一处理。
+ * 内置的操作见 {@link BatchOperations}，自定义操作注册到 {@link cn.rhymed.data.turbo.interceptor.BatchInterceptor} 即可生效
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface BatchOperation {
+
+    /**
+     * 操作名称，用于日志输出，例如 删除、更新
+     */
+    String getName();
+
+    /**
+     * 工作线程 MappedStatement ID 的后缀，例如 _batch_delete_
+     */
+    String getStatementSuffix();
+
+    /**
+     * 取出当前线程上的批量配置并清空，没有配置时返回 null，拦截器不处理该语句。
+     * 取出后规划查询和原语句执行都不会再被拦截
+     */
+    BatchConfig takeConfig();
+
+    /**
+     * 取出当前线程上的异步执行进度并清空，同步执行时返回 null
+     */
+    BatchProgress takeProgress();
+
+    /**
+     * 调整分页规划策略，操作不支持指定的策略时返回替代的策略
+     */
+    default PlanningStrategy getPlanningStrategy(PlanningStrategy planningStrategy) {
+        return planningStrategy;
+    }
+
+    /**
+     * 每页在同一个事务中按顺序执行的语句，默认只执行加上分页范围的原语句。
+     * 返回多条语句时工作线程逐页立即执行，并通过 {@link #getAffectedRows(int[])} 汇总每页的影响行数
+     *
+     * @param sql          原语句的 SQL
+     * @param pageTemplate 加上分页范围的原语句
+     */
+    default List<SqlTemplate> getPageTemplates(BatchConfig config, MappedStatement ms, String sql,
+                                               PageConfig pageConfig, SqlTemplate pageTemplate) {
+        return Collections.singletonList(pageTemplate);
+    }
+
+    /**
+     * 汇总一页中各语句的影响行数，只在每页执行多条语句时调用。抛出异常时回滚当前事务，整个任务失败
+     *
+     * @param statementRows 按 {@link #getPageTemplates} 的顺序记录的各语句影响行数
+     * @return 该页的影响行数
+     */
+    default int getAffectedRows(int[] statementRows) {
+        return statementRows[statementRows.length - 1];
+    }
+
+    /**
+     * 数据量较小（&lt;=1 页）时是否直接执行原语句，原语句不能完成整个操作时返回 false，此时仍按分页执行
+     */
+    default boolean isProceedable() {
+        return true;
+    }
+}
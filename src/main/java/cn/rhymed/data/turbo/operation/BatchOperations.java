@@ -0,0 +1,29 @@
+package cn.rhymed.data.turbo.operation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 内置的批量操作
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchOperations {
+
+    public static final BatchOperation DELETE = new DeleteOperation();
+    public static final BatchOperation UPDATE = new UpdateOperation();
+    public static final BatchOperation ARCHIVE = new ArchiveOperation();
+    public static final BatchOperation COPY = new CopyOperation();
+
+    private static final List<BatchOperation> BUILT_INS =
+            Collections.unmodifiableList(Arrays.asList(DELETE, UPDATE, ARCHIVE, COPY));
+
+    /**
+     * 全部内置操作：删除、更新、归档、复制
+     */
+    public static List<BatchOperation> getBuiltIns() {
+        return BUILT_INS;
+    }
+}
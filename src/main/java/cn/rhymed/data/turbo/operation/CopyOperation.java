@@ -0,0 +1,46 @@
+package cn.rhymed.data.turbo.operation;
+
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.context.BatchCopyContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 批量复制：被拦截的 INSERT ... SELECT 语句按源表主键范围分页，每页执行
+ * <pre>
+ * INSERT INTO new_table (...) SELECT ... FROM old_table WHERE ... AND id BETWEEN ? AND ?
+ * </pre>
+ * 配置来自 {@link BatchCopyContext}。各分页的源表范围互不重叠，分页并发执行、分批提交，
+ * 不会像单条 INSERT ... SELECT 那样长时间锁定源表和积累 undo
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class CopyOperation extends AbstractBatchOperation {
+
+    public CopyOperation() {
+        super(BatchCopyContext.CONTEXT);
+    }
+
+    @Override
+    public String getName() {
+        return "复制";
+    }
+
+    @Override
+    public String getStatementSuffix() {
+        return "_batch_copy_";
+    }
+
+    /**
+     * 写入不会使源表的行不再满足条件，LIMIT_LOOP 会重复写入同一批行；CTID 只支持 DELETE/UPDATE，均改用 ROW_NUMBER
+     */
+    @Override
+    public PlanningStrategy getPlanningStrategy(PlanningStrategy planningStrategy) {
+        if (planningStrategy == PlanningStrategy.LIMIT_LOOP || planningStrategy == PlanningStrategy.CTID) {
+            log.info("复制只支持按源表主键范围分页，分页规划策略 {} 改用 ROW_NUMBER", planningStrategy);
+            return PlanningStrategy.ROW_NUMBER;
+        }
+        return planningStrategy;
+    }
+}
@@ -0,0 +1,26 @@
+package cn.rhymed.data.turbo.operation;
+
+import cn.rhymed.data.turbo.context.BatchDeleteContext;
+
+/**
+ * 批量删除，配置来自 {@link BatchDeleteContext}
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class DeleteOperation extends AbstractBatchOperation {
+
+    public DeleteOperation() {
+        super(BatchDeleteContext.CONTEXT);
+    }
+
+    @Override
+    public String getName() {
+        return "删除";
+    }
+
+    @Override
+    public String getStatementSuffix() {
+        return "_batch_delete_";
+    }
+}
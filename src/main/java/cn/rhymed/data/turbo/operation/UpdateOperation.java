@@ -0,0 +1,26 @@
+package cn.rhymed.data.turbo.operation;
+
+import cn.rhymed.data.turbo.context.BatchUpdateContext;
+
+/**
+ * 批量更新，配置来自 {@link BatchUpdateContext}
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class UpdateOperation extends AbstractBatchOperation {
+
+    public UpdateOperation() {
+        super(BatchUpdateContext.CONTEXT);
+    }
+
+    @Override
+    public String getName() {
+        return "更新";
+    }
+
+    @Override
+    public String getStatementSuffix() {
+        return "_batch_update_";
+    }
+}
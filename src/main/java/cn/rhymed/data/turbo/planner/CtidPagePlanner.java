@@ -0,0 +1,91 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.utils.BoundSqlUtils;
+import cn.rhymed.data.turbo.utils.MappedStatementUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PostgreSQL 按物理数据块切分分页：从 pg_class 查询表的数据块数和行数，按平均每块行数将整张表切分为
+ * 约 fetchSize 行的连续 ctid 范围，分页的 startKey/endKey 为 '(块号,0)' 形式的 tid 字符串，范围包含开始、不包含结束。
+ * 规划只需一次系统表查询，不需要扫描和排序主键，各线程按物理顺序扫描连续的数据块，
+ * 不受主键顺序与物理存储顺序无关的影响。分页的 pageSize 为 null，表示实际符合条件的行数未知
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class CtidPagePlanner implements PagePlanner {
+
+    /**
+     * 表没有统计信息（从未 ANALYZE）时假定的平均每块行数
+     */
+    private static final int DEFAULT_ROWS_PER_BLOCK = 50;
+
+    /**
+     * 最后一页的结束块号，tid 的块号为 32 位无符号整数，规划之后追加到表末尾的行同样会被处理
+     */
+    private static final long MAX_BLOCK = 4294967295L;
+
+    @Override
+    public void plan(MappedStatement ms, Object parameter, Executor executor,
+                     BoundSql boundSql, PageConfig config, PageResultHandler handler) throws SQLException {
+        SqlTemplate rangeTemplate = SqlTemplateCache.getInstance()
+                .getCtidRangeTemplate(ms.getId(), boundSql.getSql(), config);
+        log.info("查询表的数据块数，按 ctid 范围切分分页");
+        log.debug("生成的数据块数 SQL: {}", rangeTemplate.getSql());
+
+        MappedStatement rangeMs = MappedStatementUtils.newTupleKeyMappedStatement(ms, 3);
+        BoundSql rangeBoundSql = BoundSqlUtils.newBoundSql(ms.getConfiguration(), rangeTemplate, boundSql, parameter);
+        CacheKey rangeKey = executor.createCacheKey(rangeMs, parameter, RowBounds.DEFAULT, rangeBoundSql);
+        List<Map<String, Object>> rows =
+                executor.query(rangeMs, parameter, RowBounds.DEFAULT, null, rangeKey, rangeBoundSql);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> row = rows.get(0);
+        long relPages = toLong(row.get("k0"));
+        double relTuples = row.get("k1") != null ? ((Number) row.get("k1")).doubleValue() : 0;
+        // 统计信息过期时 relpages 可能小于实际数据块数
+        long blocks = Math.max(relPages, toLong(row.get("k2")));
+        if (blocks <= 0) {
+            return;
+        }
+
+        // 如果分页大小设置不合理则强制为1000
+        long pageSize = config.getPageSize() <= 1 ? 1000 : config.getPageSize();
+        double rowsPerBlock = relPages > 0 && relTuples > 0 ? relTuples / relPages : DEFAULT_ROWS_PER_BLOCK;
+        long blocksPerPage = Math.max(1, Math.round(pageSize / rowsPerBlock));
+        log.info("数据块数: {}，平均每块 {} 行，每页 {} 个数据块，预计 {} 页",
+                blocks, Math.round(rowsPerBlock), blocksPerPage, (blocks + blocksPerPage - 1) / blocksPerPage);
+
+        int pageNum = 0;
+        for (long startBlock = 0; startBlock < blocks; startBlock += blocksPerPage) {
+            long endBlock = startBlock + blocksPerPage >= blocks ? MAX_BLOCK : startBlock + blocksPerPage;
+            PageResult pageResult = new PageResult();
+            pageResult.setPageNum(pageNum++);
+            pageResult.setStartKey("(" + startBlock + ",0)");
+            pageResult.setEndKey("(" + endBlock + ",0)");
+            if (!handler.handle(pageResult)) {
+                return;
+            }
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,116 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.utils.BoundSqlUtils;
+import cn.rhymed.data.turbo.utils.KeyUtils;
+import cn.rhymed.data.turbo.utils.MappedStatementUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
+
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 只查询符合条件的最小、最大主键和行数，按 fetchSize 将主键区间等宽切分为各分页。
+ * 规划不需要扫描和排序全部主键，但主键不连续时各页实际行数会小于 fetchSize，
+ * 分页的 pageSize 为 null，表示实际行数未知。只适用于整数主键，其他类型的主键改用 ROW_NUMBER 策略，
+ * 方言不支持窗口函数时改用 KEYSET 策略。
+ * 等宽切分的页数超过按行数计算页数的 {@value #SPARSE_FACTOR} 倍时，认为主键过于稀疏，改用 KEYSET 规划
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class EqualWidthPagePlanner implements PagePlanner {
+
+    /**
+     * 等宽切分页数与按行数计算页数的最大比值，超过后大部分分页都是空页
+     */
+    static final int SPARSE_FACTOR = 4;
+
+    @Override
+    public void plan(MappedStatement ms, Object parameter, Executor executor,
+                     BoundSql boundSql, PageConfig config, PageResultHandler handler) throws SQLException {
+        log.info("查询主键范围，按主键区间等宽切分分页");
+        PageResult keyRange = queryKeyRange(ms, parameter, executor, boundSql, config);
+        if (keyRange == null) {
+            return;
+        }
+
+        Long min = KeyUtils.toLong(keyRange.getStartKey());
+        Long max = KeyUtils.toLong(keyRange.getEndKey());
+        if (min == null || max == null) {
+            PlanningStrategy fallback = PagePlanners.supportedStrategy(PlanningStrategy.ROW_NUMBER, config.getDialect());
+            log.warn("主键类型 {} 不是整数，无法按主键区间等宽切分，改用 {} 策略",
+                    keyRange.getStartKey().getClass().getName(), fallback);
+            PagePlanners.of(fallback).plan(ms, parameter, executor, boundSql, config, handler);
+            return;
+        }
+
+        // 如果分页大小设置不合理则强制为1000
+        long pageWidth = config.getPageSize() <= 1 ? 1000 : config.getPageSize();
+        long minKey = min;
+        long maxKey = max;
+        long rowCount = keyRange.getPageSize() == null ? 0 : keyRange.getPageSize();
+        // 主键跨度可能超出 long 范围，例如 [Long.MIN_VALUE, Long.MAX_VALUE]
+        BigInteger width = BigInteger.valueOf(pageWidth);
+        BigInteger span = BigInteger.valueOf(maxKey).subtract(BigInteger.valueOf(minKey)).add(BigInteger.ONE);
+        BigInteger pageCount = span.add(width).subtract(BigInteger.ONE).divide(width);
+        long densePageCount = Math.max(1, (rowCount + pageWidth - 1) / pageWidth);
+        if (pageCount.compareTo(BigInteger.valueOf(densePageCount).multiply(BigInteger.valueOf(SPARSE_FACTOR))) > 0) {
+            log.info("主键范围: [{}, {}]，等宽切分 {} 页，实际 {} 行只需 {} 页，主键过于稀疏，改用 KEYSET 规划",
+                    minKey, maxKey, pageCount, rowCount, densePageCount);
+            PagePlanners.of(PlanningStrategy.KEYSET).plan(ms, parameter, executor, boundSql, config, handler);
+            return;
+        }
+        log.info("主键范围: [{}, {}]，共 {} 行，预计 {} 页", minKey, maxKey, rowCount, pageCount);
+
+        int pageNum = 0;
+        long startKey = minKey;
+        while (startKey <= maxKey) {
+            // startKey <= maxKey，差值按无符号比较，主键跨度超出 long 范围时也不会溢出
+            long endKey = Long.compareUnsigned(maxKey - startKey, pageWidth) < 0 ? maxKey : startKey + pageWidth - 1;
+            PageResult pageResult = new PageResult();
+            pageResult.setPageNum(pageNum++);
+            pageResult.setStartKey(startKey);
+            pageResult.setEndKey(endKey);
+            if (!handler.handle(pageResult) || endKey == maxKey) {
+                break;
+            }
+            startKey = endKey + 1;
+        }
+    }
+
+    /**
+     * 查询符合条件的最小和最大主键
+     *
+     * @return startKey 为最小主键、endKey 为最大主键，没有符合条件的数据时返回 null
+     */
+    public static PageResult queryKeyRange(MappedStatement ms, Object parameter, Executor executor,
+                                           BoundSql boundSql, PageConfig config) throws SQLException {
+        SqlTemplate rangeTemplate = SqlTemplateCache.getInstance()
+                .getMinMaxTemplate(ms.getId(), boundSql.getSql(), config);
+        log.debug("生成的主键范围 SQL: {}", rangeTemplate.getSql());
+
+        MappedStatement rangeMs = MappedStatementUtils.newRowNumberMappedStatement(ms);
+        BoundSql rangeBoundSql = BoundSqlUtils.newBoundSql(ms.getConfiguration(), rangeTemplate, boundSql, parameter);
+        CacheKey rangeKey = executor.createCacheKey(rangeMs, parameter, RowBounds.DEFAULT, rangeBoundSql);
+        List<PageResult> range = executor.query(rangeMs, parameter, RowBounds.DEFAULT, null, rangeKey, rangeBoundSql);
+
+        PageResult keyRange = range.isEmpty() ? null : range.get(0);
+        // 没有符合条件的数据时 min/max 为 null
+        if (keyRange == null || keyRange.getStartKey() == null || keyRange.getEndKey() == null) {
+            return null;
+        }
+        return keyRange;
+    }
+}
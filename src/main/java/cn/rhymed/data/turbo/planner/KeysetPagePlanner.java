@@ -0,0 +1,65 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.utils.BoundSqlUtils;
+import cn.rhymed.data.turbo.utils.MappedStatementUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 按主键顺序逐页探测分页边界：每次从上一页的结束ID之后取 fetchSize 个主键，
+ * 汇总出当前页的开始ID、结束ID和数量。每页只是一次主键索引上的范围扫描，
+ * 不需要窗口函数，也不需要对全部符合条件的主键排序
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class KeysetPagePlanner implements PagePlanner {
+
+    private static final String LAST_KEY_PARAMETER = SqlTemplate.getParameterName(SqlTemplate.LAST_KEY);
+
+    @Override
+    public void plan(MappedStatement ms, Object parameter, Executor executor,
+                     BoundSql boundSql, PageConfig config, PageResultHandler handler) throws SQLException {
+        SqlTemplateCache cache = SqlTemplateCache.getInstance();
+        SqlTemplate firstTemplate = cache.getKeysetTemplate(ms.getId(), boundSql.getSql(), config, true);
+        SqlTemplate nextTemplate = cache.getKeysetTemplate(ms.getId(), boundSql.getSql(), config, false);
+        log.info("使用主键逐页探测分页边界");
+        log.debug("生成的分页探测 SQL: {}", nextTemplate.getSql());
+
+        MappedStatement probeMs = MappedStatementUtils.newRowNumberMappedStatement(ms);
+        int pageNum = 0;
+        Object lastKey = null;
+        while (true) {
+            SqlTemplate template = lastKey == null ? firstTemplate : nextTemplate;
+            BoundSql probeBoundSql = BoundSqlUtils.newBoundSql(ms.getConfiguration(), template, boundSql, parameter);
+            if (lastKey != null) {
+                probeBoundSql.setAdditionalParameter(LAST_KEY_PARAMETER, lastKey);
+            }
+            CacheKey probeKey = executor.createCacheKey(probeMs, parameter, RowBounds.DEFAULT, probeBoundSql);
+            List<PageResult> probe = executor.query(probeMs, parameter, RowBounds.DEFAULT, null, probeKey, probeBoundSql);
+
+            PageResult pageResult = probe.isEmpty() ? null : probe.get(0);
+            if (pageResult == null || pageResult.getPageSize() == null || pageResult.getPageSize() == 0) {
+                break;
+            }
+            pageResult.setPageNum(pageNum++);
+            // 不足一页说明已经到达末尾
+            if (!handler.handle(pageResult) || pageResult.getPageSize() < config.getPageSize()) {
+                break;
+            }
+            lastKey = pageResult.getEndKey();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.domain.PageResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分页规划器，根据原始语句查询出各分页的主键范围
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface PagePlanner {
+
+    /**
+     * 查询分页信息，每得到一个分页立即交给处理器
+     *
+     * @param ms        原始 MappedStatement
+     * @param parameter 原始参数
+     * @param executor  当前会话的 Executor
+     * @param boundSql  原始 BoundSql
+     * @param config    分页配置
+     * @param handler   分页处理器，按主键升序依次收到各分页
+     */
+    void plan(MappedStatement ms, Object parameter, Executor executor,
+              BoundSql boundSql, PageConfig config, PageResultHandler handler) throws SQLException;
+
+    /**
+     * 查询全部分页信息
+     *
+     * @return 按主键升序排列的分页信息
+     */
+    default List<PageResult> plan(MappedStatement ms, Object parameter, Executor executor,
+                                  BoundSql boundSql, PageConfig config) throws SQLException {
+        List<PageResult> pageResults = new ArrayList<>();
+        plan(ms, parameter, executor, boundSql, config, pageResults::add);
+        return pageResults;
+    }
+}
@@ -0,0 +1,64 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.dialect.Dialect;
+import cn.rhymed.data.turbo.dialect.Dialects;
+
+/**
+ * 分页规划器工厂
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class PagePlanners {
+
+    private static final PagePlanner ROW_NUMBER = new RowNumberPagePlanner();
+    private static final PagePlanner KEYSET = new KeysetPagePlanner();
+    private static final PagePlanner EQUAL_WIDTH = new EqualWidthPagePlanner();
+    private static final PagePlanner TUPLE_KEYSET = new TupleKeysetPagePlanner();
+    private static final PagePlanner CTID = new CtidPagePlanner();
+
+    /**
+     * 获取分页规划器，复合主键只能按主键元组逐页探测，忽略指定的规划策略（CTID 策略不使用主键）
+     */
+    public static PagePlanner of(PlanningStrategy strategy, PageConfig config) {
+        if (config.isCompositeKey() && strategy != PlanningStrategy.CTID) {
+            return TUPLE_KEYSET;
+        }
+        return of(strategy);
+    }
+
+    /**
+     * 获取规划策略对应的分页规划器，未指定策略时使用 ROW_NUMBER
+     */
+    public static PagePlanner of(PlanningStrategy strategy) {
+        if (strategy == null) {
+            return ROW_NUMBER;
+        }
+        switch (strategy) {
+            case KEYSET:
+                return KEYSET;
+            case EQUAL_WIDTH:
+                return EQUAL_WIDTH;
+            case CTID:
+                return CTID;
+            case ROW_NUMBER:
+            default:
+                return ROW_NUMBER;
+        }
+    }
+
+    /**
+     * 获取方言支持的规划策略：ROW_NUMBER 需要窗口函数，方言不支持时改用 KEYSET 逐页探测，只需要 ORDER BY ... LIMIT
+     *
+     * @param dialect 为 null 时使用默认方言
+     */
+    public static PlanningStrategy supportedStrategy(PlanningStrategy strategy, Dialect dialect) {
+        Dialect effective = dialect != null ? dialect : Dialects.STANDARD;
+        if (strategy == PlanningStrategy.ROW_NUMBER && !effective.supportsWindowFunctions()) {
+            return PlanningStrategy.KEYSET;
+        }
+        return strategy;
+    }
+}
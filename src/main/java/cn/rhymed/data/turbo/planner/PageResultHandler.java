@@ -0,0 +1,20 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.domain.PageResult;
+
+/**
+ * 分页规划结果处理器，规划器每得到一个分页就回调一次
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@FunctionalInterface
+public interface PageResultHandler {
+
+    /**
+     * 处理一个分页
+     *
+     * @return false 表示不再需要后续分页，规划器应尽快停止
+     */
+    boolean handle(PageResult pageResult);
+}
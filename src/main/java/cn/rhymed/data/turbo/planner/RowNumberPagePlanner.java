@@ -0,0 +1,68 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.utils.BoundSqlUtils;
+import cn.rhymed.data.turbo.utils.MappedStatementUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.SQLException;
+
+import static cn.rhymed.data.turbo.constants.CommonConstants.CUSTOM_ROW_NUMBER_SQL_POSTFIX;
+
+/**
+ * 使用 ROW_NUMBER() 窗口函数一次性查询出全部分页。
+ * 如果存在 id 为 原语句id + _ROW_NUMBER 的 MappedStatement，则直接使用该语句查询分页
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class RowNumberPagePlanner implements PagePlanner {
+
+    @Override
+    public void plan(MappedStatement ms, Object parameter, Executor executor,
+                     BoundSql boundSql, PageConfig config, PageResultHandler handler) throws SQLException {
+        // 通过 ResultHandler 逐行处理分页结果，不在内存中保存完整列表
+        ResultHandler<PageResult> resultHandler = context -> {
+            if (!handler.handle(context.getResultObject())) {
+                context.stop();
+            }
+        };
+
+        MappedStatement customCountMs = null;
+        try {
+            customCountMs = ms.getConfiguration().getMappedStatement(ms.getId() + CUSTOM_ROW_NUMBER_SQL_POSTFIX);
+        } catch (Exception e) {
+            //ignore
+        }
+
+        if (customCountMs != null) {
+            executor.query(customCountMs, parameter, RowBounds.DEFAULT, resultHandler);
+            return;
+        }
+
+        CacheKey countKey = executor.createCacheKey(ms, parameter, RowBounds.DEFAULT, boundSql);
+        countKey.update(CUSTOM_ROW_NUMBER_SQL_POSTFIX);
+        //根据当前的 ms 创建一个返回值为 PageResult 类型的 ms
+        MappedStatement countMs = MappedStatementUtils.newRowNumberMappedStatement(ms);
+        //获取 row number sql
+        SqlTemplate countTemplate = SqlTemplateCache.getInstance()
+                .getRowNumberTemplate(ms.getId(), boundSql.getSql(), config);
+        log.info("将原始语句转换为查询分页的 SELECT 语句");
+        log.debug("生成的窗口函数 SQL: {}", countTemplate.getSql());
+        log.debug("SQL 模板缓存: {}", SqlTemplateCache.getInstance());
+
+        // 改写后部分参数（如 UPDATE 的 SET 参数）已不存在，按模板重新排列参数映射
+        BoundSql countBoundSql = BoundSqlUtils.newBoundSql(ms.getConfiguration(), countTemplate, boundSql, parameter);
+        executor.query(countMs, parameter, RowBounds.DEFAULT, resultHandler, countKey, countBoundSql);
+    }
+}
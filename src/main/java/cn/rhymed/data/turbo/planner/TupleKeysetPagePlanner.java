@@ -0,0 +1,104 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.RowNumberSqlParser;
+import cn.rhymed.data.turbo.RowNumberSqlParser.TupleProbe;
+import cn.rhymed.data.turbo.cache.SqlTemplateCache;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.domain.CompositeKey;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import cn.rhymed.data.turbo.utils.BoundSqlUtils;
+import cn.rhymed.data.turbo.utils.MappedStatementUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 复合主键按主键元组顺序逐页探测分页边界：从当前页的开始主键往后跳过 pageSize - 1 个主键，
+ * 一次取出当前页的结束主键和下一页的开始主键。每页只是一次复合索引上的范围扫描，
+ * 分页条件为 (a, b) &gt;= (?, ?) AND (a, b) &lt;= (?, ?)，按聚簇索引顺序执行
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class TupleKeysetPagePlanner implements PagePlanner {
+
+    @Override
+    public void plan(MappedStatement ms, Object parameter, Executor executor,
+                     BoundSql boundSql, PageConfig config, PageResultHandler handler) throws SQLException {
+        SqlTemplateCache cache = SqlTemplateCache.getInstance();
+        SqlTemplate firstTemplate = cache.getTupleProbeTemplate(ms.getId(), boundSql.getSql(), config, TupleProbe.FIRST);
+        SqlTemplate nextTemplate = cache.getTupleProbeTemplate(ms.getId(), boundSql.getSql(), config, TupleProbe.NEXT);
+        SqlTemplate lastTemplate = cache.getTupleProbeTemplate(ms.getId(), boundSql.getSql(), config, TupleProbe.LAST);
+        log.info("复合主键 {}，按主键元组逐页探测分页边界", config.getPrimaryId());
+        log.debug("生成的分页探测 SQL: {}", nextTemplate.getSql());
+
+        int keyCount = RowNumberSqlParser.getKeyColumns(config).size();
+        // 如果分页大小设置不合理则强制为1000，与探测 SQL 一致
+        int pageSize = config.getPageSize() <= 1 ? 1000 : config.getPageSize();
+        MappedStatement probeMs = MappedStatementUtils.newTupleKeyMappedStatement(ms, keyCount);
+        List<CompositeKey> first = query(probeMs, parameter, executor, boundSql, firstTemplate, null, keyCount);
+        if (first.isEmpty()) {
+            return;
+        }
+
+        int pageNum = 0;
+        CompositeKey startKey = first.get(0);
+        while (startKey != null) {
+            PageResult pageResult = new PageResult();
+            pageResult.setPageNum(pageNum++);
+            pageResult.setStartKey(startKey);
+            // 第 1 行为当前页的结束主键，第 2 行为下一页的开始主键
+            List<CompositeKey> next = query(probeMs, parameter, executor, boundSql, nextTemplate, startKey, keyCount);
+            if (next.isEmpty()) {
+                // 不足一页，结束主键为剩余数据中最大的主键，实际行数未知
+                List<CompositeKey> last = query(probeMs, parameter, executor, boundSql, lastTemplate, startKey, keyCount);
+                if (last.isEmpty()) {
+                    return;
+                }
+                pageResult.setEndKey(last.get(0));
+                handler.handle(pageResult);
+                return;
+            }
+            pageResult.setEndKey(next.get(0));
+            pageResult.setPageSize(pageSize);
+            if (!handler.handle(pageResult)) {
+                return;
+            }
+            startKey = next.size() > 1 ? next.get(1) : null;
+        }
+    }
+
+    private static List<CompositeKey> query(MappedStatement probeMs, Object parameter, Executor executor,
+                                            BoundSql boundSql, SqlTemplate template, CompositeKey startKey,
+                                            int keyCount) throws SQLException {
+        BoundSql probeBoundSql = BoundSqlUtils.newBoundSql(probeMs.getConfiguration(), template, boundSql, parameter);
+        if (startKey != null) {
+            for (int i = 0; i < keyCount; i++) {
+                probeBoundSql.setAdditionalParameter(SqlTemplate.getParameterName(SqlTemplate.startKey(i)),
+                        startKey.get(i));
+            }
+        }
+        CacheKey probeKey = executor.createCacheKey(probeMs, parameter, RowBounds.DEFAULT, probeBoundSql);
+        List<Map<String, Object>> rows =
+                executor.query(probeMs, parameter, RowBounds.DEFAULT, null, probeKey, probeBoundSql);
+        List<CompositeKey> keys = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Object[] values = new Object[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                values[i] = row.get("k" + i);
+            }
+            keys.add(new CompositeKey(values));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,18 @@
+package cn.rhymed.data.turbo.throttle;
+
+/**
+ * 批量操作限流扩展点：工作线程每次事务提交并归还连接后调用，需要降速时阻塞当前工作线程，
+ * 条件恢复后自动继续执行
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface BatchThrottle {
+
+    /**
+     * 事务提交后调用
+     *
+     * @param rows 本次提交实际影响的行数
+     */
+    void onCommit(int rows) throws InterruptedException;
+}
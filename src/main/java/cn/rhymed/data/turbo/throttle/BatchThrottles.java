@@ -0,0 +1,46 @@
+package cn.rhymed.data.turbo.throttle;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按 SqlSessionFactory 注册的批量操作限流，同一个 SqlSessionFactory 上的所有批量任务共用
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class BatchThrottles {
+
+    private static final Map<SqlSessionFactory, BatchThrottle> THROTTLES = new ConcurrentHashMap<>();
+
+    /**
+     * 为 SqlSessionFactory 注册限流，多个限流按顺序依次执行
+     */
+    public static void register(SqlSessionFactory sqlSessionFactory, List<BatchThrottle> throttles) {
+        if (throttles == null || throttles.isEmpty()) {
+            THROTTLES.remove(sqlSessionFactory);
+            return;
+        }
+        List<BatchThrottle> copy = new ArrayList<>(throttles);
+        THROTTLES.put(sqlSessionFactory, copy.size() == 1 ? copy.get(0) : rows -> {
+            for (BatchThrottle throttle : copy) {
+                throttle.onCommit(rows);
+            }
+        });
+    }
+
+    /**
+     * 获取 SqlSessionFactory 的限流，未注册时返回 null 表示不限流
+     */
+    public static BatchThrottle get(SqlSessionFactory sqlSessionFactory) {
+        return THROTTLES.get(sqlSessionFactory);
+    }
+
+    public static void remove(SqlSessionFactory sqlSessionFactory) {
+        THROTTLES.remove(sqlSessionFactory);
+    }
+}
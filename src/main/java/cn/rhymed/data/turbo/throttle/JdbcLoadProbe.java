@@ -0,0 +1,50 @@
+package cn.rhymed.data.turbo.throttle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * 通过 SQL 查询负载指标，取第一行最后一列的数值，没有结果时为 0。例如：
+ * <ul>
+ *     <li>MySQL 活跃线程数：SHOW GLOBAL STATUS LIKE 'Threads_running'</li>
+ *     <li>PostgreSQL 从库复制延迟（秒，在从库上执行）：SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)</li>
+ * </ul>
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class JdbcLoadProbe implements LoadProbe {
+
+    private final DataSource dataSource;
+    private final String sql;
+    private final String name;
+
+    public JdbcLoadProbe(DataSource dataSource, String sql) {
+        this(dataSource, sql, sql);
+    }
+
+    public JdbcLoadProbe(DataSource dataSource, String sql, String name) {
+        this.dataSource = dataSource;
+        this.sql = sql;
+        this.name = name;
+    }
+
+    @Override
+    public double getValue() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) {
+                return 0;
+            }
+            return Double.parseDouble(resultSet.getString(resultSet.getMetaData().getColumnCount()));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,22 @@
+package cn.rhymed.data.turbo.throttle;
+
+/**
+ * 数据库负载探针，例如从库复制延迟（秒）、MySQL Threads_running 等
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface LoadProbe {
+
+    /**
+     * 获取当前负载指标
+     */
+    double getValue() throws Exception;
+
+    /**
+     * 负载指标名称，用于日志输出
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
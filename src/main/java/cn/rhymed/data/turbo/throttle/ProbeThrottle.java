@@ -0,0 +1,65 @@
+package cn.rhymed.data.turbo.throttle;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按负载探针限流：负载指标超过 pauseThreshold 时暂停工作线程，每隔 checkIntervalMillis 重新检查，
+ * 降到 resumeThreshold 以下后自动恢复。两个阈值分开可以避免在阈值附近反复暂停和恢复。
+ * 指标在检查间隔内只查询一次，由所有工作线程共用；查询失败时不限流
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class ProbeThrottle implements BatchThrottle {
+
+    private final LoadProbe probe;
+    private final double pauseThreshold;
+    private final double resumeThreshold;
+    private final long checkIntervalNanos;
+
+    private double lastValue;
+    private long lastCheckNanos;
+    private boolean checked;
+
+    public ProbeThrottle(LoadProbe probe, double pauseThreshold, double resumeThreshold, long checkIntervalMillis) {
+        this.probe = probe;
+        this.pauseThreshold = pauseThreshold;
+        this.resumeThreshold = Math.min(resumeThreshold, pauseThreshold);
+        this.checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(checkIntervalMillis, 1));
+    }
+
+    @Override
+    public void onCommit(int rows) throws InterruptedException {
+        double value = getValue();
+        if (value <= pauseThreshold) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        log.warn("负载指标 {}={} 超过阈值 {}，暂停执行，降到 {} 以下后恢复",
+                probe.getName(), value, pauseThreshold, resumeThreshold);
+        while (value > resumeThreshold) {
+            TimeUnit.NANOSECONDS.sleep(checkIntervalNanos);
+            value = getValue();
+        }
+        log.info("负载指标 {}={} 已恢复，暂停了 {} ms", probe.getName(), value, System.currentTimeMillis() - startTime);
+    }
+
+    private synchronized double getValue() {
+        long now = System.nanoTime();
+        if (checked && now - lastCheckNanos < checkIntervalNanos) {
+            return lastValue;
+        }
+        try {
+            lastValue = probe.getValue();
+        } catch (Exception e) {
+            log.warn("查询负载指标 {} 失败，本次不限流", probe.getName(), e);
+            lastValue = 0;
+        }
+        lastCheckNanos = now;
+        checked = true;
+        return lastValue;
+    }
+}
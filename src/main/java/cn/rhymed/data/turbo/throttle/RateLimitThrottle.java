@@ -0,0 +1,45 @@
+package cn.rhymed.data.turbo.throttle;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按每秒行数限流（令牌桶）：所有共用此实例的工作线程合计不超过 rowsPerSecond，
+ * 允许最多 1 秒的突发量
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class RateLimitThrottle implements BatchThrottle {
+
+    private static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double nanosPerRow;
+
+    /**
+     * 令牌桶下一次有空闲令牌的时间
+     */
+    private long nextFreeNanos = System.nanoTime();
+
+    public RateLimitThrottle(double rowsPerSecond) {
+        if (rowsPerSecond <= 0) {
+            throw new IllegalArgumentException("rowsPerSecond must be positive: " + rowsPerSecond);
+        }
+        this.nanosPerRow = TimeUnit.SECONDS.toNanos(1) / rowsPerSecond;
+    }
+
+    @Override
+    public void onCommit(int rows) throws InterruptedException {
+        long waitNanos = reserve(rows);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private synchronized long reserve(int rows) {
+        long now = System.nanoTime();
+        // 空闲时间最多积累 1 秒的令牌
+        long start = Math.max(nextFreeNanos, now - MAX_BURST_NANOS);
+        nextFreeNanos = start + (long) (rows * nanosPerRow);
+        return nextFreeNanos - now;
+    }
+}
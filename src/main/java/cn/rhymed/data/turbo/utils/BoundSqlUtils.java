@@ -0,0 +1,155 @@
+package cn.rhymed.data.turbo.utils;
+
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BoundSql 工具类
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+@Slf4j
+public class BoundSqlUtils {
+
+    /**
+     * BoundSql.additionalParameters 字段的读取句柄，只在类加载时反射一次，获取失败时为 null
+     */
+    private static final MethodHandle ADDITIONAL_PARAMETERS_GETTER = additionalParametersGetter();
+
+    private static MethodHandle additionalParametersGetter() {
+        try {
+            Field field = BoundSql.class.getDeclaredField("additionalParameters");
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field);
+        } catch (Exception e) {
+            log.warn("无法读取 BoundSql.additionalParameters，动态SQL参数可能丢失", e);
+            return null;
+        }
+    }
+
+    /**
+     * 统计 SQL 中参数占位符 ? 的数量
+     */
+    public static int countParameters(String sql) {
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取 BoundSql 的额外参数（包括 foreach 生成的动态参数）的快照
+     */
+    public static Map<String, Object> getAdditionalParameters(BoundSql boundSql) {
+        if (ADDITIONAL_PARAMETERS_GETTER == null) {
+            return Collections.emptyMap();
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> params = (Map<String, Object>) ADDITIONAL_PARAMETERS_GETTER.invoke(boundSql);
+            if (params == null || params.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            return new LinkedHashMap<>(params);
+        } catch (Throwable e) {
+            log.warn("获取额外参数失败，可能导致动态SQL参数丢失", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 复制 BoundSql 的额外参数（包括 foreach 生成的动态参数）
+     */
+    public static void copyAdditionalParameters(BoundSql source, BoundSql target) {
+        Map<String, Object> sourceParams = getAdditionalParameters(source);
+        if (!sourceParams.isEmpty()) {
+            for (Map.Entry<String, Object> entry : sourceParams.entrySet()) {
+                target.setAdditionalParameter(entry.getKey(), entry.getValue());
+            }
+            log.debug("复制了 {} 个额外参数", sourceParams.size());
+        }
+    }
+
+    /**
+     * 按参数映射取出语句中各个 ? 绑定的参数值，取值规则与 DefaultParameterHandler 一致
+     */
+    public static List<Object> getParameterValues(Configuration configuration, BoundSql boundSql, Object parameter) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        List<Object> values = new ArrayList<>(mappings.size());
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String name = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(name)) {
+                value = boundSql.getAdditionalParameter(name);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(name);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * 按 SQL 模板重新排列参数映射：保留改写后仍存在的原始参数，并在对应位置加入新增参数
+     */
+    public static List<ParameterMapping> buildParameterMappings(Configuration configuration,
+                                                                SqlTemplate template,
+                                                                List<ParameterMapping> originalMappings) {
+        int[] parameterIndexes = template.getParameterIndexes();
+        List<ParameterMapping> mappings = new ArrayList<>(parameterIndexes.length);
+        for (int parameterIndex : parameterIndexes) {
+            if (parameterIndex >= 0) {
+                if (parameterIndex >= originalMappings.size()) {
+                    throw new IllegalStateException("参数映射数量与 SQL 不一致: SQL中的'?'数量多于 ParameterMapping 数量("
+                            + originalMappings.size() + ")");
+                }
+                mappings.add(originalMappings.get(parameterIndex));
+            } else {
+                // 分页主键参数类型不固定，Object 对应 UnknownTypeHandler，绑定时按参数值的实际类型选择 TypeHandler
+                mappings.add(new ParameterMapping.Builder(configuration,
+                        SqlTemplate.getParameterName(parameterIndex), Object.class).build());
+            }
+        }
+        return mappings;
+    }
+
+    /**
+     * 根据 SQL 模板创建新的 BoundSql，并复制原 BoundSql 的额外参数
+     */
+    public static BoundSql newBoundSql(Configuration configuration, SqlTemplate template,
+                                       BoundSql originalBoundSql, Object parameter) {
+        BoundSql boundSql = new BoundSql(configuration, template.getSql(),
+                buildParameterMappings(configuration, template, originalBoundSql.getParameterMappings()), parameter);
+        copyAdditionalParameters(originalBoundSql, boundSql);
+        return boundSql;
+    }
+}
@@ -0,0 +1,119 @@
+package cn.rhymed.data.turbo.utils;
+
+import cn.rhymed.data.turbo.dialect.Dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 主键列名的拆分和引用。列名可以使用双引号、反引号或方括号引用，引号内的逗号和点不作为分隔符
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class IdentifierUtils {
+
+    /**
+     * 不需要引号的普通标识符，保持原样以免改变数据库的大小写规则
+     */
+    private static final Pattern PLAIN_IDENTIFIER = Pattern.compile("[\\p{L}_][\\p{L}\\p{N}_$#]*");
+
+    /**
+     * 按逗号拆分多个列名，去掉两端的空白和空项
+     */
+    public static List<String> split(String columns) {
+        return split(columns, ',');
+    }
+
+    /**
+     * 按方言的引号引用列名，列名可以带表别名或 schema（如 t.id）：
+     * 已加引号的部分换成方言的引号，包含空格等特殊字符的部分加上引号，普通标识符保持原样
+     */
+    public static String quote(String column, Dialect dialect) {
+        StringBuilder builder = new StringBuilder(column.length() + 4);
+        for (String part : split(column, '.')) {
+            if (builder.length() > 0) {
+                builder.append('.');
+            }
+            builder.append(quotePart(part, dialect));
+        }
+        return builder.toString();
+    }
+
+    private static String quotePart(String part, Dialect dialect) {
+        char close = closeQuote(part.charAt(0));
+        if (close != 0 && part.length() >= 2 && part.charAt(part.length() - 1) == close) {
+            // 引号内连续两个结束引号表示一个引号字符
+            String identifier = part.substring(1, part.length() - 1)
+                    .replace(String.valueOf(close) + close, String.valueOf(close));
+            return dialect.quoteIdentifier(identifier);
+        }
+        if ("*".equals(part) || PLAIN_IDENTIFIER.matcher(part).matches()) {
+            return part;
+        }
+        return dialect.quoteIdentifier(part);
+    }
+
+    private static List<String> split(String text, char separator) {
+        List<String> parts = new ArrayList<>();
+        if (text == null) {
+            return parts;
+        }
+        int start = 0;
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (closeQuote(c) != 0) {
+                i = skipQuoted(text, i);
+                continue;
+            }
+            if (c == separator) {
+                addPart(parts, text.substring(start, i));
+                start = i + 1;
+            }
+            i++;
+        }
+        addPart(parts, text.substring(start));
+        return parts;
+    }
+
+    private static void addPart(List<String> parts, String part) {
+        if (!StrUtil.isBlank(part)) {
+            parts.add(part.trim());
+        }
+    }
+
+    /**
+     * 跳过从 start 开始的引号部分，返回结束引号之后的位置，没有结束引号时返回文本长度
+     */
+    private static int skipQuoted(String text, int start) {
+        char close = closeQuote(text.charAt(start));
+        int i = start + 1;
+        while (i < text.length()) {
+            if (text.charAt(i) == close) {
+                if (i + 1 < text.length() && text.charAt(i + 1) == close) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return text.length();
+    }
+
+    private static char closeQuote(char open) {
+        switch (open) {
+            case '"':
+                return '"';
+            case '`':
+                return '`';
+            case '[':
+                return ']';
+            default:
+                return 0;
+        }
+    }
+}
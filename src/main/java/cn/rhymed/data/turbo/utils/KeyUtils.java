@@ -0,0 +1,38 @@
+package cn.rhymed.data.turbo.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 分页主键工具类。主键可以是整数、字符串、UUID、时间等任意可比较的类型，
+ * 只有整数主键才能按数值区间等宽切分
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class KeyUtils {
+
+    /**
+     * 将整数主键转换为 long，不是整数或超出 long 范围时返回 null
+     *
+     * @param key 主键
+     * @return long 值
+     */
+    public static Long toLong(Object key) {
+        if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        }
+        try {
+            if (key instanceof BigInteger) {
+                return ((BigInteger) key).longValueExact();
+            }
+            // Oracle 等数据库的 NUMBER 类型主键返回 BigDecimal
+            if (key instanceof BigDecimal) {
+                return ((BigDecimal) key).longValueExact();
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return null;
+    }
+}
@@ -1,9 +1,12 @@
 package cn.rhymed.data.turbo.utils;
 
 import cn.rhymed.data.turbo.domain.PageResult;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.mapping.*;
+import org.apache.ibatis.session.Configuration;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
 import static cn.rhymed.data.turbo.constants.CommonConstants.CUSTOM_ROW_NUMBER_SQL_POSTFIX;
@@ -14,10 +17,28 @@ import static cn.rhymed.data.turbo.constants.CommonConstants.CUSTOM_ROW_NUMBER_S
  **/
 public class MappedStatementUtils {
 
-    private static final List<ResultMapping> EMPTY_RESULT_MAPPING = new ArrayList<>(0);
+    public static MappedStatement newRowNumberMappedStatement(MappedStatement ms) {
+        //分页查询返回值 PageResult，显式映射列名，不依赖 mapUnderscoreToCamelCase 配置
+        ResultMap resultMap =
+                new ResultMap.Builder(ms.getConfiguration(), ms.getId(), PageResult.class, pageResultMappings(ms.getConfiguration())).build();
+        return newQueryMappedStatement(ms, resultMap);
+    }
 
+    /**
+     * 创建查询复合主键的 MappedStatement，每行结果为 Map，键为 k0、k1 ...
+     */
+    public static MappedStatement newTupleKeyMappedStatement(MappedStatement ms, int keyCount) {
+        List<ResultMapping> resultMappings = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            // 主键类型不固定，Object 对应 UnknownTypeHandler，按结果集的列类型读取
+            resultMappings.add(new ResultMapping.Builder(ms.getConfiguration(), "k" + i, "k" + i, Object.class).build());
+        }
+        ResultMap resultMap =
+                new ResultMap.Builder(ms.getConfiguration(), ms.getId(), HashMap.class, resultMappings).build();
+        return newQueryMappedStatement(ms, resultMap);
+    }
 
-    public static MappedStatement newRowNumberMappedStatement(MappedStatement ms) {
+    private static MappedStatement newQueryMappedStatement(MappedStatement ms, ResultMap resultMap) {
         MappedStatement.Builder builder =
                 new MappedStatement.Builder(ms.getConfiguration(), ms.getId() + CUSTOM_ROW_NUMBER_SQL_POSTFIX,
                         ms.getSqlSource(), ms.getSqlCommandType());
@@ -35,10 +56,7 @@ public class MappedStatementUtils {
         }
         builder.timeout(ms.getTimeout());
         builder.parameterMap(ms.getParameterMap());
-        //count查询返回值int
         List<ResultMap> resultMaps = new ArrayList<>();
-        ResultMap resultMap =
-                new ResultMap.Builder(ms.getConfiguration(), ms.getId(), PageResult.class, EMPTY_RESULT_MAPPING).build();
         resultMaps.add(resultMap);
         builder.resultMaps(resultMaps);
         builder.resultSetType(ms.getResultSetType());
@@ -48,20 +66,39 @@ public class MappedStatementUtils {
         return builder.build();
     }
 
+    private static List<ResultMapping> pageResultMappings(Configuration configuration) {
+        List<ResultMapping> resultMappings = new ArrayList<>(4);
+        resultMappings.add(new ResultMapping.Builder(configuration, "pageNum", "page_num", Integer.class).build());
+        // 主键类型不固定，Object 对应 UnknownTypeHandler，按结果集的列类型读取
+        resultMappings.add(new ResultMapping.Builder(configuration, "startKey", "start_key", Object.class).build());
+        resultMappings.add(new ResultMapping.Builder(configuration, "endKey", "end_key", Object.class).build());
+        resultMappings.add(new ResultMapping.Builder(configuration, "pageSize", "page_size", Integer.class).build());
+        return resultMappings;
+    }
+
     /**
      * 复制 MappedStatement，使用新的 id 和 BoundSql
      */
     public static MappedStatement copyFromMappedStatement(MappedStatement ms, String newMsId, BoundSql boundSql) {
+        return copyFromMappedStatement(ms, newMsId, new BoundSqlSqlSource(boundSql));
+    }
+
+    /**
+     * 复制 MappedStatement，使用新的 id 和 SqlSource
+     */
+    public static MappedStatement copyFromMappedStatement(MappedStatement ms, String newMsId, SqlSource sqlSource) {
         MappedStatement.Builder builder = new MappedStatement.Builder(
                 ms.getConfiguration(),
                 newMsId,
-                new BoundSqlSqlSource(boundSql),
+                sqlSource,
                 ms.getSqlCommandType()
         );
         builder.resource(ms.getResource());
         builder.fetchSize(ms.getFetchSize());
         builder.statementType(ms.getStatementType());
-        builder.keyGenerator(ms.getKeyGenerator());
+        // 按分页执行的 INSERT ... SELECT 每条语句写入多行，生成的主键无法回填到参数对象
+        builder.keyGenerator(ms.getSqlCommandType() == SqlCommandType.INSERT
+                ? NoKeyGenerator.INSTANCE : ms.getKeyGenerator());
         if (ms.getKeyProperties() != null && ms.getKeyProperties().length != 0) {
             builder.keyProperty(String.join(",", ms.getKeyProperties()));
         }
@@ -0,0 +1,144 @@
+package cn.rhymed.data.turbo;
+
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.dialect.Dialects;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 各方言生成的规划 SQL 和分页 SQL：Oracle、SQL Server 的 GROUP BY 不能引用列别名，
+ * Oracle 的表别名前不能有 AS，行数限制分别使用 LIMIT、FETCH FIRST 和 TOP，SQL Server 的标识符使用方括号
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class DialectSqlTest {
+
+    private static final String DELETE = "DELETE FROM user_record WHERE status = ?";
+
+    private static final String ROW_NUMBER_ITEMS = "SELECT floor((row_num - 1) / 1000) AS page_num, "
+            + "min(id) AS start_key, max(id) AS end_key, count(*) AS page_size "
+            + "FROM (SELECT id AS id, row_number() OVER (ORDER BY id) AS row_num FROM user_record WHERE status = ?)";
+    private static final String KEYSET_ITEMS = "SELECT min(id) AS start_key, max(id) AS end_key, count(*) AS page_size FROM ";
+
+    static Stream<Arguments> dialects() {
+        return Stream.of(
+                Arguments.of("standard",
+                        ROW_NUMBER_ITEMS + " AS t GROUP BY page_num ORDER BY page_num",
+                        KEYSET_ITEMS + "(SELECT id AS id FROM user_record WHERE status = ? ORDER BY id LIMIT 1000) AS t"),
+                Arguments.of("mysql",
+                        ROW_NUMBER_ITEMS + " AS t GROUP BY page_num ORDER BY page_num",
+                        KEYSET_ITEMS + "(SELECT id AS id FROM user_record WHERE status = ? ORDER BY id LIMIT 1000) AS t"),
+                Arguments.of("postgresql",
+                        ROW_NUMBER_ITEMS + " AS t GROUP BY page_num ORDER BY page_num",
+                        KEYSET_ITEMS + "(SELECT id AS id FROM user_record WHERE status = ? ORDER BY id LIMIT 1000) AS t"),
+                Arguments.of("h2",
+                        ROW_NUMBER_ITEMS + " AS t GROUP BY page_num ORDER BY page_num",
+                        KEYSET_ITEMS + "(SELECT id AS id FROM user_record WHERE status = ? ORDER BY id LIMIT 1000) AS t"),
+                Arguments.of("hsqldb",
+                        ROW_NUMBER_ITEMS + " AS t GROUP BY page_num ORDER BY page_num",
+                        KEYSET_ITEMS + "(SELECT id AS id FROM user_record WHERE status = ? ORDER BY id LIMIT 1000) AS t"),
+                Arguments.of("oracle",
+                        ROW_NUMBER_ITEMS + " t GROUP BY floor((row_num - 1) / 1000) ORDER BY page_num",
+                        KEYSET_ITEMS + "(SELECT id AS id FROM user_record WHERE status = ? ORDER BY id "
+                                + "FETCH FIRST 1000 ROWS ONLY) t"),
+                Arguments.of("sqlserver",
+                        ROW_NUMBER_ITEMS + " AS t GROUP BY floor((row_num - 1) / 1000) ORDER BY page_num",
+                        KEYSET_ITEMS + "(SELECT TOP 1000 id AS id FROM user_record WHERE status = ? ORDER BY id) AS t"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("dialects")
+    void planningSql(String dialect, String rowNumberSql, String keysetSql) {
+        PageConfig config = config(dialect, "id");
+
+        SqlTemplate rowNumber = RowNumberSqlParser.getRowNumberTemplate(DELETE, config);
+        SqlTemplate keyset = RowNumberSqlParser.getKeysetTemplate(DELETE, config, true);
+
+        assertEquals(rowNumberSql, rowNumber.getSql());
+        assertArrayEquals(new int[]{0}, rowNumber.getParameterIndexes());
+        assertEquals(keysetSql, keyset.getSql());
+        assertArrayEquals(new int[]{0}, keyset.getParameterIndexes());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"standard", "mysql", "postgresql", "h2", "hsqldb", "oracle", "sqlserver"})
+    void pageSql(String dialect) {
+        SqlTemplate template = RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config(dialect, "id"));
+
+        assertEquals("DELETE FROM user_record WHERE status = ? AND id BETWEEN ? AND ?", template.getSql());
+        assertArrayEquals(new int[]{0, SqlTemplate.START_KEY, SqlTemplate.END_KEY}, template.getParameterIndexes());
+    }
+
+    /**
+     * 按表达式分组和按别名分组规划出的分页相同
+     */
+    @Test
+    void groupByExpressionPlansSamePages() throws Exception {
+        TestDatabase database = new TestDatabase("dialect_sql");
+        database.reset("BIGINT", "x", 5000);
+        String delete = "DELETE FROM key_record WHERE status = 'old'";
+
+        List<Object[]> byAlias = database.query(
+                RowNumberSqlParser.getRowNumberSql(delete, config("standard", "id")));
+        List<Object[]> byExpression = database.query(
+                RowNumberSqlParser.getRowNumberSql(delete, config("sqlserver", "id")));
+
+        assertEquals(2, byAlias.size());
+        assertEquals(byAlias.size(), byExpression.size());
+        for (int i = 0; i < byAlias.size(); i++) {
+            assertEquals(Arrays.toString(byAlias.get(i)), Arrays.toString(byExpression.get(i)));
+        }
+    }
+
+    /**
+     * 已加引号的列名换成方言的引号，包含特殊字符的列名加上引号，普通标识符保持原样，引号字符在引号内重复
+     */
+    @Test
+    void quotedPrimaryId() {
+        assertEquals("DELETE FROM user_record WHERE status = ? AND `order id` BETWEEN ? AND ?",
+                RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config("mysql", "\"order id\"")).getSql());
+        assertEquals("DELETE FROM user_record WHERE status = ? AND [Order] BETWEEN ? AND ?",
+                RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config("sqlserver", "\"Order\"")).getSql());
+        assertEquals("DELETE FROM user_record WHERE status = ? AND [order]]id] BETWEEN ? AND ?",
+                RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config("sqlserver", "order]id")).getSql());
+        assertEquals("DELETE FROM user_record WHERE status = ? AND \"order id\" BETWEEN ? AND ?",
+                RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config("oracle", "order id")).getSql());
+        assertEquals("DELETE FROM user_record WHERE status = ? AND u.\"Id\" BETWEEN ? AND ?",
+                RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config("standard", "u.`Id`")).getSql());
+    }
+
+    @Test
+    void quotedCompositePrimaryId() {
+        PageConfig single = config("mysql", "\"tenant,id\"");
+        PageConfig composite = config("mysql", "\"tenant id\", id");
+
+        assertFalse(single.isCompositeKey());
+        assertTrue(composite.isCompositeKey());
+        assertEquals(Arrays.asList("`tenant id`", "id"), RowNumberSqlParser.getKeyColumns(composite));
+        assertEquals("DELETE FROM user_record WHERE status = ? "
+                        + "AND ((`tenant id`, id) >= (?, ?) AND (`tenant id`, id) <= (?, ?))",
+                RowNumberSqlParser.getRowNumberPageTemplate(DELETE, composite).getSql());
+    }
+
+    private static PageConfig config(String dialect, String primaryId) {
+        return PageConfig.builder()
+                .primaryId(primaryId)
+                .pageSize(1000)
+                .dialect(Dialects.forName(dialect))
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package cn.rhymed.data.turbo;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * INSERT ... SELECT 只有按源表主键范围切分后各分页的结果合起来等于原查询的结果时才能分片复制
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class InsertSelectSplitTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "INSERT INTO t_copy (id, status) SELECT id, status FROM t WHERE status = ?",
+            "INSERT INTO t_copy (id, name) SELECT s.id, upper(s.name) FROM t s WHERE s.status = ?",
+            "INSERT INTO t_copy (id, total) SELECT s.id, (SELECT max(d.amount) FROM d WHERE d.id = s.id) FROM t s",
+            "INSERT INTO t_copy SELECT * FROM t WHERE created_at < ?"
+    })
+    void acceptsRowByRowSelects(String sql) {
+        assertDoesNotThrow(() -> RowNumberSqlParser.getStatement(sql));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "INSERT INTO t_copy (status) SELECT DISTINCT status FROM t",
+            "INSERT INTO t_copy (status, n) SELECT status, count(*) FROM t GROUP BY status",
+            "INSERT INTO t_copy (id) SELECT id FROM t LIMIT 10",
+            "INSERT INTO t_copy (id) SELECT id FROM t OFFSET 10 ROWS",
+            "INSERT INTO t_copy (id) SELECT id FROM t FETCH FIRST 10 ROWS ONLY",
+            "INSERT INTO t_copy (id) SELECT TOP 10 id FROM t",
+            "INSERT INTO t_copy (n) SELECT count(*) FROM t WHERE status = ?",
+            "INSERT INTO t_copy (total) SELECT sum(amount) + 1 FROM t",
+            "INSERT INTO t_copy (n) SELECT count(DISTINCT status) FROM t",
+            "INSERT INTO t_copy (id, rn) SELECT id, row_number() OVER (ORDER BY id) FROM t",
+            "INSERT INTO t_copy (id) SELECT id FROM t UNION SELECT id FROM t2"
+    })
+    void rejectsSelectsThatDependOnOtherRows(String sql) {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> RowNumberSqlParser.getStatement(sql));
+        // 不是解析失败，而是识别出不能切分
+        assertTrue(e.getMessage().startsWith("Unsupported INSERT"), e.getMessage());
+    }
+}
@@ -0,0 +1,29 @@
+package cn.rhymed.data.turbo;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 测试使用的 Mapper，key_record 表由 {@link TestDatabase#reset(String, String, int)} 按不同的主键类型重建，
+ * 复合主键的 tuple_record 表由 {@link TestDatabase#resetTuples(int, int)} 重建
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public interface KeyRecordMapper {
+
+    String DELETE_BY_STATUS = KeyRecordMapper.class.getName() + ".deleteByStatus";
+    String DELETE_TUPLES_BY_STATUS = KeyRecordMapper.class.getName() + ".deleteTuplesByStatus";
+
+    @Delete("DELETE FROM key_record WHERE status = #{status}")
+    int deleteByStatus(String status);
+
+    @Delete("DELETE FROM tuple_record WHERE status = #{status}")
+    int deleteTuplesByStatus(String status);
+
+    @Update("UPDATE key_record SET status = 'done' WHERE status = #{status}")
+    int finishByStatus(String status);
+
+    @Update("UPDATE key_record SET status = #{status} WHERE status = #{status}")
+    int touchByStatus(String status);
+}
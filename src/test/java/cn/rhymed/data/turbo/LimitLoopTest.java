@@ -0,0 +1,107 @@
+package cn.rhymed.data.turbo;
+
+import cn.rhymed.data.turbo.config.BatchUpdateConfig;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LIMIT_LOOP 模式：只有能从 SQL 证明更新后的行不再满足 WHERE 条件时才循环执行，
+ * 显式开启 updatedRowsExcluded 但更新后的行仍满足条件时，循环次数超过上限后失败
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class LimitLoopTest {
+
+    private final TestDatabase database = new TestDatabase("limit_loop");
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database.reset("BIGINT", "x", 3000);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "DELETE FROM t WHERE status = ?",
+            "UPDATE t SET status = 'archived' WHERE status = 'inactive'",
+            "UPDATE t SET status = 'archived' WHERE tenant_id = ? AND (status <> 'archived')",
+            "UPDATE t SET status = 'archived' WHERE status IN ('inactive', 'expired')",
+            "UPDATE t SET status = 'archived', updated_at = ? WHERE status IS NULL",
+            "UPDATE t SET retry = 2 WHERE retry = 1.0",
+            "UPDATE t SET deleted_at = NULL WHERE deleted_at IS NOT NULL",
+            "UPDATE t SET deleted_at = NULL WHERE deleted_at < ?"
+    })
+    void acceptsUpdatesThatExcludeUpdatedRows(String sql) {
+        assertTrue(RowNumberSqlParser.excludesUpdatedRows(sql));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "UPDATE t SET status = ? WHERE status = ?",
+            "UPDATE t SET status = 'archived' WHERE status = 'Archived '",
+            "UPDATE t SET status = 'archived' WHERE status = 'inactive' OR tenant_id = ?",
+            "UPDATE t SET status = 'archived' WHERE status NOT IN ('inactive')",
+            "UPDATE t SET status = 'archived' WHERE status <> 'inactive'",
+            "UPDATE t SET retry = retry + 1 WHERE retry < 5",
+            "UPDATE t SET retry = 1 WHERE retry = '2'",
+            "UPDATE t SET status = 'archived' WHERE name = 'inactive'",
+            "UPDATE t SET status = 'archived'"
+    })
+    void rejectsUpdatesThatMayStillMatch(String sql) {
+        assertFalse(RowNumberSqlParser.excludesUpdatedRows(sql));
+    }
+
+    @Test
+    void comparesBoundParameterValues() {
+        String sql = "UPDATE t SET status = ?, updated_at = ? WHERE status = ?";
+        assertTrue(RowNumberSqlParser.excludesUpdatedRows(sql, Arrays.asList("done", null, "old")));
+        assertFalse(RowNumberSqlParser.excludesUpdatedRows(sql, Arrays.asList("old", null, "OLD")));
+        assertTrue(RowNumberSqlParser.excludesUpdatedRows("UPDATE t SET retry = ? WHERE retry <> ?",
+                Arrays.asList(3, 3L)));
+    }
+
+    @Test
+    void updatesEveryMatchingRow() throws SQLException {
+        update(config(false), mapper -> mapper.finishByStatus("old"));
+
+        assertEquals(1000, database.count("status = 'done'"));
+        assertEquals(0, database.count("status = 'old'"));
+    }
+
+    @Test
+    void failsWhenUpdatedRowsStillMatch() {
+        assertThrows(RuntimeException.class, () -> update(config(true), mapper -> mapper.touchByStatus("old")));
+    }
+
+    private static BatchUpdateConfig config(boolean updatedRowsExcluded) {
+        return BatchUpdateConfig.builder()
+                .primaryId("id")
+                .fetchSize(100)
+                .batchSize(300)
+                .maxThreadCount(2)
+                .planningStrategy(PlanningStrategy.LIMIT_LOOP)
+                .updatedRowsExcluded(updatedRowsExcluded)
+                .build();
+    }
+
+    private void update(BatchUpdateConfig config, Consumer<KeyRecordMapper> statement) {
+        try (SqlSession session = database.getSqlSessionFactory().openSession()) {
+            KeyRecordMapper mapper = session.getMapper(KeyRecordMapper.class);
+            BatchUpdateHelper.execute(config, () -> statement.accept(mapper));
+            session.commit(true);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package cn.rhymed.data.turbo;
+
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.dialect.Dialect;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.interceptor.BatchInterceptor;
+import cn.rhymed.data.turbo.planner.PagePlanner;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 测试使用的 H2 内存数据库，注册 {@link KeyRecordMapper} 和批量操作拦截器
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+public class TestDatabase {
+
+    private final PooledDataSource dataSource;
+    private final SqlSessionFactory sqlSessionFactory;
+
+    public TestDatabase(String name) {
+        this.dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Configuration configuration = new Configuration(new Environment(name, new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(KeyRecordMapper.class);
+        this.sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        configuration.addInterceptor(new BatchInterceptor(sqlSessionFactory));
+    }
+
+    public SqlSessionFactory getSqlSessionFactory() {
+        return sqlSessionFactory;
+    }
+
+    /**
+     * 重建 key_record 表，主键列类型为 keyType，写入 rows 条数据：
+     * 主键为 keyExpression（可以引用 SYSTEM_RANGE 的 x），x 能被 3 整除的行 status 为 old，其余为 new
+     */
+    public void reset(String keyType, String keyExpression, int rows) throws SQLException {
+        execute("DROP TABLE IF EXISTS key_record",
+                "CREATE TABLE key_record(id " + keyType + " PRIMARY KEY, status VARCHAR(16))",
+                "INSERT INTO key_record SELECT " + keyExpression
+                        + ", CASE WHEN MOD(x, 3) = 0 THEN 'old' ELSE 'new' END FROM SYSTEM_RANGE(1, " + rows + ")");
+    }
+
+    /**
+     * 重建复合主键 (tenant_id, id) 的 tuple_record 表：每个租户 rowsPerTenant 行，id 在每个租户内从 1 开始，
+     * 序号能被 3 整除的行 status 为 old，其余为 new
+     */
+    public void resetTuples(int tenants, int rowsPerTenant) throws SQLException {
+        execute("DROP TABLE IF EXISTS tuple_record",
+                "CREATE TABLE tuple_record(tenant_id INT, id BIGINT, status VARCHAR(16), PRIMARY KEY (tenant_id, id))",
+                "INSERT INTO tuple_record SELECT (x - 1) / " + rowsPerTenant + " + 1, MOD(x - 1, " + rowsPerTenant
+                        + ") + 1, CASE WHEN MOD(x, 3) = 0 THEN 'old' ELSE 'new' END FROM SYSTEM_RANGE(1, "
+                        + tenants * rowsPerTenant + ")");
+    }
+
+    public void execute(String... sqls) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+
+    /**
+     * 查询结果第一列的全部值
+     */
+    public List<Object> queryColumn(String sql) throws SQLException {
+        List<Object> values = new ArrayList<>();
+        for (Object[] row : query(sql)) {
+            values.add(row[0]);
+        }
+        return values;
+    }
+
+    /**
+     * 按顺序绑定参数执行查询，返回全部行
+     */
+    public List<Object[]> query(String sql, Object... parameters) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int columnCount = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    Object[] row = new Object[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        row[i] = resultSet.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    public long count(String where) throws SQLException {
+        return ((Number) queryColumn("SELECT count(*) FROM key_record WHERE " + where).get(0)).longValue();
+    }
+
+    /**
+     * 使用 statementId 对应的语句和参数直接调用分页规划器，返回规划出的全部分页
+     */
+    public List<PageResult> plan(PagePlanner planner, String statementId, Object parameter,
+                                 String primaryId, int pageSize, Dialect dialect) throws SQLException {
+        return plan(planner, statementId, parameter, PageConfig.builder()
+                .primaryId(primaryId)
+                .pageSize(pageSize)
+                .dialect(dialect)
+                .build());
+    }
+
+    public List<PageResult> plan(PagePlanner planner, String statementId, Object parameter,
+                                 PageConfig pageConfig) throws SQLException {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        MappedStatement ms = configuration.getMappedStatement(statementId);
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        Executor executor = configuration.newExecutor(new JdbcTransaction(dataSource, null, false), ExecutorType.SIMPLE);
+        try {
+            return planner.plan(ms, parameter, executor, boundSql, pageConfig);
+        } finally {
+            executor.close(false);
+        }
+    }
+}
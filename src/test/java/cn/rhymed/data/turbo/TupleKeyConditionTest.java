@@ -0,0 +1,95 @@
+package cn.rhymed.data.turbo;
+
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.dialect.Dialects;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 复合主键分页条件的两种形式：行值比较和展开形式，分页的开始和结束元组都包含在范围内
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class TupleKeyConditionTest {
+
+    private static final String DELETE = "DELETE FROM tuple_record WHERE status = ?";
+
+    private static final int S0 = SqlTemplate.startKey(0);
+    private static final int S1 = SqlTemplate.startKey(1);
+    private static final int S2 = SqlTemplate.startKey(2);
+    private static final int E0 = SqlTemplate.endKey(0);
+    private static final int E1 = SqlTemplate.endKey(1);
+    private static final int E2 = SqlTemplate.endKey(2);
+
+    @Test
+    void rowValueComparison() {
+        SqlTemplate template = RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config("tenant_id, id", false));
+
+        assertEquals("DELETE FROM tuple_record WHERE status = ? "
+                + "AND ((tenant_id, id) >= (?, ?) AND (tenant_id, id) <= (?, ?))", template.getSql());
+        assertArrayEquals(new int[]{0, S0, S1, E0, E1}, template.getParameterIndexes());
+    }
+
+    /**
+     * 展开形式单独列出第一列的范围条件，每列的边界值重复绑定
+     */
+    @Test
+    void expandedComparison() {
+        SqlTemplate template = RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config("tenant_id,id", true));
+
+        assertEquals("DELETE FROM tuple_record WHERE status = ? "
+                + "AND (tenant_id >= ? AND (tenant_id > ? OR tenant_id = ? AND id >= ?) "
+                + "AND tenant_id <= ? AND (tenant_id < ? OR tenant_id = ? AND id <= ?))", template.getSql());
+        assertArrayEquals(new int[]{0, S0, S0, S0, S1, E0, E0, E0, E1}, template.getParameterIndexes());
+    }
+
+    @Test
+    void expandedComparisonNestsEachFurtherColumn() {
+        SqlTemplate template = RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config("a,b,c", true));
+
+        assertEquals("DELETE FROM tuple_record WHERE status = ? "
+                + "AND (a >= ? AND (a > ? OR a = ? AND (b > ? OR b = ? AND c >= ?)) "
+                + "AND a <= ? AND (a < ? OR a = ? AND (b < ? OR b = ? AND c <= ?)))", template.getSql());
+        assertArrayEquals(new int[]{0, S0, S0, S0, S1, S1, S2, E0, E0, E0, E1, E1, E2},
+                template.getParameterIndexes());
+    }
+
+    /**
+     * 方言不支持行值比较时，即使没有要求展开也使用展开形式
+     */
+    @Test
+    void dialectWithoutRowValuesUsesExpandedComparison() {
+        PageConfig config = config("tenant_id,id", false);
+        config.setDialect(Dialects.forName("sqlserver"));
+
+        SqlTemplate template = RowNumberSqlParser.getRowNumberPageTemplate(DELETE, config);
+
+        assertArrayEquals(new int[]{0, S0, S0, S0, S1, E0, E0, E0, E1}, template.getParameterIndexes());
+    }
+
+    /**
+     * 原语句的参数保持原来的顺序，分页条件追加在 WHERE 最后
+     */
+    @Test
+    void originalParametersKeepTheirPositions() {
+        SqlTemplate template = RowNumberSqlParser.getRowNumberPageTemplate(
+                "UPDATE tuple_record SET status = ? WHERE status = ? AND tenant_id IN (?, ?)",
+                config("tenant_id,id", false));
+
+        assertEquals("UPDATE tuple_record SET status = ? WHERE status = ? AND tenant_id IN (?, ?) "
+                + "AND ((tenant_id, id) >= (?, ?) AND (tenant_id, id) <= (?, ?))", template.getSql());
+        assertArrayEquals(new int[]{0, 1, 2, 3, S0, S1, E0, E1}, template.getParameterIndexes());
+    }
+
+    private static PageConfig config(String primaryId, boolean expanded) {
+        return PageConfig.builder()
+                .primaryId(primaryId)
+                .pageSize(16)
+                .expandedKeyComparison(expanded)
+                .build();
+    }
+}
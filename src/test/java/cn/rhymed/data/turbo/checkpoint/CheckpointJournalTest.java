@@ -0,0 +1,141 @@
+package cn.rhymed.data.turbo.checkpoint;
+
+import cn.rhymed.data.turbo.domain.CompositeKey;
+import cn.rhymed.data.turbo.domain.PageResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 断点日志：分页规划按类型编码后原样恢复，已完成分页在重新打开后仍然跳过，
+ * 语句、参数、主键或分页大小不同时不从断点恢复
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class CheckpointJournalTest {
+
+    private static final String SQL = "ROW_NUMBER: DELETE FROM order_log WHERE created_at < ?";
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        CheckpointJournal.configure(directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        CheckpointJournal.configure(null);
+    }
+
+    @Test
+    void restoresEveryKeyType() throws Exception {
+        List<Object> keys = Arrays.asList(42, 42L, new BigInteger("18446744073709551615"), new BigDecimal("12.50"),
+                "k'1", UUID.randomUUID(), new byte[]{0, -1, 7}, Timestamp.valueOf("2026-10-16 12:00:00.123456789"),
+                LocalDateTime.of(2026, 10, 16, 12, 0), new CompositeKey(new Object[]{7, "a", null}), null);
+        List<PageResult> pages = new ArrayList<>();
+        for (Object key : keys) {
+            pages.add(page(key, key, key == null ? null : 10));
+        }
+        byte[] fingerprint = fingerprint("2026-10-01");
+        CheckpointJournal.create("types", SQL, fingerprint, pages).close();
+
+        try (CheckpointJournal journal = CheckpointJournal.open("types", SQL, fingerprint)) {
+            assertNotNull(journal);
+            List<PageResult> restored = journal.getPendingPages();
+            assertEquals(keys.size(), restored.size());
+            for (int i = 0; i < keys.size(); i++) {
+                assertTrue(Objects.deepEquals(keys.get(i), restored.get(i).getStartKey()), "key " + i);
+                assertEquals(keys.get(i) == null ? null : 10, restored.get(i).getPageSize());
+            }
+            assertEquals(BigDecimal.class, restored.get(3).getStartKey().getClass());
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedKeyType() {
+        List<PageResult> pages = Collections.singletonList(page(new Object(), new Object(), 1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CheckpointJournal.create("unsupported", SQL, fingerprint("2026-10-01"), pages));
+    }
+
+    @Test
+    void skipsCompletedPagesAfterReopen() throws Exception {
+        byte[] fingerprint = fingerprint("2026-10-01");
+        List<PageResult> pages = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            pages.add(page(i * 100 + 1, i * 100 + 100, 100));
+        }
+        try (CheckpointJournal journal = CheckpointJournal.create("reopen", SQL, fingerprint, pages)) {
+            PageResult merged = pages.get(8);
+            merged.setMergedPages(3);
+            journal.complete(Arrays.asList(pages.get(0), merged, pages.get(19)));
+        }
+
+        try (CheckpointJournal journal = CheckpointJournal.open("reopen", SQL, fingerprint)) {
+            assertNotNull(journal);
+            assertEquals(5, journal.getCompletedCount());
+            List<PageResult> pending = journal.getPendingPages();
+            assertEquals(15, pending.size());
+            assertEquals(1, pending.get(0).getPageNum().intValue());
+            assertFalse(pending.stream().anyMatch(page -> page.getPageNum() >= 8 && page.getPageNum() <= 10));
+            journal.finish();
+        }
+        assertFalse(Files.exists(CheckpointJournal.getFile("reopen")));
+    }
+
+    /**
+     * 参数值、主键或分页大小不同时丢弃日志，重新规划
+     */
+    @Test
+    void discardsJournalOfOtherParameters() throws Exception {
+        List<PageResult> pages = Collections.singletonList(page(1L, 100L, 100));
+        CheckpointJournal.create("params", SQL, fingerprint("2026-10-01"), pages).close();
+
+        assertNull(CheckpointJournal.open("params", SQL, fingerprint("2026-09-01")));
+        assertFalse(Files.exists(CheckpointJournal.getFile("params")));
+
+        CheckpointJournal.create("params", SQL, fingerprint("2026-10-01"), pages).close();
+        assertNull(CheckpointJournal.open("params", SQL,
+                CheckpointJournal.fingerprint("id", 2000, Collections.singletonList("2026-10-01"))));
+
+        CheckpointJournal.create("params", SQL, fingerprint("2026-10-01"), pages).close();
+        assertNull(CheckpointJournal.open("params", "KEYSET: " + SQL.substring(12), fingerprint("2026-10-01")));
+    }
+
+    private static byte[] fingerprint(Object parameter) {
+        return CheckpointJournal.fingerprint("id", 1000, Collections.singletonList(parameter));
+    }
+
+    private static PageResult page(Object startKey, Object endKey, Integer pageSize) {
+        PageResult pageResult = new PageResult();
+        pageResult.setStartKey(startKey);
+        pageResult.setEndKey(endKey);
+        pageResult.setPageSize(pageSize);
+        return pageResult;
+    }
+}
@@ -0,0 +1,131 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.BatchDeleteHelper;
+import cn.rhymed.data.turbo.KeyRecordMapper;
+import cn.rhymed.data.turbo.TestDatabase;
+import cn.rhymed.data.turbo.config.BatchDeleteConfig;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.dialect.Dialects;
+import cn.rhymed.data.turbo.domain.PageResult;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 非整数主键（VARCHAR、UUID、BINARY）的分页规划和分页范围绑定：
+ * 分页必须按数据库的主键顺序首尾相接地覆盖全部符合条件的行，分页范围作为参数绑定后删除的行数必须一致
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class KeyTypePlanningTest {
+
+    private static final int ROWS = 1000;
+    private static final int PAGE_SIZE = 64;
+
+    private static TestDatabase database;
+
+    @BeforeAll
+    static void setUp() {
+        database = new TestDatabase("key_type");
+    }
+
+    /**
+     * 字符串主键按字典序排列（k10 在 k2 之前），二进制主键按字节序排列，UUID 按数据库的 UUID 顺序排列
+     */
+    static Stream<Arguments> keys() {
+        return Stream.of(
+                Arguments.of("VARCHAR(32)", "'k' || x"),
+                Arguments.of("UUID", "RANDOM_UUID()"),
+                Arguments.of("VARBINARY(16)", "STRINGTOUTF8('k' || x)"));
+    }
+
+    static Stream<Arguments> keysAndStrategies() {
+        return keys().flatMap(key -> Stream.of(PlanningStrategy.ROW_NUMBER, PlanningStrategy.KEYSET)
+                .map(strategy -> Arguments.of(key.get()[0], key.get()[1], strategy)));
+    }
+
+    @ParameterizedTest(name = "{0} {2}")
+    @MethodSource("keysAndStrategies")
+    void pagesCoverKeysInDatabaseOrder(String keyType, String keyExpression, PlanningStrategy strategy) throws Exception {
+        database.reset(keyType, keyExpression, ROWS);
+        List<Object> expectedKeys = database.queryColumn("SELECT id FROM key_record WHERE status = 'old' ORDER BY id");
+
+        List<PageResult> pages = database.plan(PagePlanners.of(strategy), KeyRecordMapper.DELETE_BY_STATUS, "old",
+                "id", PAGE_SIZE, Dialects.forName("h2"));
+
+        assertEquals((expectedKeys.size() + PAGE_SIZE - 1) / PAGE_SIZE, pages.size());
+        int position = 0;
+        for (PageResult page : pages) {
+            assertNotNull(page.getPageSize());
+            assertKeyEquals(expectedKeys.get(position), page.getStartKey());
+            position += page.getPageSize();
+            assertKeyEquals(expectedKeys.get(position - 1), page.getEndKey());
+        }
+        assertEquals(expectedKeys.size(), position);
+    }
+
+    @ParameterizedTest(name = "{0} {2}")
+    @MethodSource("keysAndStrategies")
+    void deletesOnlyMatchingRowsThroughBoundRanges(String keyType, String keyExpression,
+                                                   PlanningStrategy strategy) throws Exception {
+        database.reset(keyType, keyExpression, ROWS);
+        long oldRows = database.count("status = 'old'");
+        long newRows = database.count("status = 'new'");
+
+        BatchDeleteConfig config = BatchDeleteConfig.builder()
+                .primaryId("id")
+                .fetchSize(PAGE_SIZE)
+                .batchSize(PAGE_SIZE * 3)
+                .maxThreadCount(2)
+                .planningStrategy(strategy)
+                .build();
+        int[] deleted = new int[1];
+        try (SqlSession session = database.getSqlSessionFactory().openSession(true)) {
+            KeyRecordMapper mapper = session.getMapper(KeyRecordMapper.class);
+            BatchDeleteHelper.execute(config, () -> deleted[0] = mapper.deleteByStatus("old"));
+        }
+
+        assertEquals(oldRows, deleted[0]);
+        assertEquals(0, database.count("status = 'old'"));
+        assertEquals(newRows, database.count("status = 'new'"));
+    }
+
+    /**
+     * 等宽切分遇到非整数主键时改用其他规划策略，结果与直接按主键顺序分页相同
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("keys")
+    void equalWidthFallsBackForNonIntegerKeys(String keyType, String keyExpression) throws Exception {
+        database.reset(keyType, keyExpression, ROWS);
+        List<Object> expectedKeys = database.queryColumn("SELECT id FROM key_record WHERE status = 'old' ORDER BY id");
+
+        List<PageResult> pages = database.plan(PagePlanners.of(PlanningStrategy.EQUAL_WIDTH),
+                KeyRecordMapper.DELETE_BY_STATUS, "old", "id", PAGE_SIZE, Dialects.forName("h2"));
+
+        assertTrue(pages.size() > 1);
+        assertKeyEquals(expectedKeys.get(0), pages.get(0).getStartKey());
+        assertKeyEquals(expectedKeys.get(expectedKeys.size() - 1), pages.get(pages.size() - 1).getEndKey());
+        assertEquals(expectedKeys.size(), pages.stream().mapToInt(PageResult::getPageSize).sum());
+    }
+
+    private static void assertKeyEquals(Object expected, Object actual) {
+        assertTrue(Objects.deepEquals(expected, actual),
+                () -> "expected key " + text(expected) + " but was " + text(actual));
+    }
+
+    private static String text(Object key) {
+        return key instanceof byte[] ? Arrays.toString((byte[]) key) : String.valueOf(key);
+    }
+}
@@ -0,0 +1,64 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.KeyRecordMapper;
+import cn.rhymed.data.turbo.TestDatabase;
+import cn.rhymed.data.turbo.config.PlanningStrategy;
+import cn.rhymed.data.turbo.dialect.Dialects;
+import cn.rhymed.data.turbo.dialect.StandardDialect;
+import cn.rhymed.data.turbo.domain.PageResult;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 按方言选择规划策略
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class PagePlannersTest {
+
+    @Test
+    void rowNumberNeedsWindowFunctions() {
+        assertEquals(PlanningStrategy.ROW_NUMBER,
+                PagePlanners.supportedStrategy(PlanningStrategy.ROW_NUMBER, Dialects.forName("mysql")));
+        assertEquals(PlanningStrategy.KEYSET,
+                PagePlanners.supportedStrategy(PlanningStrategy.ROW_NUMBER, Dialects.forName("mysql-legacy")));
+        assertEquals(PlanningStrategy.ROW_NUMBER, PagePlanners.supportedStrategy(PlanningStrategy.ROW_NUMBER, null));
+        assertEquals(PlanningStrategy.EQUAL_WIDTH,
+                PagePlanners.supportedStrategy(PlanningStrategy.EQUAL_WIDTH, Dialects.forName("mysql-legacy")));
+    }
+
+    /**
+     * 方言不支持窗口函数时，等宽切分遇到非整数主键改用 KEYSET 逐页探测（只有 KEYSET 的探测查询会调用 limit）
+     */
+    @Test
+    void equalWidthFallbackFollowsDialect() throws Exception {
+        AtomicInteger limitCalls = new AtomicInteger();
+        StandardDialect noWindowFunctions = new StandardDialect("h2-no-window-functions") {
+            @Override
+            public boolean supportsWindowFunctions() {
+                return false;
+            }
+
+            @Override
+            public void limit(PlainSelect select, long rowCount, long offset) {
+                limitCalls.incrementAndGet();
+                super.limit(select, rowCount, offset);
+            }
+        };
+        TestDatabase database = new TestDatabase("equal_width_fallback");
+        database.reset("VARCHAR(32)", "'k' || x", 300);
+
+        List<PageResult> pages = database.plan(PagePlanners.of(PlanningStrategy.EQUAL_WIDTH),
+                KeyRecordMapper.DELETE_BY_STATUS, "old", "id", 16, noWindowFunctions);
+
+        assertTrue(limitCalls.get() > 0);
+        assertEquals(database.count("status = 'old'"), pages.stream().mapToInt(PageResult::getPageSize).sum());
+    }
+}
@@ -0,0 +1,160 @@
+package cn.rhymed.data.turbo.planner;
+
+import cn.rhymed.data.turbo.BatchDeleteHelper;
+import cn.rhymed.data.turbo.KeyRecordMapper;
+import cn.rhymed.data.turbo.RowNumberSqlParser;
+import cn.rhymed.data.turbo.TestDatabase;
+import cn.rhymed.data.turbo.config.BatchDeleteConfig;
+import cn.rhymed.data.turbo.config.PageConfig;
+import cn.rhymed.data.turbo.dialect.Dialects;
+import cn.rhymed.data.turbo.domain.CompositeKey;
+import cn.rhymed.data.turbo.domain.PageResult;
+import cn.rhymed.data.turbo.domain.SqlTemplate;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 复合主键 (tenant_id, id) 按元组分页：id 在每个租户内从 1 开始，分页边界落在租户中间时，
+ * 行值比较和展开形式的分页条件都必须恰好选中分页的开始元组到结束元组之间的行
+ *
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class TupleKeysetPagePlannerTest {
+
+    private static final int TENANTS = 5;
+    private static final int ROWS_PER_TENANT = 37;
+    private static final int PAGE_SIZE = 16;
+    private static final String PAGE_SELECT = "SELECT tenant_id, id FROM tuple_record WHERE status = ?";
+
+    private static TestDatabase database;
+
+    @BeforeAll
+    static void setUp() {
+        database = new TestDatabase("tuple_keyset");
+    }
+
+    @ParameterizedTest(name = "expanded={0}")
+    @ValueSource(booleans = {false, true})
+    void pageRangesSelectExactlyTheirTuples(boolean expanded) throws Exception {
+        database.resetTuples(TENANTS, ROWS_PER_TENANT);
+        List<Object[]> expected = database.query(
+                "SELECT tenant_id, id FROM tuple_record WHERE status = 'old' ORDER BY tenant_id, id");
+        PageConfig config = config(PAGE_SIZE, expanded);
+        List<PageResult> pages = database.plan(new TupleKeysetPagePlanner(),
+                KeyRecordMapper.DELETE_TUPLES_BY_STATUS, "old", config);
+        SqlTemplate template = RowNumberSqlParser.getRowNumberPageTemplate(PAGE_SELECT, config);
+
+        int position = 0;
+        boolean crossesTenant = false;
+        for (PageResult page : pages) {
+            CompositeKey start = (CompositeKey) page.getStartKey();
+            CompositeKey end = (CompositeKey) page.getEndKey();
+            crossesTenant |= !start.get(0).equals(end.get(0));
+
+            List<Object[]> rows = database.query(template.getSql(), bind(template, "old", start, end));
+            assertTrue(rows.size() > 0);
+            if (page.getPageSize() != null) {
+                assertEquals(page.getPageSize().intValue(), rows.size());
+            }
+            // 开始和结束元组都包含在范围内，相邻分页之间没有遗漏和重叠
+            assertArrayEquals(start.getValues(), expected.get(position));
+            for (Object[] row : rows) {
+                assertArrayEquals(expected.get(position++), row);
+            }
+            assertArrayEquals(end.getValues(), expected.get(position - 1));
+        }
+        assertEquals(expected.size(), position);
+        assertTrue(crossesTenant);
+    }
+
+    /**
+     * 不足一页时只有一个分页，结束元组为最大的元组，实际行数未知
+     */
+    @ParameterizedTest(name = "expanded={0}")
+    @ValueSource(booleans = {false, true})
+    void lastPartialPageEndsAtLargestTuple(boolean expanded) throws Exception {
+        database.resetTuples(2, 10);
+        List<Object[]> expected = database.query(
+                "SELECT tenant_id, id FROM tuple_record WHERE status = 'old' ORDER BY tenant_id, id");
+
+        List<PageResult> pages = database.plan(new TupleKeysetPagePlanner(),
+                KeyRecordMapper.DELETE_TUPLES_BY_STATUS, "old", config(expected.size() + 1, expanded));
+
+        assertEquals(1, pages.size());
+        assertArrayEquals(expected.get(0), ((CompositeKey) pages.get(0).getStartKey()).getValues());
+        assertArrayEquals(expected.get(expected.size() - 1), ((CompositeKey) pages.get(0).getEndKey()).getValues());
+        assertNull(pages.get(0).getPageSize());
+    }
+
+    @ParameterizedTest(name = "expanded={0}")
+    @ValueSource(booleans = {false, true})
+    void deletesExactlyMatchingTuples(boolean expanded) throws Exception {
+        database.resetTuples(TENANTS, ROWS_PER_TENANT);
+        long oldRows = ((Number) database.queryColumn(
+                "SELECT count(*) FROM tuple_record WHERE status = 'old'").get(0)).longValue();
+        long newRows = ((Number) database.queryColumn(
+                "SELECT count(*) FROM tuple_record WHERE status = 'new'").get(0)).longValue();
+
+        BatchDeleteConfig config = BatchDeleteConfig.builder()
+                .primaryId("tenant_id,id")
+                .fetchSize(PAGE_SIZE)
+                .batchSize(PAGE_SIZE * 3)
+                .maxThreadCount(2)
+                .expandedKeyComparison(expanded)
+                .build();
+        int[] deleted = new int[1];
+        try (SqlSession session = database.getSqlSessionFactory().openSession(true)) {
+            KeyRecordMapper mapper = session.getMapper(KeyRecordMapper.class);
+            BatchDeleteHelper.execute(config, () -> deleted[0] = mapper.deleteTuplesByStatus("old"));
+        }
+
+        assertEquals(oldRows, deleted[0]);
+        assertEquals(0L, ((Number) database.queryColumn(
+                "SELECT count(*) FROM tuple_record WHERE status = 'old'").get(0)).longValue());
+        assertEquals(newRows, ((Number) database.queryColumn(
+                "SELECT count(*) FROM tuple_record WHERE status = 'new'").get(0)).longValue());
+    }
+
+    private static PageConfig config(int pageSize, boolean expanded) {
+        return PageConfig.builder()
+                .primaryId("tenant_id,id")
+                .pageSize(pageSize)
+                .expandedKeyComparison(expanded)
+                .dialect(Dialects.forName("h2"))
+                .build();
+    }
+
+    /**
+     * 按模板的参数下标绑定：原语句的参数为 status，负数下标为开始、结束元组的各列
+     */
+    private static Object[] bind(SqlTemplate template, Object status, CompositeKey start, CompositeKey end) {
+        int[] indexes = template.getParameterIndexes();
+        Object[] parameters = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            parameters[i] = indexes[i] >= 0 ? status : component(indexes[i], start, end);
+        }
+        return parameters;
+    }
+
+    private static Object component(int parameterIndex, CompositeKey start, CompositeKey end) {
+        for (int i = 0; i < start.size(); i++) {
+            if (parameterIndex == SqlTemplate.startKey(i)) {
+                return start.get(i);
+            }
+            if (parameterIndex == SqlTemplate.endKey(i)) {
+                return end.get(i);
+            }
+        }
+        throw new IllegalArgumentException("Unknown parameter index: " + parameterIndex);
+    }
+}
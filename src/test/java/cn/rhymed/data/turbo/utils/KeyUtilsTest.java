@@ -0,0 +1,36 @@
+package cn.rhymed.data.turbo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author rhymed.liu[rhymed.liu@anker-in.com]
+ * @since 2026-10-16
+ **/
+class KeyUtilsTest {
+
+    @Test
+    void integralKeysConvertToLong() {
+        assertEquals(7L, KeyUtils.toLong(7));
+        assertEquals(7L, KeyUtils.toLong((short) 7));
+        assertEquals(Long.MAX_VALUE, KeyUtils.toLong(Long.MAX_VALUE));
+        assertEquals(42L, KeyUtils.toLong(BigInteger.valueOf(42)));
+        assertEquals(42L, KeyUtils.toLong(new BigDecimal("42")));
+    }
+
+    @Test
+    void otherKeysAreNotIntegral() {
+        assertNull(KeyUtils.toLong(null));
+        assertNull(KeyUtils.toLong("42"));
+        assertNull(KeyUtils.toLong(UUID.randomUUID()));
+        assertNull(KeyUtils.toLong(new byte[]{4, 2}));
+        assertNull(KeyUtils.toLong(new BigDecimal("4.2")));
+        assertNull(KeyUtils.toLong(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)));
+    }
+}